@@ -0,0 +1,146 @@
+package app;
+
+import engine.ExactCalculatorEngine;
+import engine.PersistentResultCache;
+import gui.*;
+import history.HistoryLog;
+
+import java.awt.*;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * This calculator implemented The Model-View-Controller (MVC) design pattern. It is a software architecture pattern that separates an
+ * application's data model, user interface, and control logic into three separate components, each with its own defined responsibilities:
+ * <p>
+ *
+ *  Model: The model represents the application's data and business logic, and provides an interface for interacting with and manipulating that data.
+ *  In an MVC application, the model is responsible for managing the data, performing any necessary calculations or transformations, and notifying the
+ *  view and controller of any changes.
+ * <p>
+ *
+ * View: The view represents the application's user interface, and is responsible for displaying the data and receiving user input.
+ * In an MVC application, the view is responsible for rendering the data provided by the model, and sending any user input back
+ * to the controller for processing.
+ * <p>
+ *
+ * Controller: The controller acts as an intermediary between the model and the view, and is responsible for interpreting user input and manipulating
+ * the model or view accordingly. In an MVC application, the controller is responsible for receiving user input from the view,
+ * updating the model based on that input, and updating the view to reflect any changes in the model.
+ *
+ * @author Junsel Fabe
+ * @version 1
+ */
+public class CalculatorApp {
+
+    public static void main(String[] args) {
+        StartupTimeline.mark("main");
+        EdtWatchdog.startIfEnabled();
+        View.preload();
+        Model model = new Model(new ExactCalculatorEngine(ExactCalculatorEngine.DEFAULT_CACHE_SIZE, openResultCache()));
+        Thread warmUp = new Thread(() -> {
+            model.warmUp();
+            StartupTimeline.mark("engine ready");
+        }, "engine-warm-up");
+        warmUp.setDaemon(true);
+        warmUp.start();
+
+        HistoryLog historyLog = openHistoryLog();
+        SessionRecorder recorder = openSessionRecorder();
+        EventQueue.invokeLater(() -> {
+            try {
+                View view = new View();
+                Controller controller = new Controller(model, view);
+                view.setController(controller);
+                controller.setHistoryLog(historyLog);
+                view.setRecorder(recorder);
+                controller.start();
+            }
+            catch (IOException | FontFormatException exception){
+                System.out.println(exception.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Opens the history log named by the {@code calculator.history} system property and closes it when the
+     * application exits.
+     *
+     * @return The opened history log, or null if none was requested or it could not be opened.
+     */
+    private static HistoryLog openHistoryLog() {
+        String historyFile = System.getProperty("calculator.history");
+        if (historyFile == null) {
+            return null;
+        }
+        try {
+            HistoryLog historyLog = HistoryLog.open(Path.of(historyFile));
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    historyLog.close();
+                } catch (IOException exception) {
+                    System.out.println(exception.getMessage());
+                }
+            }));
+            return historyLog;
+        } catch (IOException exception) {
+            System.out.println(exception.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Opens the result cache file named by the {@code calculator.cache} system property and closes it when
+     * the application exits. A new file gets the number of slots in {@code calculator.cache.slots}.
+     *
+     * @return The opened result cache, or null if none was requested or it could not be opened.
+     */
+    private static PersistentResultCache openResultCache() {
+        String cacheFile = System.getProperty("calculator.cache");
+        if (cacheFile == null) {
+            return null;
+        }
+        try {
+            PersistentResultCache resultCache = PersistentResultCache.open(Path.of(cacheFile),
+                    Integer.getInteger("calculator.cache.slots", PersistentResultCache.DEFAULT_CAPACITY));
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    resultCache.close();
+                } catch (IOException exception) {
+                    System.out.println(exception.getMessage());
+                }
+            }));
+            return resultCache;
+        } catch (IOException exception) {
+            System.out.println(exception.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Creates the session file named by the {@code calculator.record} system property and closes it when the
+     * application exits.
+     *
+     * @return The session recorder, or null if none was requested or the file could not be created.
+     */
+    private static SessionRecorder openSessionRecorder() {
+        String sessionFile = System.getProperty("calculator.record");
+        if (sessionFile == null) {
+            return null;
+        }
+        try {
+            SessionRecorder recorder = SessionRecorder.create(Path.of(sessionFile));
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    recorder.close();
+                } catch (IOException exception) {
+                    System.out.println(exception.getMessage());
+                }
+            }));
+            return recorder;
+        } catch (IOException exception) {
+            System.out.println(exception.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package bench;
+
+import engine.EvaluationBudget;
+import engine.EvaluationResult;
+import engine.ExactCalculatorEngine;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The BudgetBenchmark class measures how long pathological problems hold an {@link ExactCalculatorEngine}
+ * with the {@link EvaluationBudget#DEFAULT default budget} and with an {@link EvaluationBudget#UNLIMITED
+ * unlimited} one.
+ * <p>
+ * The problems are a sum with a huge number of terms, deeply nested parentheses, a long chain of square
+ * roots, a huge power, a tower of powers and a product whose value grows far beyond what a double can
+ * show, next to an ordinary problem as a baseline. Every problem is evaluated by both engines, without a
+ * result cache, and the report shows the answer and the mean and worst time of each. Even the unlimited
+ * budget limits the nesting depth, as deep nesting would otherwise end in a {@link StackOverflowError},
+ * which is reported as the answer if it happens.
+ * <p>
+ * Options are given as {@code key=value} arguments: {@code size}, the number of terms or nesting levels of
+ * the pathological problems (default 1000000), and {@code repeats} (default 10). The first repeats are not
+ * counted.
+ *
+ * @author Junsel Fabe
+ * @version 1
+ */
+public class BudgetBenchmark {
+
+    private static final int WARM_UP_REPEATS = 3;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args the {@code key=value} options
+     */
+    public static void main(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        int size = Integer.parseInt(options.getOrDefault("size", "1000000"));
+        int repeats = Integer.parseInt(options.getOrDefault("repeats", "10"));
+
+        Map<String, String> problems = new LinkedHashMap<>();
+        problems.put("ordinary", "7/2 * (4 - 1/3) ÷ 2");
+        problems.put("long sum", "1" + "+1".repeat(size - 1));
+        problems.put("nested", "(".repeat(size) + "1" + ")".repeat(size));
+        problems.put("roots", "√".repeat(size) + "4");
+        problems.put("huge power", "2^" + size);
+        problems.put("power tower", "9" + "^9".repeat(size - 1));
+        problems.put("growing product", "1" + "*123456789".repeat(size - 1));
+
+        ExactCalculatorEngine[] engines = {
+                new ExactCalculatorEngine(0, null, EvaluationBudget.DEFAULT),
+                new ExactCalculatorEngine(0, null, EvaluationBudget.UNLIMITED)
+        };
+        String[] names = {"default", "unlimited"};
+        System.out.printf("size=%,d repeats=%d%n", size, repeats);
+        System.out.printf("%-16s %-10s %-14s %12s %12s%n", "problem", "budget", "answer", "mean ms", "max ms");
+        for (Map.Entry<String, String> problem : problems.entrySet()) {
+            for (int e = 0; e < engines.length; e++) {
+                long total = 0;
+                long max = 0;
+                String answer = null;
+                for (int repeat = -WARM_UP_REPEATS; repeat < repeats; repeat++) {
+                    long start = System.nanoTime();
+                    answer = text(engines[e], problem.getValue());
+                    long elapsed = System.nanoTime() - start;
+                    if (repeat >= 0) {
+                        total += elapsed;
+                        max = Math.max(max, elapsed);
+                    }
+                }
+                System.out.printf("%-16s %-10s %-14.14s %12.3f %12.3f%n", problem.getKey(), names[e], answer,
+                        total / 1e6 / repeats, max / 1e6);
+            }
+        }
+    }
+
+    /**
+     * Evaluates a problem, reporting an error that escapes the engine as its class name.
+     *
+     * @param engine  the engine
+     * @param problem the problem
+     * @return the text of the result, or the name of the error
+     */
+    private static String text(ExactCalculatorEngine engine, String problem) {
+        try {
+            EvaluationResult result = engine.evaluate(problem, 'y');
+            return result.text();
+        } catch (StackOverflowError error) {
+            return error.getClass().getSimpleName();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package bench;
+
+import reference.Fraction;
+import reference.FractionDataset;
+import reference.MixedFraction;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * The DatasetBenchmark class compares loading fractions from a text file, one per line in the form
+ * "3 1/4", with loading the same fractions from a {@link FractionDataset}.
+ * <p>
+ * It writes random mixed fractions in both formats to temporary files, then reads each file several times
+ * and reports the file sizes and the records loaded per second. The text file is read line by line and
+ * parsed with {@link Fraction#parse(CharSequence)}; the dataset is read with a cursor into a single reused
+ * {@link MixedFraction}.
+ * <p>
+ * Options are given as {@code key=value} arguments: {@code records} (default 5000000), {@code repeats}
+ * (default 5) and {@code seed} (default 42). The first repeat is not counted.
+ *
+ * @author Junsel Fabe
+ * @version 1
+ */
+public class DatasetBenchmark {
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args the {@code key=value} options
+     * @throws IOException if a temporary file cannot be written or read
+     */
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        int records = Integer.parseInt(options.getOrDefault("records", "5000000"));
+        int repeats = Integer.parseInt(options.getOrDefault("repeats", "5"));
+        Random random = new Random(Long.parseLong(options.getOrDefault("seed", "42")));
+
+        Path text = Files.createTempFile("fractions", ".txt");
+        Path binary = Files.createTempFile("fractions", ".frd");
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(text, StandardCharsets.UTF_8);
+                 FractionDataset.Writer dataset = FractionDataset.create(binary)) {
+                for (int i = 0; i < records; i++) {
+                    MixedFraction fraction = new MixedFraction(random.nextInt(100), random.nextInt(50) + 1, random.nextInt(50) + 51);
+                    writer.write(fraction.toString());
+                    writer.newLine();
+                    dataset.write(fraction);
+                }
+            }
+            System.out.printf("records=%,d text=%,d bytes dataset=%,d bytes%n", records, Files.size(text), Files.size(binary));
+
+            long textNanos = 0;
+            long datasetNanos = 0;
+            long checksum = 0;
+            for (int repeat = -1; repeat < repeats; repeat++) {
+                long start = System.nanoTime();
+                try (BufferedReader reader = Files.newBufferedReader(text, StandardCharsets.UTF_8)) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        checksum += Fraction.parse(line).getDenominator();
+                    }
+                }
+                long middle = System.nanoTime();
+                try (FractionDataset dataset = FractionDataset.open(binary)) {
+                    FractionDataset.Cursor cursor = dataset.cursor();
+                    MixedFraction view = new MixedFraction();
+                    while (cursor.next()) {
+                        checksum -= cursor.view(view).getDenominator();
+                    }
+                }
+                long end = System.nanoTime();
+                if (repeat >= 0) {
+                    textNanos += middle - start;
+                    datasetNanos += end - middle;
+                }
+            }
+            System.out.printf("text     %,14.0f records/s%n", records * (double) repeats / (textNanos / 1e9));
+            System.out.printf("dataset  %,14.0f records/s%n", records * (double) repeats / (datasetNanos / 1e9));
+            if (checksum != 0) {
+                System.out.println("Mismatch between the text and the dataset: " + checksum);
+            }
+        } finally {
+            Files.deleteIfExists(text);
+            Files.deleteIfExists(binary);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package bench;
+
+import engine.CalculatorEngine;
+import engine.ExactCalculatorEngine;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The EngineContentionBenchmark class measures how one shared {@link CalculatorEngine} scales when more and
+ * more threads call it at the same time.
+ * <p>
+ * For every thread count, each thread evaluates its own pre-generated expressions in a loop for a fixed time.
+ * The report shows the total throughput and the scaling efficiency, which is the throughput per thread
+ * relative to the single-threaded run. An engine without shared mutable state stays close to 100% until the
+ * threads outnumber the cores.
+ * <p>
+ * Options are given as {@code key=value} arguments: {@code maxThreads} (default 64), {@code seconds} per run
+ * (default 2), {@code expressions} per thread (default 4096) and {@code cache}, the size of the engine's
+ * result cache (default {@value ExactCalculatorEngine#DEFAULT_CACHE_SIZE}).
+ *
+ * @author Junsel Fabe
+ * @version 1
+ */
+public class EngineContentionBenchmark {
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args the {@code key=value} options
+     * @throws InterruptedException if the benchmark is interrupted
+     */
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        int maxThreads = Integer.parseInt(options.getOrDefault("maxThreads", "64"));
+        double seconds = Double.parseDouble(options.getOrDefault("seconds", "2"));
+        int expressions = Integer.parseInt(options.getOrDefault("expressions", "4096"));
+        int cacheSize = Integer.parseInt(options.getOrDefault("cache", String.valueOf(ExactCalculatorEngine.DEFAULT_CACHE_SIZE)));
+
+        CalculatorEngine engine = new ExactCalculatorEngine(cacheSize);
+        WorkloadGenerator generator = new WorkloadGenerator(7, 2, 6, 3, 2, 0.3, 0.3, new int[]{4, 3, 2, 1});
+        String[][] workloads = new String[maxThreads][expressions];
+        for (String[] workload : workloads) {
+            for (int i = 0; i < expressions; i++) {
+                workload[i] = generator.next().expression();
+            }
+        }
+
+        System.out.printf("cores=%d cache=%d%n", Runtime.getRuntime().availableProcessors(), cacheSize);
+        run(engine, workloads, 1, seconds);
+        double single = 0;
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            double throughput = run(engine, workloads, threads, seconds);
+            if (threads == 1) {
+                single = throughput;
+            }
+            System.out.printf("threads=%2d  %,12.0f ops/s  efficiency=%5.1f%%%n",
+                    threads, throughput, 100 * throughput / (single * threads));
+        }
+    }
+
+    /**
+     * Runs every thread against the shared engine for the specified time.
+     *
+     * @param engine    the shared engine
+     * @param workloads the expressions of every thread
+     * @param threads   the number of threads
+     * @param seconds   the duration of the run
+     * @return the total throughput in evaluations per second
+     * @throws InterruptedException if the run is interrupted
+     */
+    private static double run(CalculatorEngine engine, String[][] workloads, int threads, double seconds)
+            throws InterruptedException {
+        LongAdder operations = new LongAdder();
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            String[] workload = workloads[t];
+            Thread worker = new Thread(() -> {
+                ready.countDown();
+                try {
+                    start.await();
+                } catch (InterruptedException exception) {
+                    return;
+                }
+                long count = 0;
+                int i = 0;
+                while (running.get()) {
+                    engine.evaluate(workload[i], 'y');
+                    i = i + 1 == workload.length ? 0 : i + 1;
+                    count++;
+                }
+                operations.add(count);
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        ready.await();
+        long begin = System.nanoTime();
+        start.countDown();
+        Thread.sleep((long) (seconds * 1000));
+        running.set(false);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return operations.sum() / ((System.nanoTime() - begin) / 1e9);
+    }
+}
@@ -0,0 +1,130 @@
+package bench;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+
+/**
+ * The ExactValue class is an unbounded exact rational number used as the reference result of generated
+ * workloads. It never overflows, so it can judge results computed with bounded arithmetic.
+ */
+public final class ExactValue {
+
+    /**
+     * The exact value zero.
+     */
+    static final ExactValue ZERO = new ExactValue(BigInteger.ZERO, BigInteger.ONE);
+
+    private final BigInteger numerator;
+    private final BigInteger denominator;
+
+    /**
+     * ExactValue constructor for a numerator and denominator that are already in lowest terms.
+     *
+     * @param numerator   the numerator
+     * @param denominator the positive denominator
+     */
+    private ExactValue(BigInteger numerator, BigInteger denominator) {
+        this.numerator = numerator;
+        this.denominator = denominator;
+    }
+
+    /**
+     * Creates an exact value in lowest terms.
+     *
+     * @param numerator   the numerator
+     * @param denominator the non-zero denominator
+     * @return the exact value of numerator / denominator
+     */
+    static ExactValue of(BigInteger numerator, BigInteger denominator) {
+        if (denominator.signum() < 0) {
+            numerator = numerator.negate();
+            denominator = denominator.negate();
+        }
+        BigInteger gcd = numerator.gcd(denominator);
+        if (!gcd.equals(BigInteger.ONE) && gcd.signum() != 0) {
+            numerator = numerator.divide(gcd);
+            denominator = denominator.divide(gcd);
+        }
+        return new ExactValue(numerator, denominator);
+    }
+
+    /**
+     * Creates an exact value.
+     *
+     * @param numerator   the numerator
+     * @param denominator the non-zero denominator
+     * @return the exact value of numerator / denominator
+     */
+    static ExactValue of(long numerator, long denominator) {
+        return of(BigInteger.valueOf(numerator), BigInteger.valueOf(denominator));
+    }
+
+    /**
+     * Addition of two exact values.
+     *
+     * @param other the other exact value
+     * @return a new exact value
+     */
+    ExactValue add(ExactValue other) {
+        return of(numerator.multiply(other.denominator).add(other.numerator.multiply(denominator)),
+                denominator.multiply(other.denominator));
+    }
+
+    /**
+     * Subtraction of two exact values.
+     *
+     * @param other the other exact value
+     * @return a new exact value
+     */
+    ExactValue subtract(ExactValue other) {
+        return of(numerator.multiply(other.denominator).subtract(other.numerator.multiply(denominator)),
+                denominator.multiply(other.denominator));
+    }
+
+    /**
+     * Multiplication of two exact values.
+     *
+     * @param other the other exact value
+     * @return a new exact value
+     */
+    ExactValue multiply(ExactValue other) {
+        return of(numerator.multiply(other.numerator), denominator.multiply(other.denominator));
+    }
+
+    /**
+     * Division of two exact values.
+     *
+     * @param other the other exact value
+     * @return a new exact value
+     */
+    ExactValue divide(ExactValue other) {
+        return of(numerator.multiply(other.denominator), denominator.multiply(other.numerator));
+    }
+
+    /**
+     * Checks whether the exact value is zero.
+     *
+     * @return true if the numerator is zero
+     */
+    boolean isZero() {
+        return numerator.signum() == 0;
+    }
+
+    /**
+     * Make the exact value a decimal number.
+     *
+     * @return the nearest double
+     */
+    double toDecimal() {
+        return new BigDecimal(numerator).divide(new BigDecimal(denominator), MathContext.DECIMAL128).doubleValue();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return denominator.equals(BigInteger.ONE) ? numerator.toString() : numerator + "/" + denominator;
+    }
+}
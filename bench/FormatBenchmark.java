@@ -0,0 +1,106 @@
+package bench;
+
+import engine.DoubleFormatter;
+import engine.ResultFormat;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * The FormatBenchmark class compares the {@link DoubleFormatter} with {@link String#valueOf(double)} and
+ * {@code String.format("%.3f")}, which the display used before.
+ * <p>
+ * It formats the same random results, a mix of short decimals, long quotients and whole numbers, in three
+ * ways: shortest, with three decimals, and as the 'y' display mode of {@link ResultFormat}. For every way
+ * it reports the time per number of the JDK methods and of a reused formatter, and how many outputs differ.
+ * The shortest outputs may differ where {@link Double#toString(double)} of this JDK is not the shortest.
+ * <p>
+ * Options are given as {@code key=value} arguments: {@code numbers} (default 1000000), {@code repeats}
+ * (default 5) and {@code seed} (default 42). The first repeat is not counted.
+ *
+ * @author Junsel Fabe
+ * @version 1
+ */
+public class FormatBenchmark {
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args the {@code key=value} options
+     */
+    public static void main(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        int count = Integer.parseInt(options.getOrDefault("numbers", "1000000"));
+        int repeats = Integer.parseInt(options.getOrDefault("repeats", "5"));
+        Random random = new Random(Long.parseLong(options.getOrDefault("seed", "42")));
+
+        double[] numbers = new double[count];
+        for (int i = 0; i < count; i++) {
+            switch (i % 3) {
+                case 0 -> numbers[i] = (random.nextInt(2_000_000) - 1_000_000) / 1000.0;
+                case 1 -> numbers[i] = (double) (random.nextInt(1000) + 1) / (random.nextInt(999) + 1);
+                default -> numbers[i] = random.nextInt(100_000);
+            }
+        }
+
+        DoubleFormatter formatter = new DoubleFormatter();
+        String[] jdk = new String[count];
+        String[] fast = new String[count];
+        System.out.printf("%-9s %12s %12s %10s%n", "mode", "jdk ns", "formatter ns", "differing");
+        for (int mode = 0; mode < 3; mode++) {
+            long jdkNanos = 0;
+            long fastNanos = 0;
+            for (int repeat = -1; repeat < repeats; repeat++) {
+                long start = System.nanoTime();
+                for (int i = 0; i < count; i++) {
+                    jdk[i] = switch (mode) {
+                        case 0 -> String.valueOf(numbers[i]);
+                        case 1 -> String.format(Locale.ROOT, "%.3f", numbers[i]);
+                        default -> previousFormat(numbers[i]);
+                    };
+                }
+                long middle = System.nanoTime();
+                for (int i = 0; i < count; i++) {
+                    fast[i] = switch (mode) {
+                        case 0 -> formatter.shortest(numbers[i]).toString();
+                        case 1 -> formatter.fixed(numbers[i], 3).toString();
+                        default -> ResultFormat.formatAnswer(numbers[i], 'y', formatter).toString();
+                    };
+                }
+                long end = System.nanoTime();
+                if (repeat >= 0) {
+                    jdkNanos += middle - start;
+                    fastNanos += end - middle;
+                }
+            }
+            int differing = 0;
+            for (int i = 0; i < count; i++) {
+                if (!jdk[i].equals(fast[i])) {
+                    differing++;
+                }
+            }
+            System.out.printf("%-9s %12.1f %12.1f %10d%n", new String[]{"shortest", "fixed 3", "display"}[mode],
+                    (double) jdkNanos / repeats / count, (double) fastNanos / repeats / count, differing);
+        }
+    }
+
+    /**
+     * Formats a result for the 'y' display mode the way it was done with the JDK methods.
+     *
+     * @param result the result
+     * @return the formatted result
+     */
+    private static String previousFormat(double result) {
+        if (Math.floor(result) == result) {
+            return String.valueOf((int) result);
+        }
+        String text = String.valueOf(result);
+        return text.length() > 10 ? String.format(Locale.ROOT, "%.3f", result) : text;
+    }
+}
@@ -0,0 +1,128 @@
+package bench;
+
+import reference.Fraction;
+import reference.FractionKernels;
+import reference.Fractions;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * The KernelBenchmark class compares the bulk operations of {@link FractionKernels} with looping over
+ * {@link Fraction} objects.
+ * <p>
+ * It creates random fractions both as objects and as parallel numerator and denominator arrays, then times
+ * converting them all to decimals, comparing them all with 3/4, and finding the ones greater than 3/4. Each
+ * operation is run by a loop over the objects, by the scalar kernels and by the kernels {@link
+ * FractionKernels#get()} picks, and the results of the kernels are checked against the loop. The vector
+ * kernels are only picked when the JVM is started with {@code --add-modules jdk.incubator.vector}; without
+ * it, the last column repeats the scalar kernels.
+ * <p>
+ * Options are given as {@code key=value} arguments: {@code size}, the number of fractions (default 1000000),
+ * {@code repeats} (default 20) and {@code seed} (default 42). The first repeats are not counted, so every
+ * variant is compiled before it is timed.
+ *
+ * @author Junsel Fabe
+ * @version 1
+ */
+public class KernelBenchmark {
+
+    private static final int WARM_UP_REPEATS = 5;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args the {@code key=value} options
+     */
+    public static void main(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        int size = Integer.parseInt(options.getOrDefault("size", "1000000"));
+        int repeats = Integer.parseInt(options.getOrDefault("repeats", "20"));
+        Random random = new Random(Long.parseLong(options.getOrDefault("seed", "42")));
+
+        Fraction[] fractions = new Fraction[size];
+        int[] numerators = new int[size];
+        int[] denominators = new int[size];
+        for (int i = 0; i < size; i++) {
+            numerators[i] = random.nextInt(2001) - 1000;
+            denominators[i] = random.nextInt(1000) + 1;
+            fractions[i] = new Fraction(numerators[i], denominators[i]);
+        }
+        Fraction threshold = new Fraction(3, 4);
+        FractionKernels scalar = FractionKernels.scalar();
+        FractionKernels best = FractionKernels.get();
+
+        double[] expectedDecimals = new double[size];
+        double[] decimals = new double[size];
+        int[] expectedSigns = new int[size];
+        int[] signs = new int[size];
+        int[] expectedIndices = new int[size];
+        int[] indices = new int[size];
+        long[][] nanos = new long[3][3];
+        int expectedCount = 0;
+        boolean mismatch = false;
+        for (int repeat = -WARM_UP_REPEATS; repeat < repeats; repeat++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < size; i++) {
+                expectedDecimals[i] = fractions[i].toDecimal();
+            }
+            long loopDecimal = System.nanoTime();
+            for (int i = 0; i < size; i++) {
+                expectedSigns[i] = Integer.signum(Fractions.compare(fractions[i], threshold));
+            }
+            long loopCompare = System.nanoTime();
+            expectedCount = 0;
+            for (int i = 0; i < size; i++) {
+                if (Fractions.compare(fractions[i], threshold) > 0) {
+                    expectedIndices[expectedCount++] = i;
+                }
+            }
+            long loopFilter = System.nanoTime();
+            if (repeat >= 0) {
+                nanos[0][0] += loopDecimal - start;
+                nanos[1][0] += loopCompare - loopDecimal;
+                nanos[2][0] += loopFilter - loopCompare;
+            }
+
+            FractionKernels[] kernels = {scalar, best};
+            for (int k = 0; k < kernels.length; k++) {
+                long kernelStart = System.nanoTime();
+                kernels[k].toDecimal(numerators, denominators, decimals);
+                long kernelDecimal = System.nanoTime();
+                kernels[k].compare(numerators, denominators, threshold.getNumerator(), threshold.getDenominator(), signs);
+                long kernelCompare = System.nanoTime();
+                int count = kernels[k].filterGreaterThan(numerators, denominators, threshold.getNumerator(),
+                        threshold.getDenominator(), indices);
+                long kernelFilter = System.nanoTime();
+                if (repeat >= 0) {
+                    nanos[0][k + 1] += kernelDecimal - kernelStart;
+                    nanos[1][k + 1] += kernelCompare - kernelDecimal;
+                    nanos[2][k + 1] += kernelFilter - kernelCompare;
+                }
+                mismatch |= !Arrays.equals(decimals, expectedDecimals) || !Arrays.equals(signs, expectedSigns)
+                        || !Arrays.equals(indices, 0, count, expectedIndices, 0, expectedCount);
+            }
+        }
+
+        System.out.printf("fractions=%,d greater than 3/4=%,d kernels=%s%n", size, expectedCount, best.name());
+        System.out.printf("%-10s %16s %16s %16s %9s%n", "operation", "loop M/s", "scalar M/s", "picked M/s", "speedup");
+        String[] operations = {"toDecimal", "compare", "filter"};
+        for (int operation = 0; operation < operations.length; operation++) {
+            double[] rates = new double[3];
+            for (int variant = 0; variant < 3; variant++) {
+                rates[variant] = size * (double) repeats / (nanos[operation][variant] / 1e3);
+            }
+            System.out.printf("%-10s %16.1f %16.1f %16.1f %8.1fx%n", operations[operation], rates[0], rates[1], rates[2],
+                    rates[2] / rates[0]);
+        }
+        if (mismatch) {
+            System.out.println("Mismatch between the kernels and the loop over fractions");
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package bench;
+
+import reference.BigFraction;
+import reference.Fraction;
+import reference.FractionMatrix;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * The MatrixBenchmark class compares the exact linear-system solver of {@link FractionMatrix} with naive
+ * Gaussian elimination over {@link Fraction}.
+ * <p>
+ * For every size, it solves random systems with small fractional coefficients both ways and reports the
+ * time per solve and how many of the naive solutions are correct. The naive elimination simplifies after
+ * every operation, but its int numerators and denominators still overflow silently once the system is
+ * larger than a few rows.
+ * <p>
+ * Options are given as {@code key=value} arguments: {@code sizes}, a comma-separated list of matrix sizes
+ * (default 2,4,8,16,32,64,128), {@code repeats} per size (default 5) and {@code seed} (default 42). The first
+ * repeat of every size is not counted, so the solvers are compiled before they are timed.
+ *
+ * @author Junsel Fabe
+ * @version 1
+ */
+public class MatrixBenchmark {
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args the {@code key=value} options
+     */
+    public static void main(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        String[] sizes = options.getOrDefault("sizes", "2,4,8,16,32,64,128").split(",");
+        int repeats = Integer.parseInt(options.getOrDefault("repeats", "5"));
+        Random random = new Random(Long.parseLong(options.getOrDefault("seed", "42")));
+
+        System.out.printf("%5s %14s %14s %10s%n", "size", "bareiss ms", "naive ms", "naive ok");
+        for (String size : sizes) {
+            int n = Integer.parseInt(size.trim());
+            long bareissNanos = 0;
+            long naiveNanos = 0;
+            int correct = 0;
+            for (int repeat = -1; repeat < repeats; repeat++) {
+                Fraction[][] coefficients = new Fraction[n][n];
+                Fraction[] right = new Fraction[n];
+                for (int i = 0; i < n; i++) {
+                    for (int j = 0; j < n; j++) {
+                        coefficients[i][j] = new Fraction(random.nextInt(19) - 9, random.nextInt(9) + 1);
+                    }
+                    right[i] = new Fraction(random.nextInt(19) - 9, random.nextInt(9) + 1);
+                }
+
+                long start = System.nanoTime();
+                BigFraction[] exact;
+                try {
+                    exact = FractionMatrix.of(coefficients).solve(right);
+                } catch (ArithmeticException exception) {
+                    repeat--;
+                    continue;
+                }
+                long middle = System.nanoTime();
+                Fraction[] naive;
+                try {
+                    naive = solveNaive(coefficients, right);
+                } catch (ArithmeticException exception) {
+                    naive = null;
+                }
+                long end = System.nanoTime();
+
+                if (repeat < 0) {
+                    continue;
+                }
+                bareissNanos += middle - start;
+                naiveNanos += end - middle;
+                if (matches(naive, exact)) {
+                    correct++;
+                }
+            }
+            System.out.printf("%5d %14.3f %14.3f %7d/%d%n", n, bareissNanos / 1e6 / repeats, naiveNanos / 1e6 / repeats, correct, repeats);
+        }
+    }
+
+    /**
+     * Solves a linear system by Gaussian elimination and back substitution over {@link Fraction}, simplifying
+     * after every operation.
+     *
+     * @param coefficients the coefficients, by row
+     * @param right        the right-hand side
+     * @return the solution, wrong if an intermediate value overflowed, or null if a pivot was zero
+     * @throws ArithmeticException if an overflow led to a division by zero
+     */
+    private static Fraction[] solveNaive(Fraction[][] coefficients, Fraction[] right) {
+        int n = right.length;
+        Fraction[][] rows = new Fraction[n][n + 1];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(coefficients[i], 0, rows[i], 0, n);
+            rows[i][n] = right[i];
+        }
+        for (int k = 0; k < n; k++) {
+            int pivot = k;
+            while (pivot < n && rows[pivot][k].getNumerator() == 0) {
+                pivot++;
+            }
+            if (pivot == n) {
+                return null;
+            }
+            Fraction[] swap = rows[pivot];
+            rows[pivot] = rows[k];
+            rows[k] = swap;
+            for (int i = k + 1; i < n; i++) {
+                Fraction factor = rows[i][k].divide(rows[k][k]).simplify();
+                for (int j = k; j <= n; j++) {
+                    rows[i][j] = rows[i][j].subtract(factor.multiply(rows[k][j]).simplify()).simplify();
+                }
+            }
+        }
+        Fraction[] solution = new Fraction[n];
+        for (int i = n - 1; i >= 0; i--) {
+            Fraction sum = rows[i][n];
+            for (int j = i + 1; j < n; j++) {
+                sum = sum.subtract(rows[i][j].multiply(solution[j]).simplify()).simplify();
+            }
+            solution[i] = sum.divide(rows[i][i]).simplify();
+        }
+        return solution;
+    }
+
+    /**
+     * Checks whether a naive solution equals the exact one.
+     *
+     * @param naive the naive solution, or null
+     * @param exact the exact solution
+     * @return true if every entry has the exact value
+     */
+    private static boolean matches(Fraction[] naive, BigFraction[] exact) {
+        if (naive == null) {
+            return false;
+        }
+        for (int i = 0; i < exact.length; i++) {
+            if (naive[i].getDenominator() == 0 || !BigFraction.valueOf(naive[i]).equals(exact[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
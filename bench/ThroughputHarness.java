@@ -0,0 +1,315 @@
+package bench;
+
+import gui.Model;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The ThroughputHarness class drives generated expressions through the headless evaluation pipeline on
+ * several threads and reports throughput, latency percentiles, allocation rate and garbage collection time.
+ * <p>
+ * Each expression follows the same steps as the Controller: expressions containing a diagonal fraction go
+ * through {@link Model#calculateFraction(String)}, {@link Model#calculateProblem(String, char)} and
+ * {@link Model#decimalToMixedFraction(double)}, the others through {@link Model#calculateProblem(String, char)}.
+ * Every result is also compared with the exact value of the expression, so a change that trades correctness
+ * for speed shows up as mismatches.
+ * <p>
+ * Options are given as {@code key=value} arguments: {@code threads}, {@code count}, {@code warmup},
+ * {@code seed}, {@code minOperands}, {@code maxOperands}, {@code maxDigits}, {@code fractionDigits},
+ * {@code fractions}, {@code mixed} and {@code operators} (weights of {@code + - * /}, e.g. {@code 4,3,2,1}).
+ *
+ * @author Junsel Fabe
+ * @version 1
+ */
+public class ThroughputHarness {
+
+    private static final int MAX_REPORTED_MISMATCHES = 10;
+
+    /**
+     * The Result record holds what one worker thread measured.
+     *
+     * @param latencies      the latency of every evaluation in nanoseconds
+     * @param allocatedBytes the bytes the thread allocated while evaluating
+     * @param mismatches     the number of results that did not match the exact value
+     */
+    private record Result(long[] latencies, long allocatedBytes, long mismatches) {
+    }
+
+    /**
+     * Runs the harness.
+     *
+     * @param args the {@code key=value} options
+     * @throws Exception if a worker thread fails
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Expected key=value but got " + arg);
+            }
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        int threads = Integer.parseInt(options.getOrDefault("threads", String.valueOf(Runtime.getRuntime().availableProcessors())));
+        int count = Integer.parseInt(options.getOrDefault("count", "100000"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", String.valueOf(count / 10)));
+        String[] weights = options.getOrDefault("operators", "4,3,2,1").split(",");
+        int[] operatorWeights = new int[weights.length];
+        for (int i = 0; i < weights.length; i++) {
+            operatorWeights[i] = Integer.parseInt(weights[i].trim());
+        }
+        WorkloadGenerator generator = new WorkloadGenerator(
+                Long.parseLong(options.getOrDefault("seed", "42")),
+                Integer.parseInt(options.getOrDefault("minOperands", "2")),
+                Integer.parseInt(options.getOrDefault("maxOperands", "4")),
+                Integer.parseInt(options.getOrDefault("maxDigits", "3")),
+                Integer.parseInt(options.getOrDefault("fractionDigits", "2")),
+                Double.parseDouble(options.getOrDefault("fractions", "0.3")),
+                Double.parseDouble(options.getOrDefault("mixed", "0.3")),
+                operatorWeights);
+
+        Model model = new Model();
+        System.out.printf("threads=%d count=%d warmup=%d%n", threads, count, warmup);
+        run(model, generator.split(), threads, warmup, new AtomicLong(MAX_REPORTED_MISMATCHES));
+
+        long gcTimeBefore = totalGcTime();
+        long gcCountBefore = totalGcCount();
+        AtomicLong reported = new AtomicLong();
+        long start = System.nanoTime();
+        List<Result> results = run(model, generator, threads, count, reported);
+        long elapsed = System.nanoTime() - start;
+        long gcTime = totalGcTime() - gcTimeBefore;
+        long gcCount = totalGcCount() - gcCountBefore;
+
+        long[] latencies = new long[count];
+        int offset = 0;
+        long allocatedBytes = 0;
+        long mismatches = 0;
+        for (Result result : results) {
+            System.arraycopy(result.latencies(), 0, latencies, offset, result.latencies().length);
+            offset += result.latencies().length;
+            allocatedBytes += result.allocatedBytes();
+            mismatches += result.mismatches();
+        }
+        Arrays.sort(latencies, 0, offset);
+        double seconds = elapsed / 1e9;
+
+        System.out.printf("throughput: %.0f ops/s%n", offset / seconds);
+        System.out.printf("latency: p50=%.1fus p90=%.1fus p99=%.1fus p99.9=%.1fus max=%.1fus%n",
+                percentile(latencies, offset, 0.50) / 1e3, percentile(latencies, offset, 0.90) / 1e3,
+                percentile(latencies, offset, 0.99) / 1e3, percentile(latencies, offset, 0.999) / 1e3,
+                latencies[offset - 1] / 1e3);
+        System.out.printf("allocation: %.1f MB/s, %d bytes/op%n", allocatedBytes / seconds / (1 << 20), allocatedBytes / offset);
+        System.out.printf("gc: %d collections, %d ms (%.1f%% of wall time)%n", gcCount, gcTime, gcTime / 10.0 / seconds);
+        System.out.printf("mismatches: %d of %d%n", mismatches, offset);
+    }
+
+    /**
+     * Evaluates the specified number of generated expressions, split across the worker threads.
+     *
+     * @param model     the model evaluating the expressions
+     * @param generator the generator that each thread splits its own generator from
+     * @param threads   the number of worker threads
+     * @param count     the total number of expressions
+     * @param reported  the number of mismatches printed so far
+     * @return the measurements of every thread
+     * @throws Exception if a worker thread fails
+     */
+    private static List<Result> run(Model model, WorkloadGenerator generator, int threads, int count, AtomicLong reported)
+            throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Result>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                WorkloadGenerator threadGenerator = generator.split();
+                int share = count / threads + (t < count % threads ? 1 : 0);
+                futures.add(executor.submit(() -> evaluate(model, threadGenerator, share, reported)));
+            }
+            List<Result> results = new ArrayList<>();
+            for (Future<Result> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Evaluates generated expressions on the current thread.
+     *
+     * @param model     the model evaluating the expressions
+     * @param generator the generator of this thread
+     * @param count     the number of expressions
+     * @param reported  the number of mismatches printed so far
+     * @return the measurements of this thread
+     */
+    private static Result evaluate(Model model, WorkloadGenerator generator, int count, AtomicLong reported) {
+        long[] latencies = new long[count];
+        long mismatches = 0;
+        long allocatedBefore = allocatedBytes();
+        long generatedBytes = 0;
+        for (int i = 0; i < count; i++) {
+            long generateStart = allocatedBytes();
+            WorkloadGenerator.Workload workload = generator.next();
+            generatedBytes += allocatedBytes() - generateStart;
+
+            long start = System.nanoTime();
+            String result = evaluate(model, workload);
+            latencies[i] = System.nanoTime() - start;
+
+            if (!matches(result, workload.expected())) {
+                mismatches++;
+                if (reported.incrementAndGet() <= MAX_REPORTED_MISMATCHES) {
+                    System.out.printf("mismatch: %s = %s but got %s%n", workload.expression(), workload.expected(), result);
+                }
+            }
+        }
+        return new Result(latencies, allocatedBytes() - allocatedBefore - generatedBytes, mismatches);
+    }
+
+    /**
+     * Evaluates one expression the way the Controller does.
+     *
+     * @param model    the model evaluating the expression
+     * @param workload the expression
+     * @return the result that would be shown, or the error message
+     */
+    private static String evaluate(Model model, WorkloadGenerator.Workload workload) {
+        if (workload.fraction()) {
+            return model.evaluateFraction(workload.expression()).text();
+        }
+        return model.evaluate(workload.expression(), 'y').text();
+    }
+
+    /**
+     * Checks a shown result against the exact value, allowing for the three decimals the display rounds to.
+     *
+     * @param result   the shown result
+     * @param expected the exact value
+     * @return true if the result shows the exact value
+     */
+    static boolean matches(String result, ExactValue expected) {
+        double actual;
+        try {
+            actual = parseShown(result);
+        } catch (NumberFormatException exception) {
+            return false;
+        }
+        double exact = expected.toDecimal();
+        return Math.abs(actual - exact) <= Math.max(5e-4 + 1e-12, Math.abs(exact) * 1e-12);
+    }
+
+    /**
+     * Parses a shown result, which is a whole number, a decimal, a diagonal fraction or a mixed number.
+     *
+     * @param result the shown result
+     * @return the value of the result
+     * @throws NumberFormatException if the result is not a number
+     */
+    private static double parseShown(String result) {
+        int slash = result.indexOf('⁄');
+        if (slash < 0) {
+            return Double.parseDouble(result);
+        }
+        int space = result.indexOf(' ');
+        double whole = space > 0 ? Double.parseDouble(result.substring(0, space)) : 0;
+        long numerator = 0;
+        for (int i = space + 1; i < slash; i++) {
+            numerator = numerator * 10 + superscriptValue(result.charAt(i));
+        }
+        long denominator = 0;
+        for (int i = slash + 1; i < result.length(); i++) {
+            char character = result.charAt(i);
+            if (character < '₀' || character > '₉') {
+                throw new NumberFormatException("Not a subscript digit: " + character);
+            }
+            denominator = denominator * 10 + (character - '₀');
+        }
+        double fraction = (double) numerator / denominator;
+        return whole < 0 || result.startsWith("-") ? whole - fraction : whole + fraction;
+    }
+
+    /**
+     * Gets the value of a superscript digit.
+     *
+     * @param character the character
+     * @return the digit value
+     * @throws NumberFormatException if the character is not a superscript digit
+     */
+    private static int superscriptValue(char character) {
+        switch (character) {
+            case '¹':
+                return 1;
+            case '²':
+                return 2;
+            case '³':
+                return 3;
+            default:
+                if (character == '⁰' || (character >= '⁴' && character <= '⁹')) {
+                    return character - '⁰';
+                }
+                throw new NumberFormatException("Not a superscript digit: " + character);
+        }
+    }
+
+    /**
+     * Gets the percentile of sorted latencies.
+     *
+     * @param sorted     the sorted latencies
+     * @param length     the number of latencies
+     * @param percentile the percentile between 0 and 1
+     * @return the latency at the percentile
+     */
+    private static long percentile(long[] sorted, int length, double percentile) {
+        return sorted[Math.min(length - 1, (int) Math.ceil(percentile * length) - 1)];
+    }
+
+    /**
+     * Gets the bytes allocated so far by the current thread.
+     *
+     * @return the allocated bytes, or 0 if the JVM does not measure them
+     */
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadMXBean) {
+            return threadMXBean.getCurrentThreadAllocatedBytes();
+        }
+        return 0;
+    }
+
+    /**
+     * Gets the total time spent in garbage collection.
+     *
+     * @return the collection time in milliseconds
+     */
+    private static long totalGcTime() {
+        long total = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, collector.getCollectionTime());
+        }
+        return total;
+    }
+
+    /**
+     * Gets the total number of garbage collections.
+     *
+     * @return the collection count
+     */
+    private static long totalGcCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, collector.getCollectionCount());
+        }
+        return total;
+    }
+}
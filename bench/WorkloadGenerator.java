@@ -0,0 +1,202 @@
+package bench;
+
+import java.util.SplittableRandom;
+
+/**
+ * The WorkloadGenerator class produces random expressions in the syntax the input field of the View
+ * produces: whole numbers, diagonal fractions written with superscript and subscript digits, mixed numbers
+ * and the operators {@code + - * /}, where the ÷ button is entered as {@code /}. Every expression comes with
+ * its exact value, so results can be checked against it.
+ *
+ * @author Junsel Fabe
+ * @version 1
+ */
+public class WorkloadGenerator {
+
+    private static final char[] OPERATORS = {'+', '-', '*', '/'};
+    private static final char[] SUPERSCRIPT_DIGITS = {'⁰', '¹', '²', '³', '⁴', '⁵', '⁶', '⁷', '⁸', '⁹'};
+    private static final char[] SUBSCRIPT_DIGITS = {'₀', '₁', '₂', '₃', '₄', '₅', '₆', '₇', '₈', '₉'};
+
+    private final SplittableRandom random;
+    private final int minOperands;
+    private final int maxOperands;
+    private final int maxDigits;
+    private final int maxFractionDigits;
+    private final double fractionProbability;
+    private final double mixedProbability;
+    private final int[] operatorWeights;
+    private final int totalOperatorWeight;
+
+    /**
+     * The Workload record represents one generated expression.
+     *
+     * @param expression the expression in input field syntax
+     * @param expected   the exact value of the expression
+     * @param fraction   whether the expression contains a diagonal fraction
+     */
+    public record Workload(String expression, ExactValue expected, boolean fraction) {
+    }
+
+    /**
+     * Constructs a WorkloadGenerator.
+     *
+     * @param seed                the seed of the random sequence
+     * @param minOperands         the minimum number of operands of an expression
+     * @param maxOperands         the maximum number of operands of an expression
+     * @param maxDigits           the maximum number of digits of a whole number operand
+     * @param maxFractionDigits   the maximum number of digits of a fraction numerator or denominator
+     * @param fractionProbability the probability of an operand being a diagonal fraction
+     * @param mixedProbability    the probability of a fraction operand having a whole part
+     * @param operatorWeights     the relative weights of {@code + - * /}, in that order
+     */
+    public WorkloadGenerator(long seed, int minOperands, int maxOperands, int maxDigits, int maxFractionDigits,
+                             double fractionProbability, double mixedProbability, int[] operatorWeights) {
+        if (minOperands < 1 || maxOperands < minOperands) {
+            throw new IllegalArgumentException("Invalid operand count range: " + minOperands + ".." + maxOperands);
+        }
+        if (operatorWeights.length != OPERATORS.length) {
+            throw new IllegalArgumentException("Expected " + OPERATORS.length + " operator weights");
+        }
+        this.random = new SplittableRandom(seed);
+        this.minOperands = minOperands;
+        this.maxOperands = maxOperands;
+        this.maxDigits = maxDigits;
+        this.maxFractionDigits = maxFractionDigits;
+        this.fractionProbability = fractionProbability;
+        this.mixedProbability = mixedProbability;
+        this.operatorWeights = operatorWeights.clone();
+        int total = 0;
+        for (int weight : operatorWeights) {
+            total += weight;
+        }
+        this.totalOperatorWeight = total;
+    }
+
+    /**
+     * Creates an independent generator for another thread, continuing a different random sequence.
+     *
+     * @return a new WorkloadGenerator with the same distributions
+     */
+    public WorkloadGenerator split() {
+        return new WorkloadGenerator(random.nextLong(), minOperands, maxOperands, maxDigits, maxFractionDigits,
+                fractionProbability, mixedProbability, operatorWeights);
+    }
+
+    /**
+     * Generates the next expression. Multiplication and division are evaluated before addition and
+     * subtraction, from left to right, and no divisor is ever zero.
+     *
+     * @return the generated expression and its exact value
+     */
+    public Workload next() {
+        StringBuilder expression = new StringBuilder();
+        int operands = minOperands + random.nextInt(maxOperands - minOperands + 1);
+        boolean fraction = false;
+        ExactValue sum = ExactValue.ZERO;
+        char additive = '+';
+        ExactValue term = null;
+        char multiplicative = 0;
+
+        for (int i = 0; i < operands; i++) {
+            ExactValue operand;
+            if (random.nextDouble() < fractionProbability) {
+                operand = appendFraction(expression);
+                fraction = true;
+            } else {
+                long whole = randomNumber(maxDigits, multiplicative == '/');
+                expression.append(whole);
+                operand = ExactValue.of(whole, 1);
+            }
+
+            if (multiplicative == '*') {
+                term = term.multiply(operand);
+            } else if (multiplicative == '/') {
+                term = term.divide(operand);
+            } else {
+                term = operand;
+            }
+
+            if (i == operands - 1) {
+                break;
+            }
+            char operator = randomOperator();
+            expression.append(operator);
+            if (operator == '*' || operator == '/') {
+                multiplicative = operator;
+            } else {
+                sum = additive == '+' ? sum.add(term) : sum.subtract(term);
+                additive = operator;
+                multiplicative = 0;
+            }
+        }
+        sum = additive == '+' ? sum.add(term) : sum.subtract(term);
+        return new Workload(expression.toString(), sum, fraction);
+    }
+
+    /**
+     * Appends a diagonal fraction, with a whole part if it is a mixed number.
+     *
+     * @param expression the expression to be appended to
+     * @return the exact value of the appended fraction
+     */
+    private ExactValue appendFraction(StringBuilder expression) {
+        long whole = 0;
+        if (random.nextDouble() < mixedProbability) {
+            whole = randomNumber(maxDigits, true);
+            expression.append(whole);
+        }
+        long numerator = randomNumber(maxFractionDigits, true);
+        long denominator = randomNumber(maxFractionDigits, true);
+        expression.append(' ');
+        appendDigits(expression, numerator, SUPERSCRIPT_DIGITS);
+        expression.append('⁄');
+        appendDigits(expression, denominator, SUBSCRIPT_DIGITS);
+        return ExactValue.of(whole * denominator + numerator, denominator);
+    }
+
+    /**
+     * Appends a number written with the specified digit characters.
+     *
+     * @param expression the expression to be appended to
+     * @param number     the non-negative number
+     * @param digits     the characters for the digits 0 to 9
+     */
+    private static void appendDigits(StringBuilder expression, long number, char[] digits) {
+        int start = expression.length();
+        do {
+            expression.insert(start, digits[(int) (number % 10)]);
+            number /= 10;
+        } while (number > 0);
+    }
+
+    /**
+     * Generates a random number with up to the specified number of digits.
+     *
+     * @param digits  the maximum number of digits
+     * @param nonZero whether zero must be avoided
+     * @return the random number
+     */
+    private long randomNumber(int digits, boolean nonZero) {
+        long bound = 1;
+        for (int i = random.nextInt(digits) + 1; i > 0; i--) {
+            bound *= 10;
+        }
+        return nonZero ? 1 + random.nextLong(bound - 1) : random.nextLong(bound);
+    }
+
+    /**
+     * Picks an operator according to the operator weights.
+     *
+     * @return the operator
+     */
+    private char randomOperator() {
+        int pick = random.nextInt(totalOperatorWeight);
+        for (int i = 0; i < OPERATORS.length; i++) {
+            pick -= operatorWeights[i];
+            if (pick < 0) {
+                return OPERATORS[i];
+            }
+        }
+        return OPERATORS[OPERATORS.length - 1];
+    }
+}
@@ -0,0 +1,114 @@
+package bench;
+
+import engine.EvaluationResult;
+import engine.ExactCalculatorEngine;
+import worksheet.Worksheet;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * The WorksheetBenchmark class compares evaluating a worksheet row by row with compiling it into a
+ * {@link Worksheet} of shared subexpressions.
+ * <p>
+ * It generates a pool of small subterms with a {@link WorkloadGenerator}, then builds every row by joining
+ * a few parenthesized subterms from the pool with random operators, so the same subterms appear in many
+ * rows, and some rows multiply by 1 or add 0. The rows are evaluated one by one by an
+ * {@link ExactCalculatorEngine} without a cache, and compiled and evaluated as a worksheet. It reports both
+ * times, the work the worksheet saved and the number of rows whose answers differ; answers only differ
+ * where a row overflows and the engine falls back to double arithmetic for the whole row while the
+ * worksheet does for one node.
+ * <p>
+ * Options are given as {@code key=value} arguments: {@code rows} (default 200000), {@code terms}, the size
+ * of the pool (default 500), {@code repeats} (default 5) and {@code seed} (default 42). The first repeat is
+ * not counted.
+ *
+ * @author Junsel Fabe
+ * @version 1
+ */
+public class WorksheetBenchmark {
+
+    private static final char[] OPERATORS = {'+', '-', '*', '/'};
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args the {@code key=value} options
+     */
+    public static void main(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        int rowCount = Integer.parseInt(options.getOrDefault("rows", "200000"));
+        int termCount = Integer.parseInt(options.getOrDefault("terms", "500"));
+        int repeats = Integer.parseInt(options.getOrDefault("repeats", "5"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+
+        WorkloadGenerator generator = new WorkloadGenerator(seed, 2, 3, 2, 1, 0.6, 0.3, new int[]{1, 1, 1, 1});
+        String[] terms = new String[termCount];
+        for (int i = 0; i < termCount; i++) {
+            terms[i] = generator.next().expression();
+        }
+        Random random = new Random(seed);
+        List<String> rows = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            StringBuilder row = new StringBuilder();
+            int operands = 2 + random.nextInt(3);
+            for (int j = 0; j < operands; j++) {
+                if (j > 0) {
+                    row.append(' ').append(OPERATORS[random.nextInt(OPERATORS.length)]).append(' ');
+                }
+                row.append('(').append(terms[random.nextInt(termCount)]).append(')');
+            }
+            if (random.nextInt(10) == 0) {
+                row.append(random.nextBoolean() ? " * 1" : " + 0");
+            }
+            rows.add(row.toString());
+        }
+
+        long engineNanos = 0;
+        long compileNanos = 0;
+        long evaluateNanos = 0;
+        int different = 0;
+        Worksheet.Statistics statistics = null;
+        for (int repeat = -1; repeat < repeats; repeat++) {
+            ExactCalculatorEngine engine = new ExactCalculatorEngine(0);
+            List<EvaluationResult> expected = new ArrayList<>(rowCount);
+            long start = System.nanoTime();
+            for (String row : rows) {
+                expected.add(engine.evaluate(row, 'y'));
+            }
+            long evaluated = System.nanoTime();
+            Worksheet worksheet = Worksheet.compile(rows);
+            long compiled = System.nanoTime();
+            List<EvaluationResult> results = worksheet.evaluate('y');
+            long end = System.nanoTime();
+            if (repeat >= 0) {
+                engineNanos += evaluated - start;
+                compileNanos += compiled - evaluated;
+                evaluateNanos += end - compiled;
+            }
+            different = 0;
+            for (int i = 0; i < rowCount; i++) {
+                if (!expected.get(i).text().equals(results.get(i).text())) {
+                    different++;
+                }
+            }
+            statistics = worksheet.getStatistics();
+        }
+
+        System.out.printf("rows=%,d terms=%,d%n", rowCount, termCount);
+        System.out.printf("row by row   %10.1f ms%n", engineNanos / 1e6 / repeats);
+        System.out.printf("worksheet    %10.1f ms (compile %.1f ms, evaluate %.1f ms)%n",
+                (compileNanos + evaluateNanos) / 1e6 / repeats, compileNanos / 1e6 / repeats, evaluateNanos / 1e6 / repeats);
+        System.out.printf("operations=%,d folded=%,d identities=%,d evaluated=%,d saved=%,d (%.1f%%)%n",
+                statistics.operations(), statistics.folded(), statistics.identities(), statistics.evaluated(),
+                statistics.saved(), 100.0 * statistics.saved() / statistics.operations());
+        System.out.printf("rows with a different answer=%,d%n", different);
+    }
+}
@@ -0,0 +1,142 @@
+package engine;
+
+import exception.MixedFractionException;
+import profiling.OperationProfile;
+
+/**
+ * The CalculatorEngine interface evaluates the problems entered into the Fraction Calculator.
+ * <p>
+ * Implementations do not depend on Swing and are thread-safe: one instance can be shared by any number of
+ * threads calling any of its methods concurrently, without external synchronization.
+ *
+ * @author Junsel Fabe
+ * @version 1
+ */
+public interface CalculatorEngine {
+
+    /**
+     * Evaluates a mathematical problem represented by a string, returning errors instead of throwing them.
+     *
+     * @param problem   The input string representing a mathematical problem.
+     * @param character The character representing the type of calculation ('x' for multiplication, 'y' for other operations).
+     * @return The formatted answer, or the error the problem evaluates to.
+     */
+    EvaluationResult evaluate(String problem, char character);
+
+    /**
+     * Evaluates the continuation of a value computed before, such as {@code *2+1} after a previous answer,
+     * returning errors instead of throwing them. The value stands in front of the continuation as a single
+     * operand, as if it were parenthesized.
+     * <p>
+     * The default implementation writes the value as a quotient in front of the continuation and evaluates
+     * the result; engines that can start from the value directly should override it.
+     *
+     * @param value        The exact value the calculation continues from.
+     * @param continuation The rest of the problem, starting with the operator applied to the value.
+     * @param character    The character representing the type of calculation ('x' for multiplication, 'y' for other operations).
+     * @return The formatted answer, or the error the problem evaluates to.
+     */
+    default EvaluationResult continueFrom(Rational value, String continuation, char character) {
+        return evaluate("(" + value.getNumerator() + "/" + value.getDenominator() + ")" + continuation, character);
+    }
+
+    /**
+     * Checks whether a value written out and followed by a continuation evaluates the same as the
+     * continuation of the value as a single operand, so the continuation can be evaluated from the exact
+     * value. It starts with a binary operator, and a power only continues a value that is not negative, as
+     * the unary minus of a written negative value binds looser than {@code ^}: {@code -2^2} is -4.
+     *
+     * @param value        The exact value the calculation would continue from.
+     * @param continuation The text after the written value.
+     * @return true if the continuation can be evaluated from the value.
+     */
+    static boolean isContinuation(Rational value, String continuation) {
+        String operator = continuation.strip();
+        if (operator.isEmpty()) {
+            return false;
+        }
+        char first = operator.charAt(0);
+        return "+-*/".indexOf(first) >= 0 || first == '^' && value.signum() >= 0;
+    }
+
+    /**
+     * Evaluates a fractional expression with diagonal fractions and converts its value to a mixed fraction,
+     * returning errors instead of throwing them.
+     *
+     * @param problem The input string representing a fractional expression.
+     * @return The answer as a mixed fraction or repeating decimal, or the error the problem evaluates to.
+     */
+    default EvaluationResult evaluateFraction(String problem) {
+        long clock = OperationProfile.clock();
+        String normalized = calculateFraction(problem);
+        OperationProfile.lap(OperationProfile.Stage.NORMALIZE, clock);
+        return toMixedFraction(evaluate(normalized, 'x'));
+    }
+
+    /**
+     * Evaluates the continuation of a value computed before, written with diagonal fractions, and converts
+     * its value to a mixed fraction, returning errors instead of throwing them.
+     *
+     * @param value        The exact value the calculation continues from.
+     * @param continuation The rest of the fractional expression, starting with the operator applied to the value.
+     * @return The answer as a mixed fraction or repeating decimal, or the error the problem evaluates to.
+     */
+    default EvaluationResult continueFraction(Rational value, String continuation) {
+        long clock = OperationProfile.clock();
+        String normalized = calculateFraction(continuation);
+        OperationProfile.lap(OperationProfile.Stage.NORMALIZE, clock);
+        return toMixedFraction(continueFrom(value, normalized, 'x'));
+    }
+
+    /**
+     * Converts a decimal answer to a mixed fraction, keeping its exact value. The mixed fraction is built from
+     * the exact value when it is known; an answer too large for a mixed fraction, or whose mixed fraction is
+     * too long for the input field, stays a decimal.
+     *
+     * @param decimal The result of evaluating a fractional expression.
+     * @return The answer as a mixed fraction or repeating decimal, or the error of the evaluation.
+     */
+    private EvaluationResult toMixedFraction(EvaluationResult decimal) {
+        if (decimal instanceof EvaluationResult.Success success) {
+            long clock = OperationProfile.clock();
+            String mixedFraction = success.value() != null
+                    ? ResultFormat.formatMixedFraction(success.value())
+                    : decimalToMixedFraction(Double.parseDouble(success.answer()));
+            if (mixedFraction == null || mixedFraction.length() > ResultFormat.MAX_LENGTH) {
+                mixedFraction = success.answer();
+            }
+            OperationProfile.lap(OperationProfile.Stage.FORMAT, clock);
+            return new EvaluationResult.Success(mixedFraction, success.value());
+        }
+        return decimal;
+    }
+
+    /**
+     * Calculates the result of a mathematical problem represented by a string.
+     *
+     * @param problem   The input string representing a mathematical problem.
+     * @param character The character representing the type of calculation ('x' for multiplication, 'y' for other operations).
+     * @return The result of the calculation as a formatted string.
+     * @throws MixedFractionException If a mathematical error is encountered during calculation. The exception
+     *                                is preallocated and has no stack trace.
+     */
+    default String calculateProblem(String problem, char character) throws MixedFractionException {
+        return evaluate(problem, character).orElseThrow();
+    }
+
+    /**
+     * Rewrites a fractional expression with diagonal fractions into plain arithmetic.
+     *
+     * @param problem The input string representing a fractional expression.
+     * @return The expression with every diagonal fraction and mixed number written as a parenthesized quotient.
+     */
+    String calculateFraction(String problem);
+
+    /**
+     * Converts a decimal number to a mixed fraction or a repeating decimal.
+     *
+     * @param decimal The input decimal number to be converted.
+     * @return The converted result as a formatted string.
+     */
+    String decimalToMixedFraction(double decimal);
+}
@@ -0,0 +1,101 @@
+package engine;
+
+import profiling.FormatEvent;
+import reference.DiagonalDigits;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * The DiagonalFraction class writes and reads fractions in their diagonal form, where the numerator is written
+ * with superscript digits and the denominator with subscript digits around a fraction slash, e.g. ³⁄₄. The
+ * characters themselves are read and written by {@link DiagonalDigits}, which the reference fractions share.
+ *
+ * @author Junsel Fabe
+ * @version 1
+ */
+public final class DiagonalFraction {
+
+    /**
+     * The fraction slash between the numerator and the denominator.
+     */
+    public static final char FRACTION_SLASH = DiagonalDigits.FRACTION_SLASH;
+
+    /**
+     * DiagonalFraction has only static methods.
+     */
+    private DiagonalFraction() {
+    }
+
+    /**
+     * Generates a formatted string representation of a diagonal fraction.
+     *
+     * @param numerator   The numerator of the fraction.
+     * @param denominator The denominator of the fraction.
+     * @return The formatted string representation of the diagonal fraction, preceded by a space.
+     */
+    public static String format(int numerator, int denominator) {
+        if (denominator == 0) {
+            return "";
+        }
+
+        if (numerator == 0) {
+            return "0";
+        }
+        FormatEvent formatEvent = new FormatEvent();
+        formatEvent.begin();
+        StringBuilder fraction = new StringBuilder(24).append(' ');
+        try {
+            if (numerator > 0) {
+                DiagonalDigits.appendSuperscript(fraction, numerator);
+            }
+            fraction.append(FRACTION_SLASH);
+            if (denominator > 0) {
+                DiagonalDigits.appendSubscript(fraction, denominator);
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        if (formatEvent.shouldCommit()) {
+            formatEvent.numerator = numerator;
+            formatEvent.denominator = denominator;
+            formatEvent.commit();
+        }
+        return fraction.toString();
+    }
+
+    /**
+     * Appends a diagonal fraction without a leading space, writing one character at a time so nothing but
+     * the output is allocated.
+     *
+     * @param out         The destination of the fraction.
+     * @param numerator   The numerator of the fraction, at least 0.
+     * @param denominator The denominator of the fraction, at least 0.
+     * @param <A>         The type of the destination.
+     * @return The destination.
+     * @throws IOException If the destination cannot be written to.
+     */
+    public static <A extends Appendable> A append(A out, long numerator, long denominator) throws IOException {
+        return DiagonalDigits.append(out, numerator, denominator);
+    }
+
+    /**
+     * Gets the value of a superscript digit.
+     *
+     * @param character The character.
+     * @return The digit value, or -1 if the character is not a superscript digit.
+     */
+    public static int superscriptValue(char character) {
+        return DiagonalDigits.superscriptValue(character);
+    }
+
+    /**
+     * Gets the value of a subscript digit.
+     *
+     * @param character The character.
+     * @return The digit value, or -1 if the character is not a subscript digit.
+     */
+    public static int subscriptValue(char character) {
+        return DiagonalDigits.subscriptValue(character);
+    }
+}
@@ -0,0 +1,590 @@
+package engine;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * The DoubleFormatter class writes doubles as decimal text into a reusable buffer, without the pattern
+ * parsing, the allocations and the locale lookup of {@link String#format(String, Object...)}.
+ * <p>
+ * {@link #shortest(double)} writes the shortest decimal that rounds back to the same double, using the
+ * Schubfach algorithm by Raffaello Giulietti, in the layout of {@link Double#toString(double)}: plain
+ * notation from 10<sup>-3</sup> up to 10<sup>7</sup> and computerized scientific notation otherwise.
+ * {@link #fixed(double, int)} writes a fixed number of decimals like {@code %.Nf} with {@link java.util.Locale#ROOT},
+ * rounding the shortest decimal half up. Both modes always use '.' as the decimal separator.
+ * <p>
+ * A formatter is a {@link CharSequence} holding the last formatted number, so it can be appended to a
+ * builder or a document without creating a string. It is not thread-safe and is meant to be reused by a
+ * single thread.
+ *
+ * @author Junsel Fabe
+ * @version 1
+ */
+public final class DoubleFormatter implements CharSequence {
+
+    private static final int P = 53;
+    private static final int Q_MIN = -1074;
+    private static final long C_MIN = 1L << (P - 1);
+    private static final int BQ_MASK = (1 << 11) - 1;
+    private static final long T_MASK = C_MIN - 1;
+    private static final long C_TINY = 3;
+    private static final long MASK_63 = Long.MAX_VALUE;
+    private static final int K_MIN = -324;
+    private static final int K_MAX = 292;
+
+    private char[] buffer = new char[32];
+    private int length;
+
+    private final char[] digits = new char[20];
+    private int digitCount;
+    private int pointPosition;
+
+    /**
+     * Constructs a DoubleFormatter holding no text.
+     */
+    public DoubleFormatter() {
+    }
+
+    /**
+     * Writes the shortest decimal that rounds back to the specified double.
+     *
+     * @param value The double to be formatted.
+     * @return This formatter, holding the text.
+     */
+    public DoubleFormatter shortest(double value) {
+        length = 0;
+        if (!decompose(value)) {
+            return this;
+        }
+        if (pointPosition > -3 && pointPosition <= 7) {
+            if (pointPosition <= 0) {
+                append('0').append('.').appendZeros(-pointPosition).appendDigits(0, digitCount);
+            } else if (pointPosition >= digitCount) {
+                appendDigits(0, digitCount).appendZeros(pointPosition - digitCount).append('.').append('0');
+            } else {
+                appendDigits(0, pointPosition).append('.').appendDigits(pointPosition, digitCount);
+            }
+        } else {
+            appendDigits(0, 1).append('.');
+            if (digitCount == 1) {
+                append('0');
+            } else {
+                appendDigits(1, digitCount);
+            }
+            int exponent = pointPosition - 1;
+            append('E');
+            if (exponent < 0) {
+                append('-');
+                exponent = -exponent;
+            }
+            appendNumber(exponent);
+        }
+        return this;
+    }
+
+    /**
+     * Writes a double with a fixed number of decimals, rounding its shortest decimal half up.
+     *
+     * @param value    The double to be formatted.
+     * @param decimals The number of digits after the decimal point, 0 for none.
+     * @return This formatter, holding the text.
+     */
+    public DoubleFormatter fixed(double value, int decimals) {
+        if (decimals < 0) {
+            throw new IllegalArgumentException("Negative number of decimals: " + decimals);
+        }
+        length = 0;
+        if (!decompose(value)) {
+            return this;
+        }
+        roundTo(pointPosition + decimals);
+        if (pointPosition <= 0) {
+            append('0');
+        } else {
+            int whole = Math.min(pointPosition, digitCount);
+            appendDigits(0, whole).appendZeros(pointPosition - whole);
+        }
+        if (decimals > 0) {
+            append('.');
+            for (int i = pointPosition; i < pointPosition + decimals; i++) {
+                append(i >= 0 && i < digitCount ? digits[i] : '0');
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Removes the trailing zeros of the decimals of the text, and the decimal point if no decimals are left.
+     * Text in scientific notation is left as it is.
+     *
+     * @return This formatter, holding the shortened text.
+     */
+    public DoubleFormatter trimZeros() {
+        int point = -1;
+        for (int i = 0; i < length; i++) {
+            if (buffer[i] == 'E') {
+                return this;
+            } else if (buffer[i] == '.') {
+                point = i;
+            }
+        }
+        if (point >= 0) {
+            while (length > point + 1 && buffer[length - 1] == '0') {
+                length--;
+            }
+            if (length == point + 1) {
+                length = point;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Writes a double in computerized scientific notation, such as {@code 4.611686018E18}, with as many
+     * significant digits of its shortest decimal as fit in the specified number of characters, rounded half
+     * up and without trailing zeros.
+     *
+     * @param value     The double to be formatted.
+     * @param maxLength The number of characters the text may have.
+     * @return This formatter, holding the text.
+     * @throws IllegalArgumentException If not even three significant digits fit.
+     */
+    public DoubleFormatter scientific(double value, int maxLength) {
+        length = 0;
+        if (decompose(value)) {
+            appendScientific(maxLength);
+        }
+        return this;
+    }
+
+    /**
+     * Writes a whole number with all its digits.
+     *
+     * @param value The number to be formatted.
+     * @return This formatter, holding the text.
+     */
+    public DoubleFormatter whole(long value) {
+        length = 0;
+        decompose(value);
+        appendDigits(0, digitCount).appendZeros(pointPosition - digitCount);
+        return this;
+    }
+
+    /**
+     * Writes a whole number in computerized scientific notation from its exact digits, like
+     * {@link #scientific(double, int)}.
+     *
+     * @param value     The number to be formatted.
+     * @param maxLength The number of characters the text may have.
+     * @return This formatter, holding the text.
+     * @throws IllegalArgumentException If not even three significant digits fit.
+     */
+    public DoubleFormatter scientific(long value, int maxLength) {
+        length = 0;
+        decompose(value);
+        appendScientific(maxLength);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int length() {
+        return length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index " + index + " of " + length);
+        }
+        return buffer[index];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return toString().substring(start, end);
+    }
+
+    /**
+     * Gets the last formatted number.
+     *
+     * @return The text of the last formatted number.
+     */
+    @Override
+    public String toString() {
+        return new String(buffer, 0, length);
+    }
+
+    /**
+     * Writes the sign of a double and, for a finite non-zero double, finds its shortest decimal. The digits
+     * and the position of the decimal point are kept in {@code digits}, {@code digitCount} and
+     * {@code pointPosition}, so the value is 0.d<sub>1</sub>d<sub>2</sub>...d<sub>n</sub> &times;
+     * 10<sup>pointPosition</sup>. NaN, the infinities and the zeros are written whole.
+     *
+     * @param value The double.
+     * @return true if the value still has to be written from its digits.
+     */
+    private boolean decompose(double value) {
+        long bits = Double.doubleToRawLongBits(value);
+        long t = bits & T_MASK;
+        int bq = (int) (bits >>> (P - 1)) & BQ_MASK;
+        if (bq == BQ_MASK) {
+            if (t != 0) {
+                appendText("NaN");
+            } else {
+                appendText(bits > 0 ? "Infinity" : "-Infinity");
+            }
+            return false;
+        }
+        if (bits < 0) {
+            append('-');
+        }
+        if (bq != 0) {
+            int mq = -Q_MIN + 1 - bq;
+            long c = C_MIN | t;
+            if (0 < mq & mq < P) {
+                long f = c >> mq;
+                if (f << mq == c) {
+                    setDigits(f, 0);
+                    return true;
+                }
+            }
+            toDecimal(-mq, c, 0);
+            return true;
+        }
+        if (t != 0) {
+            if (t < C_TINY) {
+                toDecimal(Q_MIN, 10 * t, -1);
+            } else {
+                toDecimal(Q_MIN, t, 0);
+            }
+            return true;
+        }
+        digits[0] = '0';
+        digitCount = 1;
+        pointPosition = 1;
+        return true;
+    }
+
+    /**
+     * Writes the sign of a whole number and stores its digits like {@link #decompose(double)}.
+     *
+     * @param value The number.
+     */
+    private void decompose(long value) {
+        if (value < 0) {
+            append('-');
+        }
+        // the magnitude is read as unsigned, so Long.MIN_VALUE keeps all its digits
+        long magnitude = Math.abs(value);
+        int trailing = 0;
+        while (magnitude != 0 && Long.remainderUnsigned(magnitude, 10) == 0) {
+            magnitude = Long.divideUnsigned(magnitude, 10);
+            trailing++;
+        }
+        int count = 0;
+        for (long rest = magnitude; rest != 0; rest = Long.divideUnsigned(rest, 10)) {
+            count++;
+        }
+        if (count == 0) {
+            digits[0] = '0';
+            digitCount = 1;
+            pointPosition = 1;
+            return;
+        }
+        for (int i = count - 1; i >= 0; i--) {
+            digits[i] = (char) ('0' + Long.remainderUnsigned(magnitude, 10));
+            magnitude = Long.divideUnsigned(magnitude, 10);
+        }
+        digitCount = count;
+        pointPosition = count + trailing;
+    }
+
+    /**
+     * Appends the stored digits in computerized scientific notation, rounded to the digits that fit after the
+     * sign already written.
+     *
+     * @param maxLength The number of characters the whole text may have.
+     * @throws IllegalArgumentException If not even three significant digits fit.
+     */
+    private void appendScientific(int maxLength) {
+        int exponent = pointPosition - 1;
+        int magnitude = Math.abs(exponent);
+        int exponentLength = (exponent < 0 ? 2 : 1) + (magnitude >= 100 ? 3 : magnitude >= 10 ? 2 : 1);
+        // one digit before the point, the point, and the exponent with its 'E'
+        int keep = maxLength - length - 1 - exponentLength;
+        if (keep < 3) {
+            throw new IllegalArgumentException("No room for scientific notation in " + maxLength + " characters");
+        }
+        roundTo(keep);
+        while (digitCount > 1 && digits[digitCount - 1] == '0') {
+            digitCount--;
+        }
+        appendDigits(0, 1).append('.');
+        if (digitCount == 1) {
+            append('0');
+        } else {
+            appendDigits(1, digitCount);
+        }
+        exponent = pointPosition - 1;
+        append('E');
+        if (exponent < 0) {
+            append('-');
+            exponent = -exponent;
+        }
+        appendNumber(exponent);
+    }
+
+    /**
+     * Finds the shortest decimal in the rounding interval of c &times; 2<sup>q</sup>, as in the Schubfach
+     * algorithm.
+     *
+     * @param q  The binary exponent.
+     * @param c  The binary significand.
+     * @param dk The correction of the decimal exponent for the smallest subnormals.
+     */
+    private void toDecimal(int q, long c, int dk) {
+        int out = (int) c & 0x1;
+        long cb = c << 2;
+        long cbr = cb + 2;
+        long cbl;
+        int k;
+        if (c != C_MIN | q == Q_MIN) {
+            cbl = cb - 2;
+            k = flog10pow2(q);
+        } else {
+            cbl = cb - 1;
+            k = flog10threeQuartersPow2(q);
+        }
+        int h = q + flog2pow10(-k) + 2;
+        long g1 = PowersOfTen.G[(k - K_MIN) << 1];
+        long g0 = PowersOfTen.G[(k - K_MIN) << 1 | 1];
+        long vb = roundToOdd(g1, g0, cb << h);
+        long vbl = roundToOdd(g1, g0, cbl << h);
+        long vbr = roundToOdd(g1, g0, cbr << h);
+
+        long s = vb >> 2;
+        if (s >= 100) {
+            long sp10 = 10 * Math.multiplyHigh(s, 115_292_150_460_684_698L << 4);
+            long tp10 = sp10 + 10;
+            boolean upin = vbl + out <= sp10 << 2;
+            boolean wpin = (tp10 << 2) + out <= vbr;
+            if (upin != wpin) {
+                setDigits(upin ? sp10 : tp10, k);
+                return;
+            }
+        }
+        long t = s + 1;
+        boolean uin = vbl + out <= s << 2;
+        boolean win = (t << 2) + out <= vbr;
+        if (uin != win) {
+            setDigits(uin ? s : t, k + dk);
+            return;
+        }
+        long cmp = vb - (s + t << 1);
+        setDigits(cmp < 0 || cmp == 0 && (s & 0x1) == 0 ? s : t, k + dk);
+    }
+
+    /**
+     * Stores the digits of f &times; 10<sup>e</sup> without trailing zeros.
+     *
+     * @param f The decimal significand, greater than 0.
+     * @param e The decimal exponent.
+     */
+    private void setDigits(long f, int e) {
+        while (f % 10 == 0) {
+            f /= 10;
+            e++;
+        }
+        int count = 0;
+        for (long rest = f; rest > 0; rest /= 10) {
+            count++;
+        }
+        for (int i = count - 1; i >= 0; i--) {
+            digits[i] = (char) ('0' + f % 10);
+            f /= 10;
+        }
+        digitCount = count;
+        pointPosition = count + e;
+    }
+
+    /**
+     * Rounds the stored digits half up, keeping the specified number of them.
+     *
+     * @param keep The number of digits to be kept, counted from the first one.
+     */
+    private void roundTo(int keep) {
+        if (keep >= digitCount) {
+            return;
+        }
+        if (keep < 0) {
+            digitCount = 0;
+            return;
+        }
+        boolean up = digits[keep] >= '5';
+        digitCount = keep;
+        if (!up) {
+            return;
+        }
+        for (int i = keep - 1; i >= 0; i--) {
+            if (digits[i] != '9') {
+                digits[i]++;
+                return;
+            }
+            digits[i] = '0';
+        }
+        digits[0] = '1';
+        digitCount = 1;
+        pointPosition++;
+    }
+
+    /**
+     * Appends a character to the buffer.
+     *
+     * @param character The character.
+     * @return This formatter.
+     */
+    private DoubleFormatter append(char character) {
+        if (length == buffer.length) {
+            buffer = Arrays.copyOf(buffer, length * 2);
+        }
+        buffer[length++] = character;
+        return this;
+    }
+
+    /**
+     * Appends a range of the stored digits to the buffer.
+     *
+     * @param from The index of the first digit.
+     * @param to   The index after the last digit.
+     * @return This formatter.
+     */
+    private DoubleFormatter appendDigits(int from, int to) {
+        for (int i = from; i < to; i++) {
+            append(digits[i]);
+        }
+        return this;
+    }
+
+    /**
+     * Appends zeros to the buffer.
+     *
+     * @param count The number of zeros, nothing if it is not positive.
+     * @return This formatter.
+     */
+    private DoubleFormatter appendZeros(int count) {
+        for (int i = 0; i < count; i++) {
+            append('0');
+        }
+        return this;
+    }
+
+    /**
+     * Appends a non-negative number to the buffer.
+     *
+     * @param number The number.
+     */
+    private void appendNumber(int number) {
+        if (number >= 10) {
+            appendNumber(number / 10);
+        }
+        append((char) ('0' + number % 10));
+    }
+
+    /**
+     * Appends text to the buffer.
+     *
+     * @param text The text.
+     */
+    private void appendText(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            append(text.charAt(i));
+        }
+    }
+
+    /**
+     * Multiplies a 126-bit power of ten by a scaled significand and rounds the high bits to odd.
+     *
+     * @param g1 The high 63 bits of the power of ten.
+     * @param g0 The low 63 bits of the power of ten.
+     * @param cp The scaled significand.
+     * @return The rounded product.
+     */
+    private static long roundToOdd(long g1, long g0, long cp) {
+        long x1 = Math.multiplyHigh(g0, cp);
+        long y0 = g1 * cp;
+        long y1 = Math.multiplyHigh(g1, cp);
+        long z = (y0 >>> 1) + x1;
+        long vbp = y1 + (z >>> 63);
+        return vbp | (z & MASK_63) + MASK_63 >>> 63;
+    }
+
+    /**
+     * Computes floor(log10(2<sup>e</sup>)).
+     *
+     * @param e The exponent, between -5456721 and 5456721.
+     * @return The floor of the logarithm.
+     */
+    private static int flog10pow2(int e) {
+        return (int) (e * 661_971_961_083L >> 41);
+    }
+
+    /**
+     * Computes floor(log10(3/4 &times; 2<sup>e</sup>)).
+     *
+     * @param e The exponent, between -5456721 and 5456721.
+     * @return The floor of the logarithm.
+     */
+    private static int flog10threeQuartersPow2(int e) {
+        return (int) (e * 661_971_961_083L + -274_743_187_321L >> 41);
+    }
+
+    /**
+     * Computes floor(log2(10<sup>e</sup>)).
+     *
+     * @param e The exponent, between -1233 and 1233.
+     * @return The floor of the logarithm.
+     */
+    private static int flog2pow10(int e) {
+        return (int) (e * 913_124_641_741L >> 38);
+    }
+
+    /**
+     * The PowersOfTen class holds the 126-bit approximations of the powers of ten used by Schubfach. They
+     * are computed when the first double is formatted, rather than stored as a table in the source.
+     */
+    private static final class PowersOfTen {
+
+        /**
+         * For every k from K_MIN to K_MAX, the high and low 63 bits of floor(10<sup>-k</sup> &times;
+         * 2<sup>-r</sup>) + 1, where r is chosen so 2<sup>125</sup> &le; 10<sup>-k</sup> &times; 2<sup>-r</sup>
+         * &lt; 2<sup>126</sup>.
+         */
+        private static final long[] G = new long[(K_MAX - K_MIN + 1) * 2];
+
+        static {
+            BigInteger mask = BigInteger.valueOf(MASK_63);
+            for (int k = K_MIN; k <= K_MAX; k++) {
+                BigInteger numerator = k <= 0 ? BigInteger.TEN.pow(-k) : BigInteger.ONE;
+                BigInteger denominator = k > 0 ? BigInteger.TEN.pow(k) : BigInteger.ONE;
+                int shift = 125 - flog2pow10(-k);
+                if (shift >= 0) {
+                    numerator = numerator.shiftLeft(shift);
+                } else {
+                    denominator = denominator.shiftLeft(-shift);
+                }
+                BigInteger g = numerator.divide(denominator).add(BigInteger.ONE);
+                G[(k - K_MIN) << 1] = g.shiftRight(63).longValueExact();
+                G[(k - K_MIN) << 1 | 1] = g.and(mask).longValueExact();
+            }
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package engine;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The EvaluationBudget record limits the work one evaluation may do, so a pathological problem, such as one
+ * with thousands of terms, deeply nested parentheses or a huge power, cannot hold a thread for long.
+ * <p>
+ * The limits are enforced cooperatively by the {@link ExpressionParser} through a {@link Meter}, which
+ * counts every operand and operation as a step, tracks how deeply the problem is nested, checks the size of
+ * every intermediate value and, every {@value #CLOCK_INTERVAL} steps, the wall clock and the interrupt flag
+ * of the thread. A problem that exceeds a limit ends with an {@link Exceeded} exception, which the engine
+ * turns into {@link EvaluationResult.Failure#OVERFLOW} for a value that is too large and
+ * {@link EvaluationResult.Failure#TOO_COMPLEX} for everything else.
+ *
+ * @param maxSteps the number of operands and operations a problem may have
+ * @param maxDepth the number of parentheses, square roots, signs and powers a part of a problem may be nested in
+ * @param maxBits  the number of bits the whole part of an intermediate value may have
+ * @param maxNanos the wall-clock time an evaluation may take, in nanoseconds
+ * @author Junsel Fabe
+ * @version 1
+ */
+public record EvaluationBudget(long maxSteps, int maxDepth, int maxBits, long maxNanos) {
+
+    /**
+     * The budget of the calculator: far more than anything typed by hand, but small enough that every
+     * evaluation ends within a frame or two.
+     */
+    public static final EvaluationBudget DEFAULT = new EvaluationBudget(100_000, 200, 512, TimeUnit.MILLISECONDS.toNanos(50));
+
+    /**
+     * A budget without limits, except for the nesting depth, which keeps the recursive parser from running
+     * out of stack on a thread with the default stack size.
+     */
+    public static final EvaluationBudget UNLIMITED = new EvaluationBudget(Long.MAX_VALUE, 500, Integer.MAX_VALUE, Long.MAX_VALUE);
+
+    private static final int CLOCK_INTERVAL = 1 << 10;
+
+    /**
+     * Checks the limits of a budget.
+     *
+     * @param maxSteps the number of operands and operations a problem may have
+     * @param maxDepth the number of parentheses, square roots, signs and powers a part of a problem may be nested in
+     * @param maxBits  the number of bits the whole part of an intermediate value may have
+     * @param maxNanos the wall-clock time an evaluation may take, in nanoseconds
+     * @throws IllegalArgumentException if a limit is not positive
+     */
+    public EvaluationBudget {
+        if (maxSteps <= 0 || maxDepth <= 0 || maxBits <= 0 || maxNanos <= 0) {
+            throw new IllegalArgumentException("Budget limits must be positive");
+        }
+    }
+
+    /**
+     * Starts measuring one evaluation against this budget. Its clock starts now.
+     *
+     * @return the meter of the evaluation
+     */
+    public Meter start() {
+        return new Meter(this, System.nanoTime());
+    }
+
+    /**
+     * The Meter class measures one evaluation against a budget. It may be shared by the attempts of one
+     * evaluation, such as an exact attempt and the double attempt that follows it, which then share the
+     * budget as well. A meter is used by one thread.
+     */
+    public static final class Meter {
+
+        private final EvaluationBudget budget;
+        private final long start;
+        private long steps;
+
+        /**
+         * Constructs a meter.
+         *
+         * @param budget the budget to be enforced
+         * @param start  the {@link System#nanoTime()} at which the evaluation started
+         */
+        private Meter(EvaluationBudget budget, long start) {
+            this.budget = budget;
+            this.start = start;
+        }
+
+        /**
+         * Counts one step, checking the wall clock and the interrupt flag every {@value #CLOCK_INTERVAL} steps.
+         *
+         * @throws Exceeded if the evaluation has too many steps, has run out of time or was interrupted
+         */
+        public void step() {
+            if (++steps > budget.maxSteps) {
+                throw Exceeded.TOO_COMPLEX;
+            } else if ((steps & (CLOCK_INTERVAL - 1)) == 0
+                    && (System.nanoTime() - start > budget.maxNanos || Thread.currentThread().isInterrupted())) {
+                throw Exceeded.TOO_COMPLEX;
+            }
+        }
+
+        /**
+         * Checks the nesting depth of the part being evaluated.
+         *
+         * @param depth the number of parts it is nested in
+         * @throws Exceeded if the part is nested too deeply
+         */
+        public void checkDepth(int depth) {
+            if (depth > budget.maxDepth) {
+                throw Exceeded.TOO_COMPLEX;
+            }
+        }
+
+        /**
+         * Checks the size of an intermediate value.
+         *
+         * @param bits the number of bits of the whole part of the value
+         * @throws Exceeded if the value is too large
+         */
+        public void checkBits(int bits) {
+            if (bits > budget.maxBits) {
+                throw Exceeded.OVERFLOW;
+            }
+        }
+
+        /**
+         * Gets the number of steps counted so far.
+         *
+         * @return the number of steps
+         */
+        public long getSteps() {
+            return steps;
+        }
+    }
+
+    /**
+     * The Exceeded class is the exception for an evaluation that exceeded its budget. It is an
+     * {@link ArithmeticException}, so callers that only tell valid problems from invalid ones need no
+     * changes, and it has no stack trace, so the two instances are preallocated.
+     */
+    public static final class Exceeded extends ArithmeticException {
+
+        private static final long serialVersionUID = 1L;
+        private static final Exceeded OVERFLOW = new Exceeded(EvaluationResult.Failure.OVERFLOW);
+        private static final Exceeded TOO_COMPLEX = new Exceeded(EvaluationResult.Failure.TOO_COMPLEX);
+
+        private final transient EvaluationResult.Failure failure;
+
+        /**
+         * Constructs an Exceeded exception.
+         *
+         * @param failure the result the evaluation ends with
+         */
+        private Exceeded(EvaluationResult.Failure failure) {
+            super(failure.text());
+            this.failure = failure;
+        }
+
+        /**
+         * Gets the result the evaluation ends with.
+         *
+         * @return {@link EvaluationResult.Failure#OVERFLOW} or {@link EvaluationResult.Failure#TOO_COMPLEX}
+         */
+        public EvaluationResult.Failure failure() {
+            return failure;
+        }
+
+        /**
+         * Skips filling in the stack trace.
+         *
+         * @return This exception.
+         */
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package engine;
+
+import exception.MixedFractionException;
+
+/**
+ * The EvaluationResult interface is the outcome of evaluating a problem: either the formatted answer or the
+ * error shown instead of one.
+ * <p>
+ * Errors are returned rather than thrown, so batch evaluations with many invalid problems never pay for
+ * building an exception. A {@link Failure} is a constant, and {@link #orElseThrow()} turns it into a
+ * preallocated {@link MixedFractionException} without a stack trace where a caller still needs one, such as
+ * at the GUI boundary.
+ *
+ * @author Junsel Fabe
+ * @version 1
+ */
+public sealed interface EvaluationResult permits EvaluationResult.Success, EvaluationResult.Failure {
+
+    /**
+     * Gets the text shown for this result.
+     *
+     * @return The answer, or the error message.
+     */
+    String text();
+
+    /**
+     * Gets the answer, throwing the error if there is none.
+     *
+     * @return The answer.
+     * @throws MixedFractionException If the evaluation failed.
+     */
+    String orElseThrow() throws MixedFractionException;
+
+    /**
+     * The Success record holds the formatted answer of a problem and, when it is known, its exact value.
+     *
+     * @param answer The formatted answer.
+     * @param value  The exact value of the answer, or null if it was computed with double arithmetic.
+     */
+    record Success(String answer, Rational value) implements EvaluationResult {
+
+        /**
+         * Constructs a Success whose exact value is not known.
+         *
+         * @param answer The formatted answer.
+         */
+        public Success(String answer) {
+            this(answer, null);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String text() {
+            return answer;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String orElseThrow() {
+            return answer;
+        }
+    }
+
+    /**
+     * The Failure enum lists the errors a problem can evaluate to.
+     */
+    enum Failure implements EvaluationResult {
+
+        /**
+         * The problem is not a valid expression.
+         */
+        MATH_ERROR("Math Error"),
+
+        /**
+         * The value of the problem is undefined, such as after a division by zero.
+         */
+        UNDEFINED("Undefined"),
+
+        /**
+         * A value of the problem is too large for the evaluation budget.
+         */
+        OVERFLOW("Overflow"),
+
+        /**
+         * The problem has too many parts, is nested too deeply or takes too long for the evaluation budget.
+         */
+        TOO_COMPLEX("Too complex");
+
+        private final String message;
+        private final MixedFractionException exception;
+
+        /**
+         * Constructs a failure.
+         *
+         * @param message The message shown for the error.
+         */
+        Failure(String message) {
+            this.message = message;
+            this.exception = MixedFractionException.stackless(message);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String text() {
+            return message;
+        }
+
+        /**
+         * Throws the preallocated, stackless exception of this error.
+         *
+         * @return Never returns normally.
+         * @throws MixedFractionException Always.
+         */
+        @Override
+        public String orElseThrow() throws MixedFractionException {
+            throw exception;
+        }
+    }
+}
@@ -0,0 +1,412 @@
+package engine;
+
+import profiling.ConversionEvent;
+import profiling.EvaluateEvent;
+import profiling.NormalizeEvent;
+import profiling.OperationProfile;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The ExactCalculatorEngine class evaluates problems with exact rational arithmetic.
+ * <p>
+ * Problems are parsed and evaluated in a single pass by an {@link ExpressionParser}. Values are kept as exact
+ * {@link Rational} numbers, and only when one of them no longer fits is the problem evaluated again with
+ * double arithmetic. Every answer keeps the exact value it was formatted from, so a caller can continue a
+ * calculation from it. Recent answers are kept in a lock-free {@link ResultCache}, and the exact values of
+ * all answers can also be kept in a {@link PersistentResultCache}, which outlives the process. The engine
+ * holds no other state, so one instance can be shared by any number of threads.
+ * <p>
+ * Invalid problems and undefined values are returned as an {@link EvaluationResult.Failure}. The syntax and
+ * division-by-zero errors raised while parsing have no stack trace, so a problem that fails costs about as
+ * much as one that succeeds.
+ * <p>
+ * Because problems are no longer evaluated as Java double expressions by JShell, some answers differ from
+ * those of the original calculator:
+ * <ul>
+ *     <li>whole answers beyond the int range are shown in full as long as they fit in the 15 characters of
+ *     the input field, e.g. {@code 100000*100000} is 10000000000 where it was clamped to 2147483647;</li>
+ *     <li>longer answers are shown with as many decimals as fit, e.g. {@code 1000000000000+1/2} is
+ *     1000000000000.5, or in scientific notation when their whole part does not fit, e.g. {@code 2^62} is
+ *     4.6116860184E18;</li>
+ *     <li>a sign may follow an operator, e.g. {@code 5--3} is 8 where Java read {@code --} as a decrement
+ *     and reported Math Error;</li>
+ *     <li>every division by zero is Undefined, including {@code 0/0}, which was shown as NaN.</li>
+ * </ul>
+ * <p>
+ * Every evaluation is limited by an {@link EvaluationBudget}, shared by its exact and double attempts. A
+ * problem that exceeds it evaluates to {@link EvaluationResult.Failure#OVERFLOW} or
+ * {@link EvaluationResult.Failure#TOO_COMPLEX} as soon as the parser notices, so no problem holds a thread
+ * for longer than the budget allows.
+ *
+ * @author Junsel Fabe
+ * @version 1
+ */
+public class ExactCalculatorEngine implements CalculatorEngine {
+
+    /**
+     * The default number of cached answers.
+     */
+    public static final int DEFAULT_CACHE_SIZE = 4096;
+
+    private final ResultCache cache;
+    private final PersistentResultCache persistentCache;
+    private final EvaluationBudget budget;
+
+    /**
+     * Constructs an engine with the default cache size.
+     */
+    public ExactCalculatorEngine() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Constructs an engine with the specified cache size.
+     *
+     * @param cacheSize The number of cached answers, or 0 to cache nothing.
+     */
+    public ExactCalculatorEngine(int cacheSize) {
+        this(cacheSize, null);
+    }
+
+    /**
+     * Constructs an engine with the specified cache size, keeping the exact value of every answer in a
+     * persistent cache as well.
+     *
+     * @param cacheSize       The number of cached answers, or 0 to cache nothing.
+     * @param persistentCache The cache shared with other processes and restarts, or null to use none.
+     */
+    public ExactCalculatorEngine(int cacheSize, PersistentResultCache persistentCache) {
+        this(cacheSize, persistentCache, EvaluationBudget.DEFAULT);
+    }
+
+    /**
+     * Constructs an engine with the specified cache size, persistent cache and evaluation budget.
+     *
+     * @param cacheSize       The number of cached answers, or 0 to cache nothing.
+     * @param persistentCache The cache shared with other processes and restarts, or null to use none.
+     * @param budget          The limits of every evaluation.
+     */
+    public ExactCalculatorEngine(int cacheSize, PersistentResultCache persistentCache, EvaluationBudget budget) {
+        this.cache = new ResultCache(cacheSize);
+        this.persistentCache = persistentCache;
+        this.budget = budget;
+    }
+
+    /**
+     * Gets the cache of recent answers.
+     *
+     * @return The result cache.
+     */
+    public ResultCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Gets the cache that outlives the process.
+     *
+     * @return The persistent cache, or null if there is none.
+     */
+    public PersistentResultCache getPersistentCache() {
+        return persistentCache;
+    }
+
+    /**
+     * Gets the limits of every evaluation.
+     *
+     * @return The evaluation budget.
+     */
+    public EvaluationBudget getBudget() {
+        return budget;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public EvaluationResult evaluate(String problem, char character) {
+        return evaluate(problem, null, character);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The value is handed to the parser as the first operand, so only the continuation is parsed. Its
+     * answers are not cached, as the same continuation of another value has another answer.
+     */
+    @Override
+    public EvaluationResult continueFrom(Rational value, String continuation, char character) {
+        return evaluate(continuation, value, character);
+    }
+
+    /**
+     * Evaluates a problem, or the continuation of a value.
+     *
+     * @param problem   The problem, or the continuation if a leading value is given.
+     * @param leading   The value the problem continues, or null for a whole problem.
+     * @param character The character representing the type of calculation ('x' for multiplication, 'y' for other operations).
+     * @return The formatted answer with its exact value, or the error the problem evaluates to.
+     */
+    private EvaluationResult evaluate(String problem, Rational leading, char character) {
+        EvaluateEvent evaluateEvent = new EvaluateEvent();
+        evaluateEvent.begin();
+        long clock = OperationProfile.clock();
+        EvaluationResult.Success answer = leading == null ? cache.get(problem, character) : null;
+        if (answer == null && leading == null && persistentCache != null) {
+            Rational stored = persistentCache.get(problem);
+            if (stored != null) {
+                answer = new EvaluationResult.Success(ResultFormat.formatAnswer(stored, character), stored);
+                cache.put(problem, character, answer);
+            }
+        }
+        boolean cacheHit = answer != null;
+        if (leading == null) {
+            clock = OperationProfile.lap(OperationProfile.Stage.CACHE, clock);
+            OperationProfile.recordCacheHit(cacheHit);
+        }
+        int operandCount = 0;
+        try {
+            if (!cacheHit) {
+                double value;
+                Rational exact;
+                EvaluationBudget.Meter meter = budget.start();
+                try {
+                    ExpressionParser<Rational> parser = new ExpressionParser<>(problem, ExpressionBuilder.EXACT, meter);
+                    exact = leading == null ? parser.parse() : parser.parseAfter(leading);
+                    value = exact.toDecimal();
+                    operandCount = parser.getOperandCount();
+                } catch (EvaluationBudget.Exceeded exceeded) {
+                    throw exceeded;
+                } catch (ArithmeticException overflow) {
+                    ExpressionParser<Double> parser = new ExpressionParser<>(problem, ExpressionBuilder.DECIMAL, meter);
+                    value = leading == null ? parser.parse() : parser.parseAfter(leading.toDecimal());
+                    exact = null;
+                    operandCount = parser.getOperandCount();
+                }
+                clock = OperationProfile.lap(OperationProfile.Stage.EVALUATE, clock);
+                if (Double.isNaN(value) || Double.isInfinite(value)) {
+                    return EvaluationResult.Failure.UNDEFINED;
+                }
+                String text = exact != null ? ResultFormat.formatAnswer(exact, character) : ResultFormat.formatAnswer(value, character);
+                answer = new EvaluationResult.Success(text, exact);
+                OperationProfile.lap(OperationProfile.Stage.FORMAT, clock);
+                if (leading == null) {
+                    cache.put(problem, character, answer);
+                    if (persistentCache != null && exact != null) {
+                        persistentCache.put(problem, exact);
+                    }
+                }
+            }
+            return answer;
+        } catch (EvaluationBudget.Exceeded exceeded) {
+            return exceeded.failure();
+        } catch (IllegalArgumentException | ArithmeticException exception) {
+            return EvaluationResult.Failure.MATH_ERROR;
+        } finally {
+            if (evaluateEvent.shouldCommit()) {
+                evaluateEvent.expressionLength = problem.length();
+                evaluateEvent.operandCount = operandCount;
+                evaluateEvent.valid = answer != null;
+                evaluateEvent.cacheHit = cacheHit;
+                evaluateEvent.commit();
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Superscript and subscript digits are replaced with plain digits and the ÷ sign with '/'. A diagonal
+     * fraction becomes {@code (n/d)} and a mixed number {@code (w+n/d)}, so it keeps its value next to any
+     * operator.
+     */
+    @Override
+    public String calculateFraction(String problem) {
+        NormalizeEvent normalizeEvent = new NormalizeEvent();
+        normalizeEvent.begin();
+        StringBuilder answer = new StringBuilder(problem.length() + 8);
+        int i = 0;
+        while (i < problem.length()) {
+            char character = problem.charAt(i);
+            int slash = fractionSlashAfterNumerator(problem, i);
+            if (slash >= 0) {
+                int end = answer.length();
+                while (end > 0 && answer.charAt(end - 1) == ' ') {
+                    end--;
+                }
+                int wholeStart = end;
+                while (wholeStart > 0 && isDigit(answer.charAt(wholeStart - 1))) {
+                    wholeStart--;
+                }
+                if (wholeStart < end && (wholeStart == 0 || answer.charAt(wholeStart - 1) != '.')) {
+                    answer.setLength(end);
+                    answer.insert(wholeStart, '(').append('+');
+                } else {
+                    answer.append('(');
+                }
+                for (; i < slash; i++) {
+                    answer.append((char) ('0' + DiagonalFraction.superscriptValue(problem.charAt(i))));
+                }
+                answer.append('/');
+                for (i = slash + 1; i < problem.length() && DiagonalFraction.subscriptValue(problem.charAt(i)) >= 0; i++) {
+                    answer.append((char) ('0' + DiagonalFraction.subscriptValue(problem.charAt(i))));
+                }
+                answer.append(')');
+            } else {
+                int superscript = DiagonalFraction.superscriptValue(character);
+                int subscript = DiagonalFraction.subscriptValue(character);
+                if (superscript >= 0) {
+                    answer.append((char) ('0' + superscript));
+                } else if (subscript >= 0) {
+                    answer.append((char) ('0' + subscript));
+                } else if (character == '÷' || character == DiagonalFraction.FRACTION_SLASH) {
+                    answer.append('/');
+                } else {
+                    answer.append(character);
+                }
+                i++;
+            }
+        }
+        if (normalizeEvent.shouldCommit()) {
+            normalizeEvent.inputLength = problem.length();
+            normalizeEvent.outputLength = answer.length();
+            normalizeEvent.commit();
+        }
+        return answer.toString();
+    }
+
+    /**
+     * Finds the fraction slash of a diagonal fraction starting at the specified position.
+     *
+     * @param problem The expression.
+     * @param start   The position of the first numerator digit.
+     * @return The position of the fraction slash, or -1 if no complete diagonal fraction starts there.
+     */
+    private static int fractionSlashAfterNumerator(String problem, int start) {
+        int i = start;
+        while (i < problem.length() && DiagonalFraction.superscriptValue(problem.charAt(i)) >= 0) {
+            i++;
+        }
+        if (i == start || i + 1 >= problem.length() || problem.charAt(i) != DiagonalFraction.FRACTION_SLASH
+                || DiagonalFraction.subscriptValue(problem.charAt(i + 1)) < 0) {
+            return -1;
+        }
+        return i;
+    }
+
+    /**
+     * Checks whether a character is an ASCII digit.
+     *
+     * @param character The character.
+     * @return true if the character is between '0' and '9'.
+     */
+    private static boolean isDigit(char character) {
+        return character >= '0' && character <= '9';
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String decimalToMixedFraction(double decimal) {
+        if (!(Math.abs(decimal) <= Integer.MAX_VALUE)) {
+            // the whole part would not fit in an int, and NaN or infinity have no digits to convert
+            return ResultFormat.formatAnswer(decimal, 'x');
+        }
+        ConversionEvent conversionEvent = new ConversionEvent();
+        conversionEvent.begin();
+        String answer;
+        int whole = (int) decimal;
+        double fractionalPart = decimal - whole;
+        int numerator = 0;
+        int denominator = 1;
+        boolean isRepeating = false;
+
+        for (int i = 1; i <= 12; i++) {
+            double multiplied = fractionalPart * Math.pow(10, i);
+            int digit = (int) Math.floor(multiplied) % 10;
+            if (digit == 0 && i > 1) {
+                numerator = (int) (fractionalPart * Math.pow(10, i));
+                denominator = (int) Math.pow(10, i);
+                break;
+            }
+            if (i == 12) {
+                isRepeating = true;
+                break;
+            }
+        }
+
+        if (isRepeating) {
+            StringBuilder result = new StringBuilder();
+            result.append(whole).append(".");
+            List<Integer> pattern = new ArrayList<>();
+            Map<Integer, Integer> seen = new HashMap<>();
+            int currentIndex = 0;
+
+            while (!seen.containsKey(currentIndex)) {
+                int currentDigit = (int) Math.floor(fractionalPart * 10);
+                pattern.add(currentDigit);
+                seen.put(currentIndex, currentDigit);
+                fractionalPart = fractionalPart * 10 - currentDigit;
+                currentIndex++;
+                if (fractionalPart == 0) {
+                    break;
+                }
+            }
+
+            if (fractionalPart != 0) {
+                int repeatIndex = seen.get(currentIndex);
+                pattern.add(currentIndex, repeatIndex);
+            }
+
+            for (int i = 0; i < pattern.size(); i++) {
+                if (i == currentIndex) {
+                    result.append("(");
+                }
+                result.append(pattern.get(i));
+                if (i == pattern.size() - 1) {
+                    result.append(")");
+                }
+            }
+
+            answer = new DoubleFormatter().fixed(Double.parseDouble(result.toString().replace(")", "")), 3).toString();
+        } else if (numerator == 0) {
+            answer = Integer.toString(whole);
+        } else {
+            int gcd = findGCD(numerator, denominator);
+            numerator /= gcd;
+            denominator /= gcd;
+            if (whole == 0) {
+                answer = DiagonalFraction.format(numerator, denominator);
+            } else {
+                answer = whole + DiagonalFraction.format(numerator, denominator);
+            }
+        }
+
+        if (conversionEvent.shouldCommit()) {
+            conversionEvent.decimal = decimal;
+            conversionEvent.repeating = isRepeating;
+            conversionEvent.commit();
+        }
+        return answer;
+    }
+
+    /**
+     * Finds the greatest common divisor (GCD) of two integers using the Euclidean algorithm.
+     *
+     * @param a The first integer.
+     * @param b The second integer.
+     * @return The GCD of the two integers.
+     */
+    private static int findGCD(int a, int b) {
+        if (b == 0) {
+            return a;
+        } else {
+            return findGCD(b, a % b);
+        }
+
+    }
+}
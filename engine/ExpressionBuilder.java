@@ -0,0 +1,245 @@
+package engine;
+
+/**
+ * The ExpressionBuilder interface receives the parts of an expression from the {@link ExpressionParser} in
+ * evaluation order and combines them into a result, such as a value or a tree.
+ * <p>
+ * The builders provided here are stateless and can be shared by any number of threads.
+ *
+ * @param <T> the type of the results combined by the builder
+ * @author Junsel Fabe
+ * @version 1
+ */
+public interface ExpressionBuilder<T> {
+
+    /**
+     * Builds exact values. Its operations throw an {@link ArithmeticException} on division by zero, when
+     * a value does not fit, or when a power or square root is irrational.
+     */
+    ExpressionBuilder<Rational> EXACT = new ExpressionBuilder<>() {
+        @Override
+        public Rational number(long unscaled, int scale) {
+            long denominator = 1;
+            for (int i = 0; i < scale; i++) {
+                denominator = Math.multiplyExact(denominator, 10);
+            }
+            return Rational.of(unscaled, denominator);
+        }
+
+        @Override
+        public Rational fraction(long whole, long numerator, long denominator) {
+            return Rational.of(Math.addExact(Math.multiplyExact(whole, denominator), numerator), denominator);
+        }
+
+        @Override
+        public Rational negate(Rational operand) {
+            return operand.negate();
+        }
+
+        @Override
+        public Rational add(Rational left, Rational right) {
+            return left.add(right);
+        }
+
+        @Override
+        public Rational subtract(Rational left, Rational right) {
+            return left.subtract(right);
+        }
+
+        @Override
+        public Rational multiply(Rational left, Rational right) {
+            return left.multiply(right);
+        }
+
+        @Override
+        public Rational divide(Rational left, Rational right) {
+            return left.divide(right);
+        }
+
+        @Override
+        public Rational power(Rational base, Rational exponent) {
+            if (!exponent.isInteger()) {
+                throw new ArithmeticException("Exponent is not a whole number");
+            }
+            return base.pow(exponent.getNumerator());
+        }
+
+        @Override
+        public Rational sqrt(Rational operand) {
+            return operand.sqrt();
+        }
+
+        @Override
+        public int bitLength(Rational value) {
+            return 64 - Long.numberOfLeadingZeros(Math.abs(value.getNumerator() / value.getDenominator()));
+        }
+    };
+
+    /**
+     * Builds double values. Division by zero, including a power of zero with a negative exponent, results in
+     * NaN, so an infinity always is a value too large to represent.
+     */
+    ExpressionBuilder<Double> DECIMAL = new ExpressionBuilder<>() {
+        @Override
+        public Double number(long unscaled, int scale) {
+            return unscaled / Math.pow(10, scale);
+        }
+
+        @Override
+        public Double approximate(double value) {
+            return value;
+        }
+
+        @Override
+        public Double fraction(long whole, long numerator, long denominator) {
+            return whole + (double) numerator / denominator;
+        }
+
+        @Override
+        public Double negate(Double operand) {
+            return -operand;
+        }
+
+        @Override
+        public Double add(Double left, Double right) {
+            return left + right;
+        }
+
+        @Override
+        public Double subtract(Double left, Double right) {
+            return left - right;
+        }
+
+        @Override
+        public Double multiply(Double left, Double right) {
+            return left * right;
+        }
+
+        @Override
+        public Double divide(Double left, Double right) {
+            return right == 0 ? Double.NaN : left / right;
+        }
+
+        @Override
+        public Double power(Double base, Double exponent) {
+            return base == 0 && exponent < 0 ? Double.NaN : Math.pow(base, exponent);
+        }
+
+        @Override
+        public Double sqrt(Double operand) {
+            return Math.sqrt(operand);
+        }
+
+        @Override
+        public int bitLength(Double value) {
+            double magnitude = Math.abs(value);
+            if (Double.isInfinite(magnitude)) {
+                return Integer.MAX_VALUE;
+            }
+            return magnitude < 1 || Double.isNaN(magnitude) ? 0 : Math.getExponent(magnitude) + 1;
+        }
+    };
+
+    /**
+     * Builds a number written with decimal digits.
+     *
+     * @param unscaled The digits of the number without the decimal point.
+     * @param scale    The number of digits after the decimal point.
+     * @return The number unscaled / 10^scale.
+     */
+    T number(long unscaled, int scale);
+
+    /**
+     * Builds a number written with more digits than fit in a long. The default implementation cannot
+     * represent it, so the problem is evaluated again by a builder that can.
+     *
+     * @param value The number, rounded to the nearest double.
+     * @return The number.
+     * @throws ArithmeticException If the builder cannot represent the number.
+     */
+    default T approximate(double value) {
+        throw new ArithmeticException("Number has too many digits");
+    }
+
+    /**
+     * Builds a diagonal fraction or mixed number.
+     *
+     * @param whole       The whole part, 0 if there is none.
+     * @param numerator   The numerator of the fraction part.
+     * @param denominator The denominator of the fraction part.
+     * @return The number whole + numerator / denominator.
+     */
+    T fraction(long whole, long numerator, long denominator);
+
+    /**
+     * Builds the negation of an operand.
+     *
+     * @param operand The operand.
+     * @return The negated operand.
+     */
+    T negate(T operand);
+
+    /**
+     * Builds the sum of two operands.
+     *
+     * @param left  The left operand.
+     * @param right The right operand.
+     * @return The sum.
+     */
+    T add(T left, T right);
+
+    /**
+     * Builds the difference of two operands.
+     *
+     * @param left  The left operand.
+     * @param right The right operand.
+     * @return The difference.
+     */
+    T subtract(T left, T right);
+
+    /**
+     * Builds the product of two operands.
+     *
+     * @param left  The left operand.
+     * @param right The right operand.
+     * @return The product.
+     */
+    T multiply(T left, T right);
+
+    /**
+     * Builds the quotient of two operands.
+     *
+     * @param left  The left operand.
+     * @param right The right operand.
+     * @return The quotient.
+     */
+    T divide(T left, T right);
+
+    /**
+     * Builds a power.
+     *
+     * @param base     The base.
+     * @param exponent The exponent.
+     * @return The base raised to the exponent.
+     */
+    T power(T base, T exponent);
+
+    /**
+     * Builds a square root.
+     *
+     * @param operand The operand.
+     * @return The square root of the operand.
+     */
+    T sqrt(T operand);
+
+    /**
+     * Measures the size of a result, so an {@link EvaluationBudget} can limit it. Results that are not
+     * numbers have no size.
+     *
+     * @param value The result.
+     * @return The number of bits of the whole part of the value, 0 by default.
+     */
+    default int bitLength(T value) {
+        return 0;
+    }
+}
@@ -0,0 +1,385 @@
+package engine;
+
+/**
+ * The ExpressionParser class parses an expression in a single pass and hands its parts to an
+ * {@link ExpressionBuilder}.
+ * <p>
+ * It understands the syntax of the input field as well as plain arithmetic: whole and decimal numbers,
+ * diagonal fractions written with superscript and subscript digits, mixed numbers written as a whole number
+ * followed by a diagonal fraction, the operators {@code + - * / ÷ ^}, the square root {@code √}, unary signs and
+ * parentheses. A square root applies to the number or parenthesized expression right after it. Powers bind
+ * tighter than unary signs, so -2^2 is -4, and are applied from right to left. Multiplication and division
+ * bind tighter than addition and subtraction, and operators of the same precedence are applied from left to
+ * right.
+ * <p>
+ * An expression can also continue a value computed before, such as {@code *2+1} after a previous answer.
+ * The value then stands in front of the text as a single operand, as if it were parenthesized, so it is
+ * never lexed again and is raised to a power as a whole.
+ * <p>
+ * Every operand and operation is measured against an {@link EvaluationBudget}, which ends the parse with an
+ * {@link EvaluationBudget.Exceeded} exception when the expression is too large, too deeply nested, too slow
+ * or has too large a value.
+ * <p>
+ * A parser is used for one expression by one thread.
+ *
+ * @param <T> the type of the results combined by the builder
+ * @author Junsel Fabe
+ * @version 1
+ */
+public final class ExpressionParser<T> {
+
+    private final CharSequence text;
+    private final ExpressionBuilder<T> builder;
+    private final EvaluationBudget.Meter meter;
+    private int position;
+    private int operandCount;
+    private int depth;
+    private T leading;
+
+    /**
+     * Constructs a parser for the specified expression with the {@link EvaluationBudget#DEFAULT default budget}.
+     *
+     * @param text    The expression.
+     * @param builder The builder the parts of the expression are handed to.
+     */
+    public ExpressionParser(CharSequence text, ExpressionBuilder<T> builder) {
+        this(text, builder, EvaluationBudget.DEFAULT.start());
+    }
+
+    /**
+     * Constructs a parser for the specified expression that measures its work with the specified meter.
+     *
+     * @param text    The expression.
+     * @param builder The builder the parts of the expression are handed to.
+     * @param meter   The meter of the evaluation budget.
+     */
+    public ExpressionParser(CharSequence text, ExpressionBuilder<T> builder, EvaluationBudget.Meter meter) {
+        this.text = text;
+        this.builder = builder;
+        this.meter = meter;
+    }
+
+    /**
+     * Parses the whole expression.
+     *
+     * @return The result the builder made of the expression.
+     * @throws IllegalArgumentException  If the expression is not valid.
+     * @throws EvaluationBudget.Exceeded If the expression exceeds the evaluation budget.
+     * @throws ArithmeticException       If the builder cannot represent a value.
+     */
+    public T parse() {
+        T result = expression();
+        skipSpaces();
+        if (position < text.length()) {
+            throw error("Unexpected character");
+        }
+        return result;
+    }
+
+    /**
+     * Parses the whole expression as the continuation of a value, which stands in front of the text as its
+     * first operand. The text starts with the operator applied to the value.
+     *
+     * @param value The value the expression continues.
+     * @return The result the builder made of the value and the expression.
+     * @throws IllegalArgumentException  If the value followed by the expression is not valid.
+     * @throws EvaluationBudget.Exceeded If the expression exceeds the evaluation budget.
+     * @throws ArithmeticException       If the builder cannot represent a value.
+     */
+    public T parseAfter(T value) {
+        leading = value;
+        return parse();
+    }
+
+    /**
+     * Gets the number of operands parsed so far.
+     *
+     * @return The number of numbers and fractions in the expression.
+     */
+    public int getOperandCount() {
+        return operandCount;
+    }
+
+    /**
+     * Parses a sum or difference of terms.
+     *
+     * @return The result of the terms.
+     */
+    private T expression() {
+        T result = term();
+        while (true) {
+            skipSpaces();
+            if (accept('+')) {
+                result = measure(builder.add(result, term()));
+            } else if (accept('-')) {
+                result = measure(builder.subtract(result, term()));
+            } else {
+                return result;
+            }
+        }
+    }
+
+    /**
+     * Parses a product or quotient of factors.
+     *
+     * @return The result of the factors.
+     */
+    private T term() {
+        T result = factor();
+        while (true) {
+            skipSpaces();
+            if (accept('*')) {
+                result = measure(builder.multiply(result, factor()));
+            } else if (accept('/') || accept('÷')) {
+                result = measure(builder.divide(result, factor()));
+            } else {
+                return result;
+            }
+        }
+    }
+
+    /**
+     * Parses an operand with optional unary signs.
+     *
+     * @return The result of the operand.
+     */
+    private T factor() {
+        meter.checkDepth(++depth);
+        skipSpaces();
+        T result;
+        if (leading != null) {
+            result = power();
+        } else if (accept('-')) {
+            result = measure(builder.negate(factor()));
+        } else if (accept('+')) {
+            result = factor();
+        } else {
+            result = power();
+        }
+        depth--;
+        return result;
+    }
+
+    /**
+     * Parses an operand raised to an optional power. The exponent may have unary signs and powers of its own.
+     *
+     * @return The result of the power.
+     */
+    private T power() {
+        T base = primary();
+        skipSpaces();
+        if (accept('^')) {
+            return measure(builder.power(base, factor()));
+        }
+        return base;
+    }
+
+    /**
+     * Parses a number, a parenthesized expression or a square root.
+     *
+     * @return The result of the operand.
+     */
+    private T primary() {
+        skipSpaces();
+        if (leading != null) {
+            T value = leading;
+            leading = null;
+            operandCount++;
+            return measure(value);
+        } else if (accept('(')) {
+            T result = expression();
+            skipSpaces();
+            if (!accept(')')) {
+                throw error("Missing closing parenthesis");
+            }
+            return result;
+        } else if (accept('√')) {
+            meter.checkDepth(++depth);
+            T operand = primary();
+            depth--;
+            return measure(builder.sqrt(operand));
+        } else if (position < text.length() && isDigit(text.charAt(position))) {
+            return number();
+        } else if (position < text.length() && DiagonalFraction.superscriptValue(text.charAt(position)) >= 0) {
+            operandCount++;
+            return diagonalFraction(0);
+        }
+        throw error("Expected a number");
+    }
+
+    /**
+     * Parses a whole number, a decimal number or a mixed number. A number with more digits than fit in a
+     * long is handed to the builder as the nearest double.
+     *
+     * @return The result of the number.
+     * @throws ArithmeticException If the whole part of a mixed number does not fit in a long.
+     */
+    private T number() {
+        operandCount++;
+        int start = position;
+        long unscaled = digits(0);
+        if (accept('.')) {
+            int fractionStart = position;
+            unscaled = digits(unscaled);
+            return measure(unscaled >= 0 ? builder.number(unscaled, position - fractionStart) : approximate(start));
+        }
+        int end = position;
+        skipSpaces();
+        if (position < text.length() && DiagonalFraction.superscriptValue(text.charAt(position)) >= 0) {
+            if (unscaled < 0) {
+                throw new ArithmeticException("Whole part has too many digits");
+            }
+            return diagonalFraction(unscaled);
+        }
+        position = end;
+        return measure(unscaled >= 0 ? builder.number(unscaled, 0) : approximate(start));
+    }
+
+    /**
+     * Reads a run of ASCII digits and appends them to a number.
+     *
+     * @param number The number read so far, or -1 if it no longer fits in a long.
+     * @return The number with the digits appended, or -1 if it no longer fits in a long.
+     */
+    private long digits(long number) {
+        while (position < text.length() && isDigit(text.charAt(position))) {
+            int digit = text.charAt(position++) - '0';
+            number = number < 0 || number > (Long.MAX_VALUE - digit) / 10 ? -1 : number * 10 + digit;
+        }
+        return number;
+    }
+
+    /**
+     * Builds a number that has too many digits for a long from its text.
+     *
+     * @param start The position of its first digit; the number ends at the current position.
+     * @return The result of the number.
+     */
+    private T approximate(int start) {
+        return builder.approximate(Double.parseDouble(text.subSequence(start, position).toString()));
+    }
+
+    /**
+     * Parses a diagonal fraction.
+     *
+     * @param whole The whole part written before the fraction, 0 if there is none.
+     * @return The result of the fraction.
+     */
+    private T diagonalFraction(long whole) {
+        long numerator = 0;
+        int digit;
+        while (position < text.length() && (digit = DiagonalFraction.superscriptValue(text.charAt(position))) >= 0) {
+            numerator = appendDigit(numerator, digit);
+            position++;
+        }
+        if (!accept(DiagonalFraction.FRACTION_SLASH)) {
+            throw error("Expected a fraction slash");
+        }
+        int start = position;
+        long denominator = 0;
+        while (position < text.length() && (digit = DiagonalFraction.subscriptValue(text.charAt(position))) >= 0) {
+            denominator = appendDigit(denominator, digit);
+            position++;
+        }
+        if (position == start) {
+            throw error("Expected a denominator");
+        }
+        return measure(builder.fraction(whole, numerator, denominator));
+    }
+
+    /**
+     * Counts a part of the expression against the budget and checks the size of its value.
+     *
+     * @param value The value of the part.
+     * @return The value.
+     * @throws EvaluationBudget.Exceeded If the expression has too many parts or the value is too large.
+     */
+    private T measure(T value) {
+        meter.step();
+        meter.checkBits(builder.bitLength(value));
+        return value;
+    }
+
+    /**
+     * Skips the next character if it is the specified one.
+     *
+     * @param character The expected character.
+     * @return true if the character was skipped.
+     */
+    private boolean accept(char character) {
+        if (position < text.length() && text.charAt(position) == character) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Skips whitespace.
+     */
+    private void skipSpaces() {
+        while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+            position++;
+        }
+    }
+
+    /**
+     * Creates the exception for an invalid expression.
+     *
+     * @param message What was wrong at the current position.
+     * @return The exception to be thrown.
+     */
+    private IllegalArgumentException error(String message) {
+        return new SyntaxError(message + " at position " + position);
+    }
+
+    /**
+     * Checks whether a character is an ASCII digit.
+     *
+     * @param character The character.
+     * @return true if the character is between '0' and '9'.
+     */
+    private static boolean isDigit(char character) {
+        return character >= '0' && character <= '9';
+    }
+
+    /**
+     * Appends a decimal digit to a number.
+     *
+     * @param number The number.
+     * @param digit  The digit to be appended.
+     * @return The number with the digit appended.
+     * @throws ArithmeticException If the number does not fit in a long.
+     */
+    private static long appendDigit(long number, int digit) {
+        return Math.addExact(Math.multiplyExact(number, 10), digit);
+    }
+
+    /**
+     * The SyntaxError class is the exception for an invalid expression. Invalid input is common and is
+     * reported by position, so no stack trace is filled in.
+     */
+    private static final class SyntaxError extends IllegalArgumentException {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Constructs a SyntaxError.
+         *
+         * @param message What was wrong and where.
+         */
+        private SyntaxError(String message) {
+            super(message);
+        }
+
+        /**
+         * Skips filling in the stack trace.
+         *
+         * @return This exception.
+         */
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
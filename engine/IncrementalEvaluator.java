@@ -0,0 +1,441 @@
+package engine;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The IncrementalEvaluator class evaluates an expression one character at a time, as it is typed into the
+ * input field.
+ * <p>
+ * It understands the same syntax as the input field: whole and decimal numbers, the operators
+ * {@code + - * /}, a leading minus sign, and diagonal fractions written with superscript and subscript
+ * digits, either alone or after a whole number as a mixed number. The exact value of every completed term
+ * is accumulated, so appending a character only re-evaluates the last term. One state is kept per
+ * character, so removing the last character restores the previous state without re-evaluating anything.
+ * <p>
+ * Expressions with powers or square roots are not evaluated incrementally. While the expression contains
+ * {@code ^} or {@code √}, its value is computed by parsing it whole with an {@link ExpressionParser}.
+ * <p>
+ * The evaluator can be seeded with a previous answer and its exact value. While the expression is that
+ * answer followed by a {@link CalculatorEngine#isContinuation(Rational, String) continuation}, its value is
+ * computed by parsing the continuation from the exact value, as the engine does, rather than from the
+ * rounded text of the answer.
+ * <p>
+ * An IncrementalEvaluator is not thread-safe and is meant to be confined to a single thread.
+ *
+ * @author Junsel Fabe
+ * @version 1
+ */
+public class IncrementalEvaluator {
+
+    private final List<State> states = new ArrayList<>();
+    private final StringBuilder text = new StringBuilder();
+    private int parsedOperators;
+    private String seedText;
+    private Rational seedValue;
+
+    /**
+     * Constructs an IncrementalEvaluator for an empty expression.
+     */
+    public IncrementalEvaluator() {
+        states.add(State.START);
+    }
+
+    /**
+     * Appends a character to the expression.
+     *
+     * @param character The character to be appended.
+     */
+    public void push(char character) {
+        states.add(states.get(states.size() - 1).accept(character));
+        text.append(character);
+        if (isParsedOperator(character)) {
+            parsedOperators++;
+        }
+    }
+
+    /**
+     * Removes the last character of the expression, restoring the state before it was appended.
+     */
+    public void pop() {
+        if (text.length() > 0) {
+            states.remove(states.size() - 1);
+            if (isParsedOperator(text.charAt(text.length() - 1))) {
+                parsedOperators--;
+            }
+            text.setLength(text.length() - 1);
+        }
+    }
+
+    /**
+     * Removes every character of the expression.
+     */
+    public void clear() {
+        states.subList(1, states.size()).clear();
+        text.setLength(0);
+        parsedOperators = 0;
+    }
+
+    /**
+     * Brings the expression up to date with the specified text. Only the characters after the common
+     * prefix of the current expression and the text are removed and appended.
+     *
+     * @param newText The new text of the expression.
+     */
+    public void update(CharSequence newText) {
+        int common = 0;
+        int limit = Math.min(text.length(), newText.length());
+        while (common < limit && text.charAt(common) == newText.charAt(common)) {
+            common++;
+        }
+        while (text.length() > common) {
+            pop();
+        }
+        for (int i = common; i < newText.length(); i++) {
+            push(newText.charAt(i));
+        }
+    }
+
+    /**
+     * Seeds the evaluator with a previous answer, or removes the seed.
+     *
+     * @param answer The text of the answer, or null to remove the seed.
+     * @param value  The exact value of the answer, or null to remove the seed.
+     */
+    public void seed(String answer, Rational value) {
+        this.seedText = value == null ? null : answer;
+        this.seedValue = answer == null ? null : value;
+    }
+
+    /**
+     * Gets the current expression.
+     *
+     * @return The characters appended so far.
+     */
+    public String getText() {
+        return text.toString();
+    }
+
+    /**
+     * Checks whether the expression contains an operator between two operands.
+     *
+     * @return true if an operator has been applied.
+     */
+    public boolean hasOperator() {
+        return parsedOperators > 0 || states.get(states.size() - 1).hasOperator;
+    }
+
+    /**
+     * Evaluates the expression typed so far. A trailing operator or an unfinished fraction is ignored,
+     * so the value is the one of the longest complete prefix.
+     *
+     * @return The exact value of the expression, or null if it has no value.
+     */
+    public Rational value() {
+        try {
+            String continuation = continuation();
+            if (continuation != null) {
+                return parseValue(continuation, seedValue);
+            } else if (parsedOperators > 0) {
+                return parseValue(text, null);
+            }
+            return states.get(states.size() - 1).value();
+        } catch (ArithmeticException exception) {
+            return null;
+        }
+    }
+
+    /**
+     * Finds the part of the expression that continues the seeded answer.
+     *
+     * @return The text after the answer if the expression starts with it followed by a continuation, or null.
+     */
+    private String continuation() {
+        if (seedValue == null || text.length() <= seedText.length()
+                || !seedText.contentEquals(text.subSequence(0, seedText.length()))) {
+            return null;
+        }
+        String continuation = text.substring(seedText.length());
+        return CalculatorEngine.isContinuation(seedValue, continuation) ? continuation : null;
+    }
+
+    /**
+     * Parses an expression, or the continuation of a value, ignoring trailing operators and spaces.
+     *
+     * @param expression The expression, or the continuation if a leading value is given.
+     * @param leading    The value the expression continues, or null for a whole expression.
+     * @return The exact value of the expression, or null if it is not valid.
+     * @throws ArithmeticException If the value cannot be represented exactly.
+     */
+    private static Rational parseValue(CharSequence expression, Rational leading) {
+        int end = expression.length();
+        while (end > 0 && "+-*/^√ ".indexOf(expression.charAt(end - 1)) >= 0) {
+            end--;
+        }
+        try {
+            ExpressionParser<Rational> parser = new ExpressionParser<>(expression.subSequence(0, end), ExpressionBuilder.EXACT);
+            return leading == null ? parser.parse() : parser.parseAfter(leading);
+        } catch (IllegalArgumentException exception) {
+            return null;
+        }
+    }
+
+    /**
+     * Checks whether a character is an operator that is only supported by parsing the whole expression.
+     *
+     * @param character The character.
+     * @return true if the character is ^ or √.
+     */
+    private static boolean isParsedOperator(char character) {
+        return character == '^' || character == '√';
+    }
+
+    /**
+     * The State class holds the partial parse of an expression after one character. States are immutable,
+     * so the state of every prefix can be kept and restored.
+     */
+    private static final class State {
+
+        private static final int OPERAND = 0;
+        private static final int INTEGER = 1;
+        private static final int DECIMAL = 2;
+        private static final int WHOLE = 3;
+        private static final int NUMERATOR = 4;
+        private static final int SLASH = 5;
+        private static final int DENOMINATOR = 6;
+        private static final int ERROR = 7;
+
+        private static final State START = new State(Rational.ZERO, 1, null, (char) 0, false,
+                OPERAND, false, 0, 0, 0, 0, false);
+        private static final State INVALID = new State(Rational.ZERO, 1, null, (char) 0, false,
+                ERROR, false, 0, 0, 0, 0, false);
+
+        private final Rational sum;
+        private final int sign;
+        private final Rational product;
+        private final char operator;
+        private final boolean hasOperator;
+        private final int phase;
+        private final boolean negative;
+        private final long whole;
+        private final int scale;
+        private final long numerator;
+        private final long denominator;
+        private final boolean hasTerm;
+
+        /**
+         * Constructs a state.
+         *
+         * @param sum         The value of the completed terms.
+         * @param sign        The sign of the current term.
+         * @param product     The value of the completed factors of the current term, or null if there are none.
+         * @param operator    The pending multiplication or division operator, or 0 if there is none.
+         * @param hasOperator Whether an operator has been applied between two operands.
+         * @param phase       What the current operand is expecting next.
+         * @param negative    Whether the current operand has a leading minus sign.
+         * @param whole       The digits of the whole part of the current operand.
+         * @param scale       The number of decimal digits in the whole part of the current operand.
+         * @param numerator   The digits of the superscript numerator of the current operand.
+         * @param denominator The digits of the subscript denominator of the current operand.
+         * @param hasTerm     Whether a complete operand has been seen.
+         */
+        private State(Rational sum, int sign, Rational product, char operator, boolean hasOperator, int phase,
+                      boolean negative, long whole, int scale, long numerator, long denominator, boolean hasTerm) {
+            this.sum = sum;
+            this.sign = sign;
+            this.product = product;
+            this.operator = operator;
+            this.hasOperator = hasOperator;
+            this.phase = phase;
+            this.negative = negative;
+            this.whole = whole;
+            this.scale = scale;
+            this.numerator = numerator;
+            this.denominator = denominator;
+            this.hasTerm = hasTerm;
+        }
+
+        /**
+         * Computes the state after the specified character.
+         *
+         * @param character The appended character.
+         * @return The next state.
+         */
+        private State accept(char character) {
+            try {
+                return next(character);
+            } catch (ArithmeticException exception) {
+                return INVALID;
+            }
+        }
+
+        /**
+         * Computes the state after the specified character.
+         *
+         * @param character The appended character.
+         * @return The next state.
+         * @throws ArithmeticException If an operand does not fit or a division by zero is completed.
+         */
+        private State next(char character) {
+            int digit = character - '0';
+            int superscript = DiagonalFraction.superscriptValue(character);
+            int subscript = DiagonalFraction.subscriptValue(character);
+            switch (phase) {
+                case OPERAND:
+                    if (digit >= 0 && digit <= 9) {
+                        return withOperand(INTEGER, digit, 0, 0, 0);
+                    } else if (superscript >= 0) {
+                        return withOperand(NUMERATOR, 0, 0, superscript, 0);
+                    } else if (character == '-' && !negative) {
+                        return new State(sum, sign, product, operator, hasOperator, OPERAND, true, 0, 0, 0, 0, hasTerm);
+                    } else if (character == ' ') {
+                        return this;
+                    }
+                    return INVALID;
+                case INTEGER:
+                    if (digit >= 0 && digit <= 9) {
+                        return withOperand(INTEGER, appendDigit(whole, digit), 0, 0, 0);
+                    } else if (character == '.') {
+                        return withOperand(DECIMAL, whole, 0, 0, 0);
+                    } else if (character == ' ') {
+                        return withOperand(WHOLE, whole, 0, 0, 0);
+                    }
+                    return applyOperator(character);
+                case DECIMAL:
+                    if (digit >= 0 && digit <= 9) {
+                        return withOperand(DECIMAL, appendDigit(whole, digit), scale + 1, 0, 0);
+                    }
+                    return applyOperator(character);
+                case WHOLE:
+                    if (superscript >= 0) {
+                        return withOperand(NUMERATOR, whole, 0, superscript, 0);
+                    } else if (character == ' ') {
+                        return this;
+                    }
+                    return applyOperator(character);
+                case NUMERATOR:
+                    if (superscript >= 0) {
+                        return withOperand(NUMERATOR, whole, 0, appendDigit(numerator, superscript), 0);
+                    } else if (character == DiagonalFraction.FRACTION_SLASH) {
+                        return withOperand(SLASH, whole, 0, numerator, 0);
+                    }
+                    return INVALID;
+                case SLASH:
+                    if (subscript >= 0) {
+                        return withOperand(DENOMINATOR, whole, 0, numerator, subscript);
+                    }
+                    return INVALID;
+                case DENOMINATOR:
+                    if (subscript >= 0) {
+                        return withOperand(DENOMINATOR, whole, 0, numerator, appendDigit(denominator, subscript));
+                    }
+                    return applyOperator(character);
+                default:
+                    return INVALID;
+            }
+        }
+
+        /**
+         * Creates a state with the same completed terms and a different current operand.
+         *
+         * @param newPhase       What the operand is expecting next.
+         * @param newWhole       The digits of the whole part.
+         * @param newScale       The number of decimal digits in the whole part.
+         * @param newNumerator   The digits of the superscript numerator.
+         * @param newDenominator The digits of the subscript denominator.
+         * @return The new state.
+         */
+        private State withOperand(int newPhase, long newWhole, int newScale, long newNumerator, long newDenominator) {
+            return new State(sum, sign, product, operator, hasOperator, newPhase, negative,
+                    newWhole, newScale, newNumerator, newDenominator, hasTerm);
+        }
+
+        /**
+         * Completes the current operand and applies the specified operator.
+         *
+         * @param character The operator.
+         * @return The state expecting the next operand.
+         */
+        private State applyOperator(char character) {
+            if (character == '*' || character == '/') {
+                return new State(sum, sign, term(), character, true, OPERAND, false, 0, 0, 0, 0, true);
+            } else if (character == '+' || character == '-') {
+                Rational newSum = addTerm(term());
+                return new State(newSum, character == '+' ? 1 : -1, null, (char) 0, true, OPERAND, false, 0, 0, 0, 0, true);
+            }
+            return INVALID;
+        }
+
+        /**
+         * Evaluates the expression up to this state.
+         *
+         * @return The exact value, or null if no operand has been completed.
+         */
+        private Rational value() {
+            if (phase == ERROR) {
+                return null;
+            } else if (phase == INTEGER || phase == DECIMAL || phase == WHOLE || phase == DENOMINATOR) {
+                return addTerm(term());
+            } else if (product != null) {
+                return addTerm(product);
+            }
+            return hasTerm ? sum : null;
+        }
+
+        /**
+         * Computes the value of the current term including the current operand.
+         *
+         * @return The value of the current term.
+         */
+        private Rational term() {
+            Rational operand = Rational.of(whole, pow10(scale));
+            if (denominator != 0) {
+                operand = operand.add(Rational.of(numerator, denominator));
+            }
+            if (negative) {
+                operand = operand.negate();
+            }
+            if (operator == '*') {
+                return product.multiply(operand);
+            } else if (operator == '/') {
+                return product.divide(operand);
+            }
+            return operand;
+        }
+
+        /**
+         * Adds a term to the completed terms with the sign of the current term.
+         *
+         * @param term The value of the term.
+         * @return The new value of the completed terms.
+         */
+        private Rational addTerm(Rational term) {
+            return sign < 0 ? sum.subtract(term) : sum.add(term);
+        }
+
+        /**
+         * Appends a decimal digit to a number.
+         *
+         * @param number The number.
+         * @param digit  The digit to be appended.
+         * @return The number with the digit appended.
+         */
+        private static long appendDigit(long number, int digit) {
+            return Math.addExact(Math.multiplyExact(number, 10), digit);
+        }
+
+        /**
+         * Computes a power of ten.
+         *
+         * @param exponent The exponent.
+         * @return Ten to the power of the exponent.
+         */
+        private static long pow10(int exponent) {
+            long result = 1;
+            for (int i = 0; i < exponent; i++) {
+                result = Math.multiplyExact(result, 10);
+            }
+            return result;
+        }
+    }
+}
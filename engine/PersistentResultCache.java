@@ -0,0 +1,314 @@
+package engine;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The PersistentResultCache class keeps the exact values of evaluated problems in a memory-mapped file, so
+ * they survive a restart of the calculator and are shared by every calculator process on the machine.
+ * <p>
+ * The file is an open-addressing hash table of fixed-size slots after a {@value #HEADER_SIZE}-byte header.
+ * A problem is keyed by two independent 64-bit hashes of its canonical form, with runs of whitespace
+ * collapsed and {@code ÷} written as {@code /}, and stored as the numerator and denominator of its exact value, so one
+ * entry answers every type of calculation. A problem is looked for in the {@value #PROBES} slots after its
+ * home slot. When they are all taken, one of them is evicted with the clock algorithm: a hand shared
+ * through the header sweeps the slots, clearing the referenced bit that every hit sets, and replaces the
+ * first slot it finds unreferenced. The table never grows, so the file keeps the size it was created with.
+ * <p>
+ * The file is created and its header checked under an exclusive file lock. After that, processes and
+ * threads coordinate without locks: every slot has a version that a writer moves from even to odd with a
+ * compare-and-set before it writes the slot and back to even after it, and a reader only trusts a slot
+ * whose version was the same even number before and after reading it. A process killed while writing a
+ * slot leaves that slot odd, and it is skipped from then on.
+ *
+ * @author Junsel Fabe
+ * @version 1
+ */
+public final class PersistentResultCache implements Closeable {
+
+    /**
+     * The default number of slots of a new cache file.
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    private static final int MAGIC = 0x46524331;
+    private static final int FILE_VERSION = 2;
+    private static final int HEADER_SIZE = 64;
+    private static final int SLOT_SIZE = 40;
+    private static final int PROBES = 8;
+
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int SLOT_SIZE_OFFSET = 12;
+    private static final int HAND_OFFSET = 16;
+
+    private static final int VERSION = 0;
+    private static final int REFERENCED = 4;
+    private static final int KEY = 8;
+    private static final int CHECK = 16;
+    private static final int NUMERATOR = 24;
+    private static final int DENOMINATOR = 32;
+
+    private static final long KEY_SEED = 0x243F6A8885A308D3L;
+    private static final long CHECK_SEED = 0x13198A2E03707344L;
+
+    private static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle LONG = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int mask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Constructs a PersistentResultCache for a mapped file whose header has been checked.
+     *
+     * @param channel  The channel of the cache file.
+     * @param buffer   The mapped cache file.
+     * @param capacity The number of slots, a power of two.
+     */
+    private PersistentResultCache(FileChannel channel, MappedByteBuffer buffer, int capacity) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Opens a cache file, creating it with the specified number of slots if it does not exist. An existing
+     * file keeps the number of slots it was created with.
+     *
+     * @param path     The cache file.
+     * @param capacity The number of slots of a new file, rounded up to a power of two.
+     * @return The opened cache.
+     * @throws IOException If the file cannot be created or mapped, or is not a cache file of this version.
+     */
+    public static PersistentResultCache open(Path path, int capacity) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            int slots;
+            FileLock lock = channel.lock();
+            try {
+                if (channel.size() == 0) {
+                    slots = Math.max(PROBES, Integer.highestOneBit(Math.max(1, capacity - 1)) << 1);
+                    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+                    header.putInt(MAGIC).putInt(FILE_VERSION).putInt(slots).putInt(SLOT_SIZE).rewind();
+                    channel.write(header, 0);
+                    channel.write(ByteBuffer.allocate(1), HEADER_SIZE + (long) slots * SLOT_SIZE - 1);
+                } else {
+                    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+                    channel.read(header, 0);
+                    slots = header.getInt(CAPACITY_OFFSET);
+                    if (header.getInt(0) != MAGIC) {
+                        throw new IOException("Not a result cache: " + path);
+                    } else if (header.getInt(4) != FILE_VERSION || header.getInt(SLOT_SIZE_OFFSET) != SLOT_SIZE) {
+                        throw new IOException("Unsupported result cache version " + header.getInt(4) + ": " + path);
+                    } else if (Integer.bitCount(slots) != 1 || slots < PROBES
+                            || channel.size() < HEADER_SIZE + (long) slots * SLOT_SIZE) {
+                        throw new IOException("Truncated result cache: " + path);
+                    }
+                }
+            } finally {
+                lock.release();
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) slots * SLOT_SIZE);
+            return new PersistentResultCache(channel, buffer, slots);
+        } catch (IOException | RuntimeException exception) {
+            channel.close();
+            throw exception;
+        }
+    }
+
+    /**
+     * Looks up the exact value of a problem.
+     *
+     * @param problem The problem.
+     * @return The stored value, or null if the problem is not stored.
+     */
+    public Rational get(String problem) {
+        long key = hash(problem, KEY_SEED);
+        long check = hash(problem, CHECK_SEED);
+        int home = (int) key & mask;
+        for (int probe = 0; probe < PROBES; probe++) {
+            int slot = slotOffset(home + probe);
+            int version = (int) INT.getAcquire(buffer, slot + VERSION);
+            if (version == 0) {
+                break;
+            } else if ((version & 1) != 0 || (long) LONG.get(buffer, slot + KEY) != key) {
+                continue;
+            }
+            long storedCheck = (long) LONG.get(buffer, slot + CHECK);
+            long numerator = (long) LONG.get(buffer, slot + NUMERATOR);
+            long denominator = (long) LONG.get(buffer, slot + DENOMINATOR);
+            VarHandle.loadLoadFence();
+            if ((int) INT.getAcquire(buffer, slot + VERSION) != version || storedCheck != check || denominator <= 0) {
+                continue;
+            }
+            if ((int) INT.getOpaque(buffer, slot + REFERENCED) == 0) {
+                INT.setOpaque(buffer, slot + REFERENCED, 1);
+            }
+            hits.increment();
+            return Rational.of(numerator, denominator);
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Stores the exact value of a problem, replacing its previous value or evicting another problem if
+     * needed. The value may be lost if other writers keep every candidate slot busy.
+     *
+     * @param problem The problem.
+     * @param value   The exact value of the problem.
+     */
+    public void put(String problem, Rational value) {
+        long key = hash(problem, KEY_SEED);
+        long check = hash(problem, CHECK_SEED);
+        int home = (int) key & mask;
+        for (int probe = 0; probe < PROBES; probe++) {
+            int slot = slotOffset(home + probe);
+            int version = (int) INT.getAcquire(buffer, slot + VERSION);
+            if (version == 0) {
+                if (write(slot, 0, key, check, value)) {
+                    return;
+                }
+            } else if ((version & 1) == 0 && (long) LONG.get(buffer, slot + KEY) == key
+                    && (long) LONG.get(buffer, slot + CHECK) == check) {
+                write(slot, version, key, check, value);
+                return;
+            }
+        }
+        int hand = (int) INT.getAndAdd(buffer, HAND_OFFSET, 1);
+        for (int step = 0; step < 2 * PROBES; step++) {
+            int slot = slotOffset(home + Math.floorMod(hand + step, PROBES));
+            if ((int) INT.getOpaque(buffer, slot + REFERENCED) != 0) {
+                INT.setOpaque(buffer, slot + REFERENCED, 0);
+                continue;
+            }
+            int version = (int) INT.getAcquire(buffer, slot + VERSION);
+            if ((version & 1) == 0 && write(slot, version, key, check, value)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Gets the number of lookups that found a value.
+     *
+     * @return The hit count of this process.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of lookups that found no value.
+     *
+     * @return The miss count of this process.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Writes the values written so far to the file and closes it.
+     *
+     * @throws IOException If the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        if (channel.isOpen()) {
+            buffer.force();
+            channel.close();
+        }
+    }
+
+    /**
+     * Claims a slot by moving its version from the expected even number to odd, writes it, and releases it
+     * with the next even version.
+     *
+     * @param slot     The offset of the slot.
+     * @param expected The version the slot is expected to have.
+     * @param key      The key hash of the problem.
+     * @param check    The check hash of the problem.
+     * @param value    The exact value of the problem.
+     * @return true if the slot was written, false if another writer changed it first.
+     */
+    private boolean write(int slot, int expected, long key, long check, Rational value) {
+        if (!INT.compareAndSet(buffer, slot + VERSION, expected, expected + 1)) {
+            return false;
+        }
+        LONG.set(buffer, slot + KEY, key);
+        LONG.set(buffer, slot + CHECK, check);
+        LONG.set(buffer, slot + NUMERATOR, value.getNumerator());
+        LONG.set(buffer, slot + DENOMINATOR, value.getDenominator());
+        INT.set(buffer, slot + REFERENCED, 1);
+        int next = expected + 2;
+        INT.setRelease(buffer, slot + VERSION, next == 0 ? 2 : next);
+        return true;
+    }
+
+    /**
+     * Computes the offset of a slot.
+     *
+     * @param index The index of the slot, wrapped around the table.
+     * @return The offset of the slot in the file.
+     */
+    private int slotOffset(int index) {
+        return HEADER_SIZE + (index & mask) * SLOT_SIZE;
+    }
+
+    /**
+     * Hashes the canonical form of a problem, reading {@code ÷} as {@code /}, every run of whitespace between
+     * two tokens as one space and ignoring whitespace at either end. Whitespace inside a problem is kept, as
+     * it separates tokens: {@code 12 3} is invalid, not 123.
+     *
+     * @param problem The problem.
+     * @param seed    The seed that makes the hash independent of hashes with other seeds.
+     * @return The hash, never 0.
+     */
+    private static long hash(String problem, long seed) {
+        long hash = seed;
+        boolean started = false;
+        boolean space = false;
+        for (int i = 0; i < problem.length(); i++) {
+            char character = problem.charAt(i);
+            if (Character.isWhitespace(character)) {
+                space = started;
+                continue;
+            }
+            if (space) {
+                hash = mix(hash, ' ');
+                space = false;
+            }
+            hash = mix(hash, character == '÷' ? '/' : character);
+            started = true;
+        }
+        hash ^= hash >>> 32;
+        hash *= 0xBF58476D1CE4E5B9L;
+        hash ^= hash >>> 31;
+        return hash == 0 ? 1 : hash;
+    }
+
+    /**
+     * Mixes one character into a hash.
+     *
+     * @param hash      The hash of the characters before it.
+     * @param character The character.
+     * @return The hash including the character.
+     */
+    private static long mix(long hash, char character) {
+        hash = (hash ^ character) * 0x9E3779B97F4A7C15L;
+        return hash ^ hash >>> 29;
+    }
+}
@@ -0,0 +1,352 @@
+package engine;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ * The class Rational represents an immutable exact rational number.
+ * <p>
+ * The numerator and denominator are kept in lowest terms with a positive denominator. All arithmetic is
+ * exact and throws an {@link ArithmeticException} instead of silently overflowing.
+ *
+ * @author Junsel Fabe
+ * @version 1
+ */
+public final class Rational implements Comparable<Rational> {
+
+    /**
+     * The rational number zero.
+     */
+    public static final Rational ZERO = new Rational(0, 1);
+
+    /**
+     * The rational number one.
+     */
+    public static final Rational ONE = new Rational(1, 1);
+
+    private static final long MAX_EXACT_DOUBLE = 1L << 53;
+    private static final long MAX_SQUARE_ROOT = 3037000499L;
+
+    /**
+     * Thrown for every division by zero. It is preallocated without a stack trace, since dividing by zero
+     * is the most common way for a problem to fail.
+     */
+    private static final ArithmeticException DIVISION_BY_ZERO = new ArithmeticException("Division by zero") {
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    };
+
+    private final long numerator;
+    private final long denominator;
+
+    /**
+     * Rational constructor for a numerator and denominator that are already in lowest terms.
+     *
+     * @param numerator   the numerator of the rational number
+     * @param denominator the positive denominator of the rational number
+     */
+    private Rational(long numerator, long denominator) {
+        this.numerator = numerator;
+        this.denominator = denominator;
+    }
+
+    /**
+     * Creates a rational number for a whole number.
+     *
+     * @param value the whole number
+     * @return a rational number equal to the whole number
+     */
+    public static Rational of(long value) {
+        if (value == 0) {
+            return ZERO;
+        } else if (value == 1) {
+            return ONE;
+        }
+        return new Rational(value, 1);
+    }
+
+    /**
+     * Creates a rational number in lowest terms.
+     *
+     * @param numerator   the numerator of the rational number
+     * @param denominator the denominator of the rational number
+     * @return a rational number equal to numerator / denominator
+     * @throws ArithmeticException if the denominator is zero or the result cannot be represented
+     */
+    public static Rational of(long numerator, long denominator) {
+        if (denominator == 0) {
+            throw DIVISION_BY_ZERO;
+        }
+        if (numerator == 0) {
+            return ZERO;
+        }
+        long gcd = gcd(Math.absExact(numerator), Math.absExact(denominator));
+        numerator /= gcd;
+        denominator /= gcd;
+        if (denominator < 0) {
+            numerator = Math.negateExact(numerator);
+            denominator = Math.negateExact(denominator);
+        }
+        if (denominator == 1) {
+            return of(numerator);
+        }
+        return new Rational(numerator, denominator);
+    }
+
+    /**
+     * Gets the numerator in lowest terms.
+     *
+     * @return this rational number's numerator
+     */
+    public long getNumerator() {
+        return numerator;
+    }
+
+    /**
+     * Gets the denominator in lowest terms.
+     *
+     * @return this rational number's positive denominator
+     */
+    public long getDenominator() {
+        return denominator;
+    }
+
+    /**
+     * Addition of two rational numbers.
+     *
+     * @param other the other rational number that will be used for addition
+     * @return a new rational number
+     */
+    public Rational add(Rational other) {
+        if (this.denominator == other.denominator) {
+            return of(Math.addExact(this.numerator, other.numerator), this.denominator);
+        }
+        long gcd = gcd(this.denominator, other.denominator);
+        long thisScale = other.denominator / gcd;
+        long otherScale = this.denominator / gcd;
+        long newNumerator = Math.addExact(Math.multiplyExact(this.numerator, thisScale), Math.multiplyExact(other.numerator, otherScale));
+        return of(newNumerator, Math.multiplyExact(this.denominator, thisScale));
+    }
+
+    /**
+     * Subtraction of two rational numbers.
+     *
+     * @param other the other rational number that will be used for subtraction
+     * @return a new rational number
+     */
+    public Rational subtract(Rational other) {
+        return add(other.negate());
+    }
+
+    /**
+     * Multiplication of two rational numbers.
+     *
+     * @param other the other rational number that will be used for multiplication
+     * @return a new rational number
+     */
+    public Rational multiply(Rational other) {
+        long firstGcd = gcd(Math.absExact(this.numerator), other.denominator);
+        long secondGcd = gcd(Math.absExact(other.numerator), this.denominator);
+        long newNumerator = Math.multiplyExact(this.numerator / firstGcd, other.numerator / secondGcd);
+        long newDenominator = Math.multiplyExact(this.denominator / secondGcd, other.denominator / firstGcd);
+        return of(newNumerator, newDenominator);
+    }
+
+    /**
+     * Division of two rational numbers.
+     *
+     * @param other the other rational number that will be used for division
+     * @return a new rational number
+     * @throws ArithmeticException if the other rational number is zero
+     */
+    public Rational divide(Rational other) {
+        return multiply(other.reciprocal());
+    }
+
+    /**
+     * Negation of this rational number.
+     *
+     * @return a new rational number with the opposite sign
+     */
+    public Rational negate() {
+        return numerator == 0 ? this : new Rational(Math.negateExact(numerator), denominator);
+    }
+
+    /**
+     * Reciprocal of this rational number.
+     *
+     * @return a new rational number equal to 1 / this
+     * @throws ArithmeticException if this rational number is zero
+     */
+    public Rational reciprocal() {
+        return of(denominator, numerator);
+    }
+
+    /**
+     * Raises this rational number to a whole power by repeated squaring, so only O(log exponent)
+     * multiplications are needed. The powers of a numerator and denominator in lowest terms are still in
+     * lowest terms, so no reduction is needed.
+     *
+     * @param exponent the whole exponent, which may be negative
+     * @return a new rational number equal to this ^ exponent, one if the exponent is zero
+     * @throws ArithmeticException if this rational number is zero and the exponent is negative, or if the
+     *                             result cannot be represented
+     */
+    public Rational pow(long exponent) {
+        if (exponent < 0) {
+            return reciprocal().pow(Math.negateExact(exponent));
+        }
+        return new Rational(power(numerator, exponent), power(denominator, exponent));
+    }
+
+    /**
+     * Computes the square root of this rational number if it is rational, which is when the numerator and
+     * denominator in lowest terms are both perfect squares.
+     *
+     * @return a new rational number whose square is this
+     * @throws ArithmeticException if this rational number is negative or its square root is irrational
+     */
+    public Rational sqrt() {
+        if (numerator < 0) {
+            throw new ArithmeticException("Square root of a negative number");
+        }
+        long numeratorRoot = exactSqrt(numerator);
+        long denominatorRoot = exactSqrt(denominator);
+        if (numeratorRoot < 0 || denominatorRoot < 0) {
+            throw new ArithmeticException("Square root is irrational");
+        }
+        return new Rational(numeratorRoot, denominatorRoot);
+    }
+
+    /**
+     * Gets the sign of this rational number.
+     *
+     * @return -1, 0 or 1 as this rational number is negative, zero or positive
+     */
+    public int signum() {
+        return Long.signum(numerator);
+    }
+
+    /**
+     * Checks whether this rational number is a whole number.
+     *
+     * @return true if the denominator is one
+     */
+    public boolean isInteger() {
+        return denominator == 1;
+    }
+
+    /**
+     * Make the rational number a decimal number, rounded to the nearest double.
+     *
+     * @return a type of double number
+     */
+    public double toDecimal() {
+        if (Math.abs(numerator) <= MAX_EXACT_DOUBLE && denominator <= MAX_EXACT_DOUBLE) {
+            return (double) numerator / denominator;
+        }
+        return new BigDecimal(numerator).divide(new BigDecimal(denominator), MathContext.DECIMAL128).doubleValue();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int compareTo(Rational other) {
+        if (this.denominator == other.denominator) {
+            return Long.compare(this.numerator, other.numerator);
+        }
+        long high = Math.multiplyHigh(this.numerator, other.denominator);
+        long otherHigh = Math.multiplyHigh(other.numerator, this.denominator);
+        if (high != otherHigh) {
+            return Long.compare(high, otherHigh);
+        }
+        return Long.compareUnsigned(this.numerator * other.denominator, other.numerator * this.denominator);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Rational rational && numerator == rational.numerator && denominator == rational.denominator;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return Long.hashCode(numerator) * 31 + Long.hashCode(denominator);
+    }
+
+    /**
+     * Converts the rational number to a readable format.
+     *
+     * @return an easier way to read the object class
+     */
+    @Override
+    public String toString() {
+        if (denominator == 1) {
+            return Long.toString(numerator);
+        }
+        return numerator + "/" + denominator;
+    }
+
+    /**
+     * Find the GCD of two non-negative numbers.
+     *
+     * @param firstNumber  first number to find the gcd
+     * @param secondNumber second number to find the gcd
+     * @return a GCD of both numbers
+     */
+    static long gcd(long firstNumber, long secondNumber) {
+        while (secondNumber != 0) {
+            long remainder = firstNumber % secondNumber;
+            firstNumber = secondNumber;
+            secondNumber = remainder;
+        }
+        return firstNumber;
+    }
+
+    /**
+     * Raises a whole number to a non-negative power by repeated squaring.
+     *
+     * @param base     the whole number
+     * @param exponent the non-negative exponent
+     * @return base ^ exponent
+     * @throws ArithmeticException if the result does not fit in a long
+     */
+    private static long power(long base, long exponent) {
+        long result = 1;
+        while (exponent > 0) {
+            if ((exponent & 1) != 0) {
+                result = Math.multiplyExact(result, base);
+            }
+            exponent >>= 1;
+            if (exponent > 0) {
+                base = Math.multiplyExact(base, base);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Computes the integer square root of a perfect square.
+     *
+     * @param value the non-negative whole number
+     * @return the square root of the value, or -1 if the value is not a perfect square
+     */
+    private static long exactSqrt(long value) {
+        long root = Math.min((long) Math.sqrt((double) value), MAX_SQUARE_ROOT);
+        while (root * root > value) {
+            root--;
+        }
+        while (root < MAX_SQUARE_ROOT && (root + 1) * (root + 1) <= value) {
+            root++;
+        }
+        return root * root == value ? root : -1;
+    }
+}
@@ -0,0 +1,105 @@
+package engine;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The ResultCache class remembers the answers of recent calculations.
+ * <p>
+ * It is a direct-mapped table of immutable entries: a lookup reads one slot and a store replaces one slot,
+ * so any number of threads can use it without locking. Hits and misses are counted with striped counters.
+ *
+ * @author Junsel Fabe
+ * @version 1
+ */
+public final class ResultCache {
+
+    private final AtomicReferenceArray<Entry> entries;
+    private final int mask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * The Entry record holds one cached answer.
+     *
+     * @param problem   the calculated problem
+     * @param character the type of calculation
+     * @param answer    the answer and its exact value
+     */
+    private record Entry(String problem, char character, EvaluationResult.Success answer) {
+    }
+
+    /**
+     * Constructs a cache with at least the specified number of slots.
+     *
+     * @param capacity The number of slots, rounded up to a power of two, or 0 to cache nothing.
+     */
+    public ResultCache(int capacity) {
+        int size = capacity <= 0 ? 0 : Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.entries = size == 0 ? null : new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Looks up the answer of a calculation.
+     *
+     * @param problem   The calculated problem.
+     * @param character The type of calculation.
+     * @return The cached answer, or null if it is not cached.
+     */
+    public EvaluationResult.Success get(String problem, char character) {
+        if (entries == null) {
+            return null;
+        }
+        Entry entry = entries.get(index(problem, character));
+        if (entry != null && entry.character() == character && entry.problem().equals(problem)) {
+            hits.increment();
+            return entry.answer();
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Stores the answer of a calculation, replacing whatever shared its slot.
+     *
+     * @param problem   The calculated problem.
+     * @param character The type of calculation.
+     * @param answer    The answer and its exact value.
+     */
+    public void put(String problem, char character, EvaluationResult.Success answer) {
+        if (entries != null) {
+            entries.set(index(problem, character), new Entry(problem, character, answer));
+        }
+    }
+
+    /**
+     * Gets the number of lookups that found an answer.
+     *
+     * @return The hit count.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of lookups that found no answer.
+     *
+     * @return The miss count.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Computes the slot of a calculation.
+     *
+     * @param problem   The calculated problem.
+     * @param character The type of calculation.
+     * @return The slot index.
+     */
+    private int index(String problem, char character) {
+        int hash = problem.hashCode() * 31 + character;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
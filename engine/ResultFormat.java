@@ -0,0 +1,178 @@
+package engine;
+
+/**
+ * The ResultFormat class formats calculation results for display.
+ * <p>
+ * Numbers are written by a {@link DoubleFormatter}, so the display does not depend on the default locale.
+ * Whole results are shown without a decimal point, and the shortest decimal that rounds back to the result
+ * is shown otherwise, with three decimals when the shortest one is longer than
+ * {@value #MAX_SHORTEST_LENGTH} characters in the 'y' mode. Every answer fits in the
+ * {@value #MAX_LENGTH} characters of the input field: one that would not is shown with as many decimals as
+ * fit, or in scientific notation with as many digits as fit when its whole part is too long, e.g.
+ * 4.6116860184E18.
+ * <p>
+ * Exact values are shown as mixed fractions when their decimal expansion ends within
+ * {@value #MAX_FRACTION_DIGITS} digits, and as a decimal with three decimals when it repeats.
+ *
+ * @author Junsel Fabe
+ * @version 1
+ */
+public final class ResultFormat {
+
+    /**
+     * The number of characters of the input field, which no formatted answer exceeds.
+     */
+    public static final int MAX_LENGTH = 15;
+
+    private static final int MAX_SHORTEST_LENGTH = 10;
+    private static final int DECIMALS = 3;
+    private static final double MAX_WHOLE = 1e15;
+    private static final int MAX_FRACTION_DIGITS = 11;
+
+    /**
+     * ResultFormat has only static methods.
+     */
+    private ResultFormat() {
+    }
+
+    /**
+     * Formats the result of a calculation for display.
+     *
+     * @param result    The result of the calculation.
+     * @param character The character representing the type of calculation ('x' for multiplication, 'y' for other operations).
+     * @return The result as a formatted string.
+     */
+    public static String formatAnswer(double result, char character) {
+        return formatAnswer(result, character, new DoubleFormatter()).toString();
+    }
+
+    /**
+     * Formats the exact result of a calculation for display.
+     *
+     * @param result    The exact result of the calculation.
+     * @param character The character representing the type of calculation ('x' for multiplication, 'y' for other operations).
+     * @return The result as a formatted string.
+     */
+    public static String formatAnswer(Rational result, char character) {
+        return formatAnswer(result, character, new DoubleFormatter()).toString();
+    }
+
+    /**
+     * Formats the exact result of a calculation for display into a reusable formatter. A whole result is
+     * written from its exact digits, so one beyond 2<sup>53</sup> is not rounded to a double first, and in
+     * scientific notation when it is longer than {@value #MAX_LENGTH} characters. Any other result is written
+     * from its nearest double, which holds more significant digits than the input field shows.
+     *
+     * @param result    The exact result of the calculation.
+     * @param character The character representing the type of calculation ('x' for multiplication, 'y' for other operations).
+     * @param formatter The formatter the result is written into.
+     * @return The formatter, holding the formatted result.
+     */
+    public static DoubleFormatter formatAnswer(Rational result, char character, DoubleFormatter formatter) {
+        if (result.getDenominator() != 1) {
+            return formatAnswer(result.toDecimal(), character, formatter);
+        }
+        formatter.whole(result.getNumerator());
+        if (formatter.length() > MAX_LENGTH) {
+            formatter.scientific(result.getNumerator(), MAX_LENGTH);
+        }
+        return formatter;
+    }
+
+    /**
+     * Formats the result of a calculation for display into a reusable formatter. Whole results below
+     * 10<sup>15</sup> are written with all their digits; larger ones are written like any other result. A
+     * result longer than {@value #MAX_LENGTH} characters is written with fewer decimals, or in scientific
+     * notation if its whole part is too long.
+     *
+     * @param result    The result of the calculation.
+     * @param character The character representing the type of calculation ('x' for multiplication, 'y' for other operations).
+     * @param formatter The formatter the result is written into.
+     * @return The formatter, holding the formatted result.
+     */
+    public static DoubleFormatter formatAnswer(double result, char character, DoubleFormatter formatter) {
+        // adding 0.0 turns -0.0 into 0.0, so a zero is never shown with a sign
+        result += 0.0;
+        if (Math.floor(result) == result && Math.abs(result) < MAX_WHOLE) {
+            formatter.fixed(result, 0);
+        } else {
+            formatter.shortest(result);
+            if (character != 'x' && formatter.length() > MAX_SHORTEST_LENGTH) {
+                formatter.fixed(result, DECIMALS);
+            }
+        }
+        if (formatter.length() > MAX_LENGTH) {
+            shorten(result, character, formatter);
+        }
+        return formatter;
+    }
+
+    /**
+     * Writes a result that is too long for the input field with fewer decimals, if its whole part leaves
+     * room for at least one, and in scientific notation otherwise.
+     *
+     * @param result    The result of the calculation.
+     * @param character The character representing the type of calculation ('x' for multiplication, 'y' for other operations).
+     * @param formatter The formatter the result is written into.
+     */
+    private static void shorten(double result, char character, DoubleFormatter formatter) {
+        int decimals = MAX_LENGTH - 1 - formatter.fixed(result, 0).length();
+        if (Math.floor(result) != result && decimals > 0) {
+            formatter.fixed(result, decimals);
+            if (character == 'x') {
+                formatter.trimZeros();
+            }
+            return;
+        }
+        formatter.scientific(result, MAX_LENGTH);
+    }
+
+    /**
+     * Formats an exact value as a mixed fraction with a diagonal fraction part, e.g. 3¹⁄₂, or as a repeating
+     * decimal rounded to three decimals, e.g. 0.333, if its decimal expansion does not end within
+     * {@value #MAX_FRACTION_DIGITS} digits.
+     *
+     * @param value The exact value.
+     * @return The formatted value, or null if its whole part, numerator or denominator does not fit in an int
+     * or it is longer than {@value #MAX_LENGTH} characters.
+     */
+    public static String formatMixedFraction(Rational value) {
+        long numerator = value.getNumerator();
+        long denominator = value.getDenominator();
+        long whole = numerator / denominator;
+        long remainder = Math.abs(numerator % denominator);
+        if (whole != (int) whole || denominator != (int) denominator) {
+            return null;
+        } else if (remainder == 0) {
+            return Long.toString(whole);
+        } else if (!terminates(denominator)) {
+            return new DoubleFormatter().fixed(value.toDecimal(), DECIMALS).toString();
+        }
+        String fraction = DiagonalFraction.format((int) remainder, (int) denominator);
+        String mixedFraction;
+        if (whole != 0) {
+            mixedFraction = whole + fraction;
+        } else {
+            mixedFraction = value.signum() < 0 ? "-" + fraction.stripLeading() : fraction;
+        }
+        return mixedFraction.length() <= MAX_LENGTH ? mixedFraction : null;
+    }
+
+    /**
+     * Checks whether the decimal expansion of a fraction with the specified denominator ends within
+     * {@value #MAX_FRACTION_DIGITS} digits.
+     *
+     * @param denominator The denominator in lowest terms.
+     * @return true if the denominator divides 10<sup>{@value #MAX_FRACTION_DIGITS}</sup>.
+     */
+    private static boolean terminates(long denominator) {
+        int twos = Long.numberOfTrailingZeros(denominator);
+        long rest = denominator >> twos;
+        int fives = 0;
+        while (rest % 5 == 0) {
+            rest /= 5;
+            fives++;
+        }
+        return rest == 1 && twos <= MAX_FRACTION_DIGITS && fives <= MAX_FRACTION_DIGITS;
+    }
+}
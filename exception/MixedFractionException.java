@@ -24,4 +24,23 @@ public class MixedFractionException extends Exception  {
         super(message, cause);
     }
 
+    /**
+     * Mixed Fraction Exception constructor without suppressed exceptions.
+     * @param message the message that would show message error
+     * @param writableStackTrace whether the stack trace is filled in
+     */
+    private MixedFractionException(String message, boolean writableStackTrace){
+        super(message, null, false, writableStackTrace);
+    }
+
+    /**
+     * Creates an exception that has no stack trace and cannot hold suppressed exceptions, so it is cheap to
+     * throw and one instance can be preallocated and thrown again from hot loops.
+     * @param message the message that would show message error
+     * @return the stackless exception
+     */
+    public static MixedFractionException stackless(String message){
+        return new MixedFractionException(message, false);
+    }
+
 }
@@ -1,6 +1,12 @@
 package gui;
 
+import engine.CalculatorEngine;
+import engine.EvaluationResult;
+import engine.Rational;
 import exception.MixedFractionException;
+import history.HistoryEntry;
+import history.HistoryLog;
+import profiling.OperationProfile;
 
 import java.awt.*;
 import java.io.IOException;
@@ -8,6 +14,13 @@ import java.io.IOException;
 /**
  * The Controller class acts as the intermediary between the Model and View in the Fraction Calculator GUI application.
  * It manages user input, invokes necessary calculations, and updates the UI accordingly.
+ * <p>
+ * The exact value of the last answer is kept as a running accumulator. When the next problem is the answer
+ * shown in the input field followed by an operator, only the text after the answer is evaluated, starting
+ * from the exact value, so a chain of calculations never re-parses the rounded text of the previous answer
+ * and each step costs the same however long the chain gets. The answer is only continued where that gives
+ * the value its text would have, so {@code ^2} after -2 is evaluated from the text as -4, and the preview of
+ * the input field is seeded with the same answer, so it agrees with the result.
  *
  * @author Junsel Fabe
  * @version 1
@@ -16,6 +29,9 @@ public class Controller {
 
     Model model;
     View view;
+    HistoryLog historyLog;
+    private Rational lastValue;
+    private String lastAnswer;
 
     /**
      * Constructs a new Controller with the specified Model and View.
@@ -35,11 +51,15 @@ public class Controller {
      * @throws MixedFractionException If a mixed fraction is encountered during calculation.
      */
     public void handleFraction(String converted) throws MixedFractionException {
-        String result = this.model.calculateFraction(converted);
-        String result2 = this.model.calculateProblem(result, 'x');
-        double decimalFraction = Double.parseDouble(result2);
-        result2 = this.model.decimalToMixedFraction(decimalFraction);
-        this.view.setResult(result2);
+        OperationProfile profile = OperationProfile.begin(converted);
+        long start = System.nanoTime();
+        String continuation = continuation(converted);
+        EvaluationResult result = continuation != null
+                ? this.model.continueFraction(lastValue, continuation)
+                : this.model.evaluateFraction(converted);
+        record(converted, result.text(), start);
+        show(result, profile);
+        StartupTimeline.mark("first result");
     }
 
     /**
@@ -49,8 +69,88 @@ public class Controller {
      * @throws MixedFractionException If a mixed fraction is encountered during calculation.
      */
     public void handleCalculation(String problem) throws MixedFractionException {
-        String result = this.model.calculateProblem(problem, 'y');
-        this.view.setResult(result);
+        OperationProfile profile = OperationProfile.begin(problem);
+        long start = System.nanoTime();
+        String continuation = continuation(problem);
+        EvaluationResult result = continuation != null
+                ? this.model.continueFrom(lastValue, continuation, 'y')
+                : this.model.evaluate(problem, 'y');
+        record(problem, result.text(), start);
+        show(result, profile);
+        StartupTimeline.mark("first result");
+    }
+
+    /**
+     * Forgets the last answer, so the next problem is evaluated from its text alone. It is called when the
+     * input field is cleared or edited, after which the text no longer stands for the exact answer.
+     */
+    public void clearResult() {
+        this.lastValue = null;
+        this.lastAnswer = null;
+        this.view.seedPreview(null, null);
+    }
+
+    /**
+     * Finds the part of a problem that continues the last answer.
+     *
+     * @param problem The input string representing a mathematical problem.
+     * @return The text after the last answer if the problem starts with it followed by an operator that
+     * continues it, or null.
+     * @see CalculatorEngine#isContinuation(Rational, String)
+     */
+    private String continuation(String problem) {
+        if (lastValue == null || problem.length() <= lastAnswer.length() || !problem.startsWith(lastAnswer)) {
+            return null;
+        }
+        String continuation = problem.substring(lastAnswer.length());
+        return CalculatorEngine.isContinuation(lastValue, continuation) ? continuation : null;
+    }
+
+    /**
+     * Shows a result in the UI and keeps its exact value for the next problem, then ends the profile of the
+     * operation.
+     *
+     * @param result  The result of the problem.
+     * @param profile The profile of the operation, or null if it is not profiled.
+     * @throws MixedFractionException If the problem evaluated to an error.
+     */
+    private void show(EvaluationResult result, OperationProfile profile) throws MixedFractionException {
+        long clock = OperationProfile.clock();
+        try {
+            if (result instanceof EvaluationResult.Success success && success.value() != null) {
+                this.lastValue = success.value();
+                this.lastAnswer = success.answer();
+                this.view.seedPreview(lastAnswer, lastValue);
+            } else {
+                clearResult();
+            }
+            this.view.setResult(result.orElseThrow());
+        } finally {
+            OperationProfile.lap(OperationProfile.Stage.DISPLAY, clock);
+            OperationProfile.end(profile);
+        }
+    }
+
+    /**
+     * Sets the history log that completed evaluations are appended to.
+     *
+     * @param historyLog The history log, or null to stop recording evaluations.
+     */
+    public void setHistoryLog(HistoryLog historyLog) {
+        this.historyLog = historyLog;
+    }
+
+    /**
+     * Appends a completed evaluation to the history log, if one is set.
+     *
+     * @param input  The evaluated input string.
+     * @param result The result or error message shown for the input.
+     * @param start  The {@link System#nanoTime()} at which the evaluation started.
+     */
+    private void record(String input, String result, long start) {
+        if (this.historyLog != null) {
+            this.historyLog.append(new HistoryEntry(input, result, System.currentTimeMillis(), System.nanoTime() - start));
+        }
     }
 
     /**
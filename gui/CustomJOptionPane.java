@@ -0,0 +1,115 @@
+package gui;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.Objects;
+
+/**
+ * The CustomJOptionPane class provides custom input and message dialog boxes with specific styling and functionality.
+ */
+class CustomJOptionPane {
+
+    private ImageIcon dialogIcon;
+
+    /**
+     * Gets the icon shown in the dialog boxes, loading it the first time a dialog box is shown.
+     *
+     * @return The dialog icon.
+     */
+    private ImageIcon dialogIcon() {
+        if (dialogIcon == null) {
+            dialogIcon = createScaledImageIcon("/assets/pics/icon.png");
+        }
+        return dialogIcon;
+    }
+
+    /**
+     * Creates a scaled ImageIcon from the specified image path.
+     *
+     * @param path The path to the image file.
+     * @return The scaled ImageIcon.
+     */
+    public ImageIcon createScaledImageIcon(String path) {
+        ImageIcon image = new ImageIcon(Objects.requireNonNull(getClass().getResource(path)));
+        Image scaledImg = image.getImage().getScaledInstance(20, 20, java.awt.Image.SCALE_SMOOTH);
+        return new ImageIcon(scaledImg);
+    }
+
+    /**
+     * Displays an input dialog box with a message, title, and custom options.
+     *
+     * @param parentComponent The parent component for the dialog box.
+     * @param message         The message to be displayed.
+     * @param title           The title of the dialog box.
+     * @param options         The array of custom options.
+     * @return The user's input from the dialog box.
+     */
+    public String showInputDialog(Component parentComponent, String message, String title, String[] options) {
+        JPanel panel = new JPanel();
+        JLabel label = new JLabel(message);
+        JTextField textField = new JTextField(10);
+        textField.setDocument((new LengthRestrictedDocument(4)));
+
+        JLabel iconLabel = new JLabel(dialogIcon());
+
+        panel.add(iconLabel);
+        panel.add(label);
+        panel.add(textField);
+
+        final Object[][] returnValue = new Object[1][1];
+
+        JButton[] buttons = new JButton[options.length];
+        for (int i = 0; i < options.length; i++) {
+            final int option = i;
+            buttons[i] = new JButton(options[i]);
+            if (i == 0) {
+                buttons[i].setBackground(new Color(78, 135, 82));
+            } else {
+                buttons[i].setBackground(new Color(227, 82, 82));
+            }
+            buttons[i].setUI(new StyledButtonUI());
+            buttons[i].addActionListener(e -> {
+                String text = textField.getText();
+                JOptionPane.getRootFrame().dispose();
+                returnValue[0] = new Object[]{option, text};
+            });
+        }
+
+        JOptionPane.showOptionDialog(parentComponent, panel, title, JOptionPane.DEFAULT_OPTION, JOptionPane.PLAIN_MESSAGE, null, buttons, buttons[0]);
+
+        if (returnValue[0] == null) {
+            return null;
+        } else {
+            Object[] selectedValues = returnValue[0];
+            return (String) selectedValues[1];
+        }
+    }
+
+    /**
+     * Displays a message dialog box with a message, title, and an "Okay" button.
+     *
+     * @param parentComponent The parent component for the dialog box.
+     * @param message         The message to be displayed.
+     * @param title           The title of the dialog box.
+     */
+    public void showMessageDialog(Component parentComponent, String message, String title) {
+        JPanel panel = new JPanel();
+        JLabel messageLabel = new JLabel(message);
+
+        JLabel iconLabel = new JLabel(dialogIcon());
+
+        panel.add(iconLabel);
+        panel.add(messageLabel);
+
+        JButton button = new JButton("Okay");
+        button.addActionListener(e -> JOptionPane.getRootFrame().dispose());
+        button.setUI(new StyledButtonUI());
+        button.setPreferredSize(new Dimension(75, 25));
+        button.setBackground(new Color(227, 82, 82));
+
+        JButton[] options = {button};
+        JOptionPane.showOptionDialog(parentComponent, panel, title, JOptionPane.DEFAULT_OPTION, JOptionPane.PLAIN_MESSAGE, null, options, -1);
+
+    }
+
+}
@@ -0,0 +1,289 @@
+package gui;
+
+import java.awt.EventQueue;
+import java.io.PrintStream;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The EdtWatchdog class detects when the Swing event dispatch thread stops responding and records where it
+ * is stuck.
+ * <p>
+ * A daemon thread posts a heartbeat to the event queue every {@value #HEARTBEAT_MILLIS} ms and waits for it
+ * to run. When a heartbeat has been waiting longer than the threshold, the event dispatch thread is stalled,
+ * and its stack is sampled every {@value #SAMPLE_MILLIS} ms until the heartbeat runs. Samples and stalls
+ * are kept in fixed-size lock-free ring buffers, so the oldest ones are overwritten and reading a report
+ * never blocks the watchdog. Between stalls the watchdog only wakes up for the heartbeat, so its overhead
+ * stays far below 1% of a core.
+ * <p>
+ * The watchdog is off unless the application is started with {@code -Dcalculator.watchdog=true}; the
+ * threshold defaults to {@value #DEFAULT_THRESHOLD_MILLIS} ms and can be set with
+ * {@code -Dcalculator.watchdog.threshold=<ms>}. Its report lists every recent stall with its duration
+ * and the stack seen most often while it lasted.
+ *
+ * @author Junsel Fabe
+ * @version 1
+ */
+public final class EdtWatchdog {
+
+    /**
+     * The default time in milliseconds after which the event dispatch thread counts as stalled.
+     */
+    public static final long DEFAULT_THRESHOLD_MILLIS = 500;
+
+    private static final long HEARTBEAT_MILLIS = 100;
+    private static final long SAMPLE_MILLIS = 20;
+    private static final int SAMPLE_CAPACITY = 256;
+    private static final int STALL_CAPACITY = 32;
+    private static final int MAX_FRAMES = 24;
+    private static final int REPORTED_FRAMES = 8;
+
+    private final long thresholdNanos;
+    private final Thread thread;
+    private final AtomicReferenceArray<Sample> samples = new AtomicReferenceArray<>(SAMPLE_CAPACITY);
+    private final AtomicLong sampleCount = new AtomicLong();
+    private final AtomicReferenceArray<Stall> stalls = new AtomicReferenceArray<>(STALL_CAPACITY);
+    private final AtomicLong stallCount = new AtomicLong();
+
+    private volatile Thread dispatchThread;
+    private volatile long pendingSince;
+    private volatile long receivedAt;
+    private volatile boolean running = true;
+
+    /**
+     * Constructs a watchdog with the specified threshold, without starting it.
+     *
+     * @param thresholdMillis The time in milliseconds after which the event dispatch thread counts as stalled.
+     */
+    private EdtWatchdog(long thresholdMillis) {
+        if (thresholdMillis <= 0) {
+            throw new IllegalArgumentException("Threshold must be positive: " + thresholdMillis);
+        }
+        this.thresholdNanos = thresholdMillis * 1_000_000;
+        this.thread = new Thread(this::watch, "edt-watchdog");
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Starts a watchdog with the specified threshold.
+     *
+     * @param thresholdMillis The time in milliseconds after which the event dispatch thread counts as stalled.
+     * @return The running watchdog.
+     */
+    public static EdtWatchdog start(long thresholdMillis) {
+        EdtWatchdog watchdog = new EdtWatchdog(thresholdMillis);
+        watchdog.thread.start();
+        return watchdog;
+    }
+
+    /**
+     * Starts a watchdog if the application was started with {@code -Dcalculator.watchdog=true}, and prints
+     * its report to the standard output when the application exits.
+     *
+     * @return The running watchdog, or null if it is off.
+     */
+    public static EdtWatchdog startIfEnabled() {
+        if (!Boolean.getBoolean("calculator.watchdog")) {
+            return null;
+        }
+        EdtWatchdog watchdog = start(Long.getLong("calculator.watchdog.threshold", DEFAULT_THRESHOLD_MILLIS));
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> watchdog.report(System.out), "edt-watchdog-report"));
+        return watchdog;
+    }
+
+    /**
+     * Gets the number of stalls detected so far, including the ones no longer kept.
+     *
+     * @return The number of stalls.
+     */
+    public long getStallCount() {
+        return stallCount.get();
+    }
+
+    /**
+     * Stops the watchdog. The samples taken so far can still be reported. While the watchdog runs, its
+     * heartbeats keep the event dispatch thread alive, so an application that relies on AWT shutting down
+     * by itself must stop the watchdog first.
+     */
+    public void stop() {
+        running = false;
+        thread.interrupt();
+    }
+
+    /**
+     * Prints the recent stalls, each with its duration and the stack sampled most often while it lasted.
+     *
+     * @param out The stream the report is printed to.
+     */
+    public void report(PrintStream out) {
+        long stallTotal = stallCount.get();
+        long sampleTotal = sampleCount.get();
+        Map<Long, List<Sample>> byStall = new HashMap<>();
+        for (long i = Math.max(0, sampleTotal - SAMPLE_CAPACITY); i < sampleTotal; i++) {
+            Sample sample = samples.get((int) (i % SAMPLE_CAPACITY));
+            if (sample != null) {
+                byStall.computeIfAbsent(sample.stall(), stall -> new ArrayList<>()).add(sample);
+            }
+        }
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("[watchdog] %d EDT stalls over %d ms, %d stack samples%n",
+                stallTotal, thresholdNanos / 1_000_000, sampleTotal));
+        for (long i = Math.max(0, stallTotal - STALL_CAPACITY); i < stallTotal; i++) {
+            Stall stall = stalls.get((int) (i % STALL_CAPACITY));
+            if (stall == null || stall.id() != i) {
+                continue;
+            }
+            List<Sample> stallSamples = byStall.getOrDefault(i, List.of());
+            LocalTime time = LocalTime.ofInstant(Instant.ofEpochMilli(stall.startMillis()), ZoneId.systemDefault());
+            report.append(String.format("[watchdog] stall %d at %s blocked for %.0f ms%s, %d samples%n",
+                    i + 1, time, Math.abs(stall.durationNanos()) / 1e6, stall.durationNanos() < 0 ? " (ongoing)" : "",
+                    stallSamples.size()));
+            appendMostFrequentStack(report, stallSamples);
+        }
+        out.print(report);
+        out.flush();
+    }
+
+    /**
+     * Posts heartbeats to the event queue and samples the event dispatch thread while they are not run.
+     */
+    private void watch() {
+        long stall = -1;
+        long stallStart = 0;
+        while (running) {
+            long since = pendingSince;
+            long now = System.nanoTime();
+            if (since == 0) {
+                if (stall >= 0) {
+                    endStall(stall, receivedAt - stallStart);
+                    stall = -1;
+                }
+                pendingSince = now;
+                EventQueue.invokeLater(this::heartbeat);
+            } else if (now - since >= thresholdNanos && dispatchThread != null) {
+                if (stall < 0) {
+                    stall = beginStall(since);
+                    stallStart = since;
+                }
+                sample(stall, now - since);
+            }
+            try {
+                Thread.sleep(stall >= 0 ? SAMPLE_MILLIS : HEARTBEAT_MILLIS);
+            } catch (InterruptedException exception) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Runs on the event dispatch thread and marks the pending heartbeat as received.
+     */
+    private void heartbeat() {
+        dispatchThread = Thread.currentThread();
+        receivedAt = System.nanoTime();
+        pendingSince = 0;
+    }
+
+    /**
+     * Records the start of a stall, while its duration is still unknown.
+     *
+     * @param since The {@link System#nanoTime()} at which the waiting heartbeat was posted.
+     * @return The id of the stall.
+     */
+    private long beginStall(long since) {
+        long id = stallCount.getAndIncrement();
+        long startMillis = System.currentTimeMillis() - (System.nanoTime() - since) / 1_000_000;
+        stalls.set((int) (id % STALL_CAPACITY), new Stall(id, startMillis, -(System.nanoTime() - since)));
+        return id;
+    }
+
+    /**
+     * Records the duration of a stall once the event dispatch thread responds again.
+     *
+     * @param id            The id of the stall.
+     * @param durationNanos How long the event dispatch thread was blocked.
+     */
+    private void endStall(long id, long durationNanos) {
+        int slot = (int) (id % STALL_CAPACITY);
+        Stall stall = stalls.get(slot);
+        if (stall != null && stall.id() == id) {
+            stalls.set(slot, new Stall(id, stall.startMillis(), durationNanos));
+        }
+    }
+
+    /**
+     * Samples the stack of the event dispatch thread.
+     *
+     * @param stall        The id of the current stall.
+     * @param blockedNanos How long the event dispatch thread has been blocked.
+     */
+    private void sample(long stall, long blockedNanos) {
+        StackTraceElement[] stack = dispatchThread.getStackTrace();
+        if (stack.length > MAX_FRAMES) {
+            stack = Arrays.copyOf(stack, MAX_FRAMES);
+        }
+        long index = sampleCount.getAndIncrement();
+        samples.set((int) (index % SAMPLE_CAPACITY), new Sample(stall, blockedNanos, stack));
+        int slot = (int) (stall % STALL_CAPACITY);
+        Stall current = stalls.get(slot);
+        if (current != null && current.id() == stall) {
+            stalls.set(slot, new Stall(stall, current.startMillis(), -blockedNanos));
+        }
+    }
+
+    /**
+     * Appends the stack sampled most often, with the number of samples that showed it.
+     *
+     * @param report  The report being built.
+     * @param samples The samples of one stall.
+     */
+    private static void appendMostFrequentStack(StringBuilder report, List<Sample> samples) {
+        Map<List<StackTraceElement>, Integer> counts = new HashMap<>();
+        List<StackTraceElement> top = null;
+        int topCount = 0;
+        for (Sample sample : samples) {
+            List<StackTraceElement> frames = Arrays.asList(sample.stack())
+                    .subList(0, Math.min(REPORTED_FRAMES, sample.stack().length));
+            int count = counts.merge(frames, 1, Integer::sum);
+            if (count > topCount) {
+                top = frames;
+                topCount = count;
+            }
+        }
+        if (top == null) {
+            return;
+        }
+        report.append(String.format("[watchdog]   %d of %d samples in:%n", topCount, samples.size()));
+        for (StackTraceElement frame : top) {
+            report.append("[watchdog]     at ").append(frame).append(System.lineSeparator());
+        }
+    }
+
+    /**
+     * The Sample record holds one stack of the stalled event dispatch thread.
+     *
+     * @param stall        The id of the stall.
+     * @param blockedNanos How long the event dispatch thread had been blocked.
+     * @param stack        The innermost frames of the stack.
+     */
+    private record Sample(long stall, long blockedNanos, StackTraceElement[] stack) {
+    }
+
+    /**
+     * The Stall record holds one period in which the event dispatch thread did not respond.
+     *
+     * @param id            The id of the stall, counted from 0.
+     * @param startMillis   The wall-clock time at which the stall started.
+     * @param durationNanos How long the stall lasted, or minus how long it has lasted while it is ongoing.
+     */
+    private record Stall(long id, long startMillis, long durationNanos) {
+    }
+}
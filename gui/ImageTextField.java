@@ -0,0 +1,64 @@
+package gui;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.Objects;
+
+/**
+ * The ImageTextField class extends JTextField and includes an ImageIcon for displaying images within the text field.
+ */
+class ImageTextField extends JTextField {
+    private static final Font PREVIEW_FONT = new Font("Arial Unicode MS", Font.PLAIN, 12);
+    private Icon imageIcon;
+    private String preview;
+
+    /**
+     * Creates an ImageTextField with the specified ImageIcon.
+     *
+     * @param icon The ImageIcon to be displayed in the text field.
+     */
+    public ImageTextField(ImageIcon icon) {
+        super();
+        this.imageIcon = icon;
+    }
+
+    /**
+     * Paints the component, including the ImageIcon.
+     *
+     * @param g The Graphics object.
+     */
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        int imageX = 5;
+        int imageY = (getHeight() - imageIcon.getIconHeight()) / 2;
+        imageIcon.paintIcon(this, g, imageX, imageY);
+        if (preview != null) {
+            g.setFont(PREVIEW_FONT);
+            g.setColor(Color.DARK_GRAY);
+            g.drawString(preview, imageX + imageIcon.getIconWidth() + 5, getHeight() - 5);
+        }
+    }
+
+    /**
+     * Sets the running result shown in the corner of the text field.
+     *
+     * @param preview The running result, or null to show none.
+     */
+    public void setPreview(String preview) {
+        if (!Objects.equals(this.preview, preview)) {
+            this.preview = preview;
+            repaint();
+        }
+    }
+
+    /**
+     * Sets the icon for the ImageTextField.
+     *
+     * @param icon The icon to be set.
+     */
+    public void setImage(Icon icon) {
+        this.imageIcon = icon;
+    }
+
+}
@@ -0,0 +1,78 @@
+package gui;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.function.Supplier;
+
+/**
+ * The LazyIcon class is an icon of a known size that is only loaded the first time it is painted. It stands in
+ * for icons that are rarely or never shown, such as the selected state of a toggle button, so they do not
+ * delay startup.
+ */
+class LazyIcon implements Icon {
+
+    private final int width;
+    private final int height;
+    private Supplier<? extends Icon> loader;
+    private Icon icon;
+
+    /**
+     * Creates a lazily loaded icon.
+     *
+     * @param width  The width of the icon.
+     * @param height The height of the icon.
+     * @param loader Loads the icon the first time it is needed.
+     */
+    public LazyIcon(int width, int height, Supplier<? extends Icon> loader) {
+        this.width = width;
+        this.height = height;
+        this.loader = loader;
+    }
+
+    /**
+     * Gets the icon, loading it if it has not been loaded yet. Icons are only used on the event dispatch
+     * thread, so no locking is needed.
+     *
+     * @return The loaded icon.
+     */
+    public Icon getIcon() {
+        if (icon == null) {
+            icon = loader.get();
+            loader = null;
+        }
+        return icon;
+    }
+
+    /**
+     * Paints the icon, loading it first if needed.
+     *
+     * @param c The component the icon is painted on.
+     * @param g The Graphics object.
+     * @param x The x-coordinate of the icon.
+     * @param y The y-coordinate of the icon.
+     */
+    @Override
+    public void paintIcon(Component c, Graphics g, int x, int y) {
+        getIcon().paintIcon(c, g, x, y);
+    }
+
+    /**
+     * Gets the width of the icon without loading it.
+     *
+     * @return The width of the icon.
+     */
+    @Override
+    public int getIconWidth() {
+        return width;
+    }
+
+    /**
+     * Gets the height of the icon without loading it.
+     *
+     * @return The height of the icon.
+     */
+    @Override
+    public int getIconHeight() {
+        return height;
+    }
+}
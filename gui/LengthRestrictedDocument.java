@@ -0,0 +1,41 @@
+package gui;
+
+import javax.swing.text.AttributeSet;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.PlainDocument;
+
+/**
+ * The LengthRestrictedDocument class extends PlainDocument and restricts the length of the document.
+ */
+class LengthRestrictedDocument extends PlainDocument {
+
+    private final int limit;
+
+    /**
+     * Creates a LengthRestrictedDocument with the specified character limit.
+     *
+     * @param limit The character limit for the document.
+     */
+    public LengthRestrictedDocument(int limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * Inserts the specified string into the document, respecting the character limit.
+     *
+     * @param offs The offset at which to insert the string.
+     * @param str  The string to be inserted.
+     * @param a    The AttributeSet.
+     * @throws BadLocationException If the insertion location is invalid.
+     */
+    @Override
+    public void insertString(int offs, String str, AttributeSet a)
+            throws BadLocationException {
+        if (str == null)
+            return;
+
+        if ((getLength() + str.length()) <= limit) {
+            super.insertString(offs, str, a);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package gui;
+
+import engine.ExactCalculatorEngine;
+import engine.ResultCache;
+import profiling.OperationProfile;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+/**
+ * The PerformanceHud class is an overlay that shows where the time of the last operation went, so a slow
+ * result can be told apart as slow evaluation, slow formatting or a cold cache at a glance.
+ * <p>
+ * It shows the latency of the last operation in microseconds, broken down by {@link OperationProfile.Stage},
+ * the bytes it allocated, the hit ratio of the result cache, and how many events were waiting in the event
+ * queue and for how long, in whole milliseconds. The queue depth is measured with a marker: every
+ * {@value #REFRESH_MILLIS} ms a sampler thread posts an event and counts how many events are dispatched
+ * before it, using an event queue pushed the first time the overlay is shown. The marker event also
+ * refreshes the overlay, so it needs no timer.
+ * <p>
+ * The text is drawn into a single buffered image, and only when it changed, so painting the overlay is one
+ * image copy. The overlay is opaque, so repainting it never repaints the components beneath it. While it is
+ * hidden, its sampler is stopped and operations are not profiled.
+ */
+class PerformanceHud extends JComponent {
+
+    private static final long serialVersionUID = 1L;
+    private static final long REFRESH_MILLIS = 250;
+    private static final int WIDTH = 250;
+    private static final int HEIGHT = 78;
+    private static final int LINE_HEIGHT = 14;
+    private static final Font FONT = new Font(Font.MONOSPACED, Font.PLAIN, 11);
+    private static final Color BACKGROUND = new Color(20, 24, 24);
+    private static final Color FOREGROUND = new Color(140, 255, 160);
+
+    private static CountingEventQueue eventQueue;
+
+    private final Model model;
+    private final BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+    private final String[] lines = new String[5];
+    private Thread sampler;
+
+    /**
+     * Creates a hidden overlay for the specified model.
+     *
+     * @param model The model whose engine's cache is reported.
+     */
+    PerformanceHud(Model model) {
+        this.model = model;
+        Arrays.fill(lines, "");
+        setOpaque(true);
+        setSize(WIDTH, HEIGHT);
+        setVisible(false);
+        render();
+    }
+
+    /**
+     * Shows the overlay if it is hidden and hides it otherwise. It is called on the event dispatch thread.
+     */
+    void toggle() {
+        if (isVisible()) {
+            setVisible(false);
+            OperationProfile.setEnabled(false);
+            sampler.interrupt();
+            sampler = null;
+        } else {
+            if (eventQueue == null) {
+                eventQueue = new CountingEventQueue();
+                Toolkit.getDefaultToolkit().getSystemEventQueue().push(eventQueue);
+            }
+            OperationProfile.setEnabled(true);
+            refresh(0, 0);
+            setVisible(true);
+            sampler = new Thread(this::sample, "hud-sampler");
+            sampler.setDaemon(true);
+            sampler.start();
+        }
+    }
+
+    /**
+     * Posts a marker event every {@value #REFRESH_MILLIS} ms until the sampler is interrupted.
+     */
+    private void sample() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                Thread.sleep(REFRESH_MILLIS);
+            } catch (InterruptedException exception) {
+                return;
+            }
+            long dispatched = eventQueue.dispatched;
+            long posted = System.nanoTime();
+            EventQueue.invokeLater(() -> refresh(eventQueue.dispatched - dispatched - 1, System.nanoTime() - posted));
+        }
+    }
+
+    /**
+     * Updates the text of the overlay, redrawing it only if it changed.
+     *
+     * @param queueDepth The number of events dispatched between posting the marker and running it.
+     * @param waitNanos  The time the marker waited in the event queue.
+     */
+    private void refresh(long queueDepth, long waitNanos) {
+        OperationProfile profile = OperationProfile.last();
+        String[] next = new String[lines.length];
+        if (profile == null) {
+            next[0] = "last  -";
+            next[1] = "";
+            next[2] = "";
+        } else {
+            long staged = 0;
+            StringBuilder first = new StringBuilder();
+            StringBuilder second = new StringBuilder();
+            for (OperationProfile.Stage stage : OperationProfile.Stage.values()) {
+                long nanos = profile.getStageNanos(stage);
+                staged += nanos;
+                StringBuilder line = stage.ordinal() < 3 ? first : second;
+                line.append(String.format("%s %.1f  ", stage.label(), nanos / 1e3));
+            }
+            second.append(String.format("other %.1f", Math.max(0, profile.getTotalNanos() - staged) / 1e3));
+            long bytes = profile.getAllocatedBytes();
+            next[0] = String.format("last  %.1f µs  alloc %s", profile.getTotalNanos() / 1e3,
+                    bytes < 0 ? "n/a" : String.format("%,d B", bytes));
+            next[1] = first.toString().strip();
+            next[2] = second.toString();
+        }
+        next[3] = cacheLine(profile);
+        // whole milliseconds, so samples of an idle queue produce the same text and skip the redraw
+        next[4] = String.format("EDT queue %d events, %d ms", Math.max(0, queueDepth), Math.round(waitNanos / 1e6));
+        if (!Arrays.equals(next, lines)) {
+            System.arraycopy(next, 0, lines, 0, lines.length);
+            render();
+            repaint();
+        }
+    }
+
+    /**
+     * Describes the result cache of the engine and whether the last operation hit it.
+     *
+     * @param profile The profile of the last operation, or null if there is none.
+     * @return The line shown for the cache.
+     */
+    private String cacheLine(OperationProfile profile) {
+        String last = profile == null || profile.getCacheHit() == null ? "-" : profile.getCacheHit() ? "hit" : "miss";
+        if (model.getEngine() instanceof ExactCalculatorEngine engine) {
+            ResultCache cache = engine.getCache();
+            long lookups = cache.getHitCount() + cache.getMissCount();
+            double ratio = lookups == 0 ? 0 : 100.0 * cache.getHitCount() / lookups;
+            return String.format("cache %.1f%% hits, last %s", ratio, last);
+        }
+        return "cache n/a, last " + last;
+    }
+
+    /**
+     * Draws the text into the buffered image.
+     */
+    private void render() {
+        Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setColor(BACKGROUND);
+            graphics.fillRect(0, 0, WIDTH, HEIGHT);
+            graphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            graphics.setFont(FONT);
+            graphics.setColor(FOREGROUND);
+            for (int i = 0; i < lines.length; i++) {
+                graphics.drawString(lines[i], 6, 4 + LINE_HEIGHT * (i + 1) - 3);
+            }
+        } finally {
+            graphics.dispose();
+        }
+    }
+
+    /**
+     * Paints the buffered image.
+     *
+     * @param g The graphics to paint with.
+     */
+    @Override
+    protected void paintComponent(Graphics g) {
+        g.drawImage(image, 0, 0, null);
+    }
+
+    /**
+     * The CountingEventQueue class counts the events dispatched on the event dispatch thread.
+     */
+    private static final class CountingEventQueue extends EventQueue {
+
+        private volatile long dispatched;
+
+        /**
+         * Counts an event and dispatches it.
+         *
+         * @param event The event to be dispatched.
+         */
+        @Override
+        protected void dispatchEvent(AWTEvent event) {
+            // only the event dispatch thread writes the count, so the increment needs no atomic update
+            dispatched++;
+            super.dispatchEvent(event);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package gui;
+
+import engine.DoubleFormatter;
+import engine.IncrementalEvaluator;
+import engine.Rational;
+import engine.ResultFormat;
+
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The PreviewUpdater class shows the running result of the expression in the input field while it is typed.
+ * <p>
+ * Document changes only hand the new text to a background thread. After a debounce of about one frame, that
+ * thread brings an {@link IncrementalEvaluator} up to date with the text, so only the characters that changed
+ * are evaluated, and posts the formatted preview back to the event dispatch thread. The evaluator is seeded
+ * with the exact value of the last answer, so the preview of a calculation continuing it agrees with its result.
+ */
+class PreviewUpdater implements DocumentListener {
+
+    private static final long DEBOUNCE_MILLIS = 16;
+
+    private final ImageTextField inputField;
+    private final IncrementalEvaluator evaluator = new IncrementalEvaluator();
+    private final DoubleFormatter formatter = new DoubleFormatter();
+    private final AtomicReference<String> pendingText = new AtomicReference<>();
+    private final AtomicReference<Seed> pendingSeed = new AtomicReference<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final ScheduledExecutorService worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "result-preview");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Creates a preview updater for the specified input field.
+     *
+     * @param inputField The input field whose text is previewed.
+     */
+    public PreviewUpdater(ImageTextField inputField) {
+        this.inputField = inputField;
+    }
+
+    /**
+     * Seeds the preview with the last answer, or removes the seed. It is called on the event dispatch thread
+     * before the answer is shown, so the update the answer triggers already sees the seed.
+     *
+     * @param answer The text of the last answer, or null if there is none.
+     * @param value  The exact value of the last answer, or null if there is none.
+     */
+    void seed(String answer, Rational value) {
+        pendingSeed.set(new Seed(answer, value));
+    }
+
+    /**
+     * Called when text is inserted into the document.
+     *
+     * @param e The DocumentEvent representing the change.
+     */
+    @Override
+    public void insertUpdate(DocumentEvent e) {
+        textChanged();
+    }
+
+    /**
+     * Called when text is removed from the document.
+     *
+     * @param e The DocumentEvent representing the change.
+     */
+    @Override
+    public void removeUpdate(DocumentEvent e) {
+        textChanged();
+    }
+
+    /**
+     * Called when attributes of the document change.
+     *
+     * @param e The DocumentEvent representing the change.
+     */
+    @Override
+    public void changedUpdate(DocumentEvent e) {
+    }
+
+    /**
+     * Hands the current text to the background thread, scheduling an update unless one is already pending.
+     */
+    private void textChanged() {
+        pendingText.set(inputField.getText());
+        if (scheduled.compareAndSet(false, true)) {
+            worker.schedule(this::updatePreview, DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Evaluates the latest text on the background thread and posts the preview to the input field.
+     */
+    private void updatePreview() {
+        scheduled.set(false);
+        String text = pendingText.getAndSet(null);
+        if (text == null) {
+            return;
+        }
+        Seed seed = pendingSeed.getAndSet(null);
+        if (seed != null) {
+            evaluator.seed(seed.answer(), seed.value());
+        }
+        evaluator.update(text);
+        Rational value = evaluator.value();
+        String preview = value != null && evaluator.hasOperator() ? "= " + ResultFormat.formatAnswer(value, 'y', formatter) : null;
+        SwingUtilities.invokeLater(() -> inputField.setPreview(preview));
+    }
+
+    /**
+     * The Seed record holds a last answer handed to the background thread.
+     *
+     * @param answer the text of the answer, or null if there is none
+     * @param value  the exact value of the answer, or null if there is none
+     */
+    private record Seed(String answer, Rational value) {
+    }
+}
@@ -0,0 +1,170 @@
+package gui;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The SessionRecorder class writes the buttons pressed in the calculator to a session file, so the session
+ * can be replayed through the same listeners by {@link SessionReplay}.
+ * <p>
+ * A session file has one command per line: the name of the button, which is its text or {@code power} or
+ * {@code sound} for the toggle buttons, followed by the text typed into any dialog box it opened, separated
+ * by tabs. A fraction entry is recorded as {@code fraction}, the numerator and the denominator. Tabs, line
+ * breaks and backslashes in the typed text are escaped with a backslash, and a cancelled dialog box is
+ * written as {@code \N}. Lines starting with {@code #} are comments. Every command is flushed when it is
+ * recorded, so a session survives the application being killed.
+ *
+ * @author Junsel Fabe
+ * @version 1
+ */
+public final class SessionRecorder implements Closeable {
+
+    /**
+     * The command recorded for a fraction entry.
+     */
+    public static final String FRACTION = "fraction";
+
+    private static final String HEADER = "# fraction calculator session, version 1";
+
+    private final BufferedWriter writer;
+
+    /**
+     * Constructs a SessionRecorder writing to an open writer.
+     *
+     * @param writer The writer of the session file.
+     */
+    private SessionRecorder(BufferedWriter writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Creates a session file, replacing any existing file.
+     *
+     * @param path The session file.
+     * @return The recorder writing to the file.
+     * @throws IOException If the file cannot be created.
+     */
+    public static SessionRecorder create(Path path) throws IOException {
+        BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+        writer.write(HEADER);
+        writer.newLine();
+        writer.flush();
+        return new SessionRecorder(writer);
+    }
+
+    /**
+     * Records a command. Errors are printed rather than thrown, so a failing recording never breaks the
+     * calculator.
+     *
+     * @param command The name of the button.
+     * @param inputs  The text typed into the dialog boxes the button opened, null for a cancelled one.
+     */
+    public synchronized void record(String command, String... inputs) {
+        StringBuilder line = new StringBuilder(command);
+        for (String input : inputs) {
+            line.append('\t').append(encode(input));
+        }
+        try {
+            writer.write(line.toString());
+            writer.newLine();
+            writer.flush();
+        } catch (IOException exception) {
+            System.out.println("Error recording session: " + exception.getMessage());
+        }
+    }
+
+    /**
+     * Closes the session file.
+     *
+     * @throws IOException If the file cannot be closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+
+    /**
+     * Reads the commands of a session file.
+     *
+     * @param path The session file.
+     * @return Every command, as its name followed by its inputs.
+     * @throws IOException If the file cannot be read or a line is not valid.
+     */
+    public static List<String[]> read(Path path) throws IOException {
+        List<String[]> commands = new ArrayList<>();
+        int lineNumber = 0;
+        for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+            lineNumber++;
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split("\t", -1);
+            for (int i = 1; i < fields.length; i++) {
+                fields[i] = decode(fields[i], lineNumber);
+            }
+            commands.add(fields);
+        }
+        return commands;
+    }
+
+    /**
+     * Escapes the text typed into a dialog box.
+     *
+     * @param input The text, or null for a cancelled dialog box.
+     * @return The escaped text.
+     */
+    private static String encode(String input) {
+        if (input == null) {
+            return "\\N";
+        }
+        StringBuilder encoded = new StringBuilder(input.length());
+        for (int i = 0; i < input.length(); i++) {
+            char c = input.charAt(i);
+            switch (c) {
+                case '\\' -> encoded.append("\\\\");
+                case '\t' -> encoded.append("\\t");
+                case '\n' -> encoded.append("\\n");
+                case '\r' -> encoded.append("\\r");
+                default -> encoded.append(c);
+            }
+        }
+        return encoded.toString();
+    }
+
+    /**
+     * Reverses {@link #encode(String)}.
+     *
+     * @param field      The escaped text.
+     * @param lineNumber The line the text was read from, for the error message.
+     * @return The text, or null for a cancelled dialog box.
+     * @throws IOException If the text has an unknown escape.
+     */
+    private static String decode(String field, int lineNumber) throws IOException {
+        if (field.equals("\\N")) {
+            return null;
+        }
+        StringBuilder decoded = new StringBuilder(field.length());
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c != '\\') {
+                decoded.append(c);
+                continue;
+            }
+            char escaped = ++i < field.length() ? field.charAt(i) : 0;
+            switch (escaped) {
+                case '\\' -> decoded.append('\\');
+                case 't' -> decoded.append('\t');
+                case 'n' -> decoded.append('\n');
+                case 'r' -> decoded.append('\r');
+                default -> throw new IOException("Invalid escape on line " + lineNumber + ": " + field);
+            }
+        }
+        return decoded.toString();
+    }
+}
@@ -0,0 +1,277 @@
+package gui;
+
+import engine.DiagonalFraction;
+
+import javax.swing.*;
+import java.awt.*;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The SessionReplay class replays a session recorded by {@link SessionRecorder} through the listeners of a real
+ * {@link View} and measures the latency of every button, from the click until the event queue is idle again.
+ * <p>
+ * The view is laid out in a frame that is never shown, and every command clicks its button on the event
+ * dispatch thread, so the same listener code runs as when a user presses it, including the document
+ * listeners, the controller, the engine and the sounds. Fraction entries answer the dialog boxes with the
+ * recorded text instead of showing them. Swing needs a display for this, but not a screen: on a machine
+ * without one, the replay runs under a virtual display such as {@code xvfb-run}.
+ * <p>
+ * Options are given as {@code key=value} arguments: {@code session}, the session file (required),
+ * {@code repeats}, the number of measured replays (default 10), and {@code warmup}, the number of replays
+ * run first and not measured (default 2). Every replay starts with a new view. The report shows the
+ * latency of every kind of button and the text left in the input field, which is the same for every
+ * replay of a deterministic session.
+ *
+ * @author Junsel Fabe
+ * @version 1
+ */
+public class SessionReplay {
+
+    private static final String FRACTION_BUTTON = "x" + DiagonalFraction.format(1, 2);
+
+    /**
+     * Replays the session and prints the report.
+     *
+     * @param args the {@code key=value} options
+     * @throws Exception if the session cannot be read or the view cannot be created
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        String session = options.get("session");
+        if (session == null) {
+            System.out.println("Usage: SessionReplay session=<file> [repeats=10] [warmup=2]");
+            System.exit(2);
+        }
+        if (GraphicsEnvironment.isHeadless()) {
+            System.out.println("The replay needs a display; run it under a virtual display such as xvfb-run.");
+            System.exit(1);
+        }
+        int repeats = Integer.parseInt(options.getOrDefault("repeats", "10"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "2"));
+        List<String[]> commands = SessionRecorder.read(Path.of(session));
+
+        Model model = new Model();
+        Map<String, List<Long>> latencies = new LinkedHashMap<>();
+        String finalText = null;
+        for (int run = -warmup; run < repeats; run++) {
+            Replay replay = onEventThread(() -> new Replay(model));
+            for (String[] command : commands) {
+                long nanos = replay.run(command);
+                if (run >= 0) {
+                    latencies.computeIfAbsent(kind(command[0]), kind -> new ArrayList<>()).add(nanos);
+                }
+            }
+            String text = onEventThread(replay::text);
+            if (finalText != null && !finalText.equals(text)) {
+                System.out.printf("Replay %d ended with \"%s\" instead of \"%s\"%n", run, text, finalText);
+            }
+            finalText = text;
+            onEventThread(replay::dispose);
+        }
+
+        System.out.printf("%d commands, %d measured replays, input field \"%s\"%n", commands.size(), repeats, finalText);
+        System.out.printf("%-10s %7s %10s %10s %10s %10s%n", "button", "count", "mean us", "p50 us", "p99 us", "max us");
+        for (Map.Entry<String, List<Long>> entry : latencies.entrySet()) {
+            long[] sorted = entry.getValue().stream().mapToLong(Long::longValue).sorted().toArray();
+            double mean = 0;
+            for (long nanos : sorted) {
+                mean += nanos;
+            }
+            mean /= sorted.length;
+            System.out.printf("%-10s %7d %10.1f %10.1f %10.1f %10.1f%n", entry.getKey(), sorted.length, mean / 1e3,
+                    sorted[sorted.length / 2] / 1e3, sorted[(int) Math.min(sorted.length - 1, sorted.length * 0.99)] / 1e3,
+                    sorted[sorted.length - 1] / 1e3);
+        }
+        System.exit(0);
+    }
+
+    /**
+     * Groups a command with the other buttons of its kind for the report.
+     *
+     * @param command The name of the command.
+     * @return The kind of button.
+     */
+    private static String kind(String command) {
+        if (command.matches("[0-9]")) {
+            return "digit";
+        } else if (command.matches("[+\\-*÷^√]")) {
+            return "operator";
+        }
+        return switch (command) {
+            case "=" -> "equals";
+            case "C" -> "clear";
+            case "←" -> "back";
+            default -> command;
+        };
+    }
+
+    /**
+     * Runs a task on the event dispatch thread and waits for it.
+     *
+     * @param task The task.
+     * @param <T>  The type of the result.
+     * @return The result of the task.
+     * @throws Exception If the task fails.
+     */
+    private static <T> T onEventThread(java.util.concurrent.Callable<T> task) throws Exception {
+        Object[] result = new Object[1];
+        Exception[] failure = new Exception[1];
+        try {
+            EventQueue.invokeAndWait(() -> {
+                try {
+                    result[0] = task.call();
+                } catch (Exception exception) {
+                    failure[0] = exception;
+                }
+            });
+        } catch (InvocationTargetException exception) {
+            throw new IllegalStateException(exception.getCause());
+        }
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+        @SuppressWarnings("unchecked")
+        T value = (T) result[0];
+        return value;
+    }
+
+    /**
+     * The Replay class holds one view that a session is replayed through.
+     */
+    private static final class Replay {
+
+        private final View view;
+        private final JTextField inputField;
+        private final Map<String, AbstractButton> buttons = new HashMap<>();
+        private final ScriptedDialogs dialogs = new ScriptedDialogs();
+
+        /**
+         * Creates a view, lays it out without showing it and finds its buttons. Must be called on the event
+         * dispatch thread.
+         *
+         * @param model The model the view's controller uses.
+         * @throws Exception If the view cannot be created.
+         */
+        private Replay(Model model) throws Exception {
+            view = new View();
+            Controller controller = new Controller(model, view);
+            view.setController(controller);
+            JPanel contentPane = view.contentPane();
+            view.setCustomJOptionPane(dialogs);
+            view.pack();
+            JTextField field = null;
+            List<Component> components = new ArrayList<>(List.of(contentPane.getComponents()));
+            while (!components.isEmpty()) {
+                Component component = components.remove(components.size() - 1);
+                if (component instanceof AbstractButton button && button.getName() != null) {
+                    buttons.put(button.getName(), button);
+                } else if (component instanceof JTextField textField) {
+                    field = textField;
+                } else if (component instanceof Container container) {
+                    components.addAll(List.of(container.getComponents()));
+                }
+            }
+            inputField = field;
+        }
+
+        /**
+         * Clicks the button of a command and waits until the event queue has handled everything it caused.
+         *
+         * @param command The name of the command followed by its inputs.
+         * @return The latency in nanoseconds.
+         * @throws Exception If the button does not exist or the click fails.
+         */
+        private long run(String[] command) throws Exception {
+            String name = command[0].equals(SessionRecorder.FRACTION) ? FRACTION_BUTTON : command[0];
+            AbstractButton button = buttons.get(name);
+            if (button == null) {
+                throw new IllegalArgumentException("No button for command " + command[0]);
+            }
+            dialogs.answer(command);
+            long start = System.nanoTime();
+            EventQueue.invokeAndWait(() -> {
+                if (!button.isEnabled()) {
+                    System.out.println("Button " + command[0] + " is disabled, the session does not match the view");
+                }
+                button.doClick(0);
+            });
+            EventQueue.invokeAndWait(() -> {
+            });
+            return System.nanoTime() - start;
+        }
+
+        /**
+         * Gets the text of the input field.
+         *
+         * @return The text of the input field.
+         */
+        private String text() {
+            return inputField.getText();
+        }
+
+        /**
+         * Releases the resources of the view.
+         *
+         * @return null.
+         */
+        private Void dispose() {
+            view.dispose();
+            return null;
+        }
+    }
+
+    /**
+     * The ScriptedDialogs class answers the dialog boxes of a fraction entry with the recorded text instead
+     * of showing them.
+     */
+    private static final class ScriptedDialogs extends CustomJOptionPane {
+
+        private String[] answers = new String[0];
+        private int next;
+
+        /**
+         * Sets the answers for the dialog boxes opened by the next command.
+         *
+         * @param command The name of the command followed by the recorded text.
+         */
+        private void answer(String[] command) {
+            answers = command;
+            next = 1;
+        }
+
+        /**
+         * Returns the next recorded answer.
+         *
+         * @param parentComponent Not used.
+         * @param message         Not used.
+         * @param title           Not used.
+         * @param options         Not used.
+         * @return The recorded text, or null if the dialog box was cancelled or no text was recorded.
+         */
+        @Override
+        public String showInputDialog(Component parentComponent, String message, String title, String[] options) {
+            return next < answers.length ? answers[next++] : null;
+        }
+
+        /**
+         * Ignores the message, which a user would have closed.
+         *
+         * @param parentComponent Not used.
+         * @param message         Not used.
+         * @param title           Not used.
+         */
+        @Override
+        public void showMessageDialog(Component parentComponent, String message, String title) {
+        }
+    }
+}
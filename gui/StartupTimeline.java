@@ -0,0 +1,63 @@
+package gui;
+
+import java.lang.management.ManagementFactory;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The StartupTimeline class logs how long the application takes to reach the milestones of its startup, such as
+ * the first frame on screen, the first moment it responds to input and the first result shown.
+ * <p>
+ * The timeline is off unless the application is started with {@code -Dcalculator.startup.trace=true}. Every
+ * milestone is logged once, the first time it is reached, with the time since {@code main} started and the
+ * uptime of the JVM. When the timeline is off, marking a milestone does nothing.
+ * <p>
+ * With {@code -Dcalculator.startup.exit=true} the application exits as soon as it is interactive, so a
+ * startup can be measured or replayed from a script, such as the training run that records the class
+ * data sharing archive of the runtime image.
+ *
+ * @author Junsel Fabe
+ * @version 1
+ */
+public final class StartupTimeline {
+
+    private static final boolean ENABLED = Boolean.getBoolean("calculator.startup.trace");
+    private static final boolean EXIT_WHEN_INTERACTIVE = Boolean.getBoolean("calculator.startup.exit");
+    private static final String INTERACTIVE = "interactive";
+    private static final long START = System.nanoTime();
+    private static final Set<String> REACHED = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Prevents instantiation of the utility class.
+     */
+    private StartupTimeline() {
+    }
+
+    /**
+     * Checks whether milestones are marked.
+     *
+     * @return true if the application was started with {@code -Dcalculator.startup.trace=true} or
+     * {@code -Dcalculator.startup.exit=true}.
+     */
+    public static boolean isEnabled() {
+        return ENABLED || EXIT_WHEN_INTERACTIVE;
+    }
+
+    /**
+     * Logs a milestone, unless it has been reached before. The time is measured from the first use of this
+     * class, so {@code main} should mark its start before doing anything else.
+     *
+     * @param milestone The name of the milestone.
+     */
+    public static void mark(String milestone) {
+        if (ENABLED && REACHED.add(milestone)) {
+            double millis = (System.nanoTime() - START) / 1e6;
+            long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+            System.out.printf("[startup] %-14s %8.1f ms (JVM uptime %d ms, %s)%n",
+                    milestone, millis, uptime, Thread.currentThread().getName());
+        }
+        if (EXIT_WHEN_INTERACTIVE && milestone.equals(INTERACTIVE)) {
+            System.exit(0);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package gui;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import javax.swing.plaf.basic.BasicButtonUI;
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The StyledButtonUI class extends BasicButtonUI and provides a custom appearance for buttons.
+ */
+class StyledButtonUI extends BasicButtonUI {
+
+    private static final int MAX_CACHED_SKINS = 64;
+
+    /**
+     * Pre-rendered button backgrounds shared by all buttons. Buttons are only painted on the event dispatch
+     * thread, so the cache needs no locking. Its key includes the size, so a resized button gets a new skin
+     * and the old one ages out.
+     */
+    private static final Map<SkinKey, BufferedImage> SKINS = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<SkinKey, BufferedImage> eldest) {
+            return size() > MAX_CACHED_SKINS;
+        }
+    };
+
+    /**
+     * The SkinKey record identifies one pre-rendered button background.
+     *
+     * @param width   the width of the button
+     * @param height  the height of the button
+     * @param rgb     the background color of the button
+     * @param yOffset the y-offset of the background, which depends on the pressed and toggle state
+     * @param scaleX  the horizontal scale of the device
+     * @param scaleY  the vertical scale of the device
+     */
+    private record SkinKey(int width, int height, int rgb, int yOffset, double scaleX, double scaleY) {
+    }
+
+    /**
+     * Installs the UI for the specified component.
+     *
+     * @param c The component for which to install the UI.
+     */
+    @Override
+    public void installUI(JComponent c) {
+        super.installUI(c);
+        AbstractButton button = (AbstractButton) c;
+        button.setOpaque(false);
+        button.setBorder(new EmptyBorder(5, 15, 5, 15));
+    }
+
+    /**
+     * Paints the button component with a custom background.
+     *
+     * @param g The Graphics object.
+     * @param c The component to be painted.
+     */
+    @Override
+    public void paint(Graphics g, JComponent c) {
+        AbstractButton b = (AbstractButton) c;
+        paintBackground(g, b, b.getModel().isPressed() ? 2 : 0);
+        super.paint(g, c);
+    }
+
+    /**
+     * Paints the background of the button with rounded corners by drawing its cached skin.
+     *
+     * @param g        The Graphics2D object.
+     * @param c        The button component.
+     * @param yOffset  The y-offset for painting.
+     */
+    private void paintBackground(Graphics g, JComponent c, int yOffset) {
+        Dimension size = c.getSize();
+        Graphics2D g2 = (Graphics2D) g;
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        if (size.width <= 0 || size.height <= 0) {
+            return;
+        }
+
+        if (c instanceof JToggleButton) {
+            yOffset += 2;
+        }
+
+        AffineTransform transform = g2.getTransform();
+        SkinKey key = new SkinKey(size.width, size.height, c.getBackground().getRGB(), yOffset,
+                transform.getScaleX(), transform.getScaleY());
+        BufferedImage skin = SKINS.get(key);
+        if (skin == null) {
+            skin = renderSkin(g2.getDeviceConfiguration(), key, c.getBackground());
+            SKINS.put(key, skin);
+        }
+        g2.drawImage(skin, 0, 0, size.width, size.height, null);
+    }
+
+    /**
+     * Renders a button background into a translucent image compatible with the device.
+     *
+     * @param configuration The configuration of the device the skin is drawn on.
+     * @param key           The size, color, offset and scale of the skin.
+     * @param background    The background color of the button.
+     * @return The rendered skin, in device pixels.
+     */
+    private static BufferedImage renderSkin(GraphicsConfiguration configuration, SkinKey key, Color background) {
+        int width = (int) Math.ceil(key.width() * key.scaleX());
+        int height = (int) Math.ceil(key.height() * key.scaleY());
+        BufferedImage skin = configuration.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+        Graphics2D g = skin.createGraphics();
+        g.scale(key.scaleX(), key.scaleY());
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        int yOffset = key.yOffset();
+        g.setColor(background.darker());
+        g.fillRoundRect(0, yOffset, key.width(), key.height() - yOffset, 10, 10);
+        g.setColor(background);
+        g.fillRoundRect(0, yOffset, key.width(), key.height() + yOffset - 5, 10, 10);
+        g.dispose();
+        return skin;
+    }
+}
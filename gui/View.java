@@ -1,6 +1,12 @@
 package gui;
 
+import engine.DiagonalFraction;
+import engine.EvaluationResult;
+import engine.Rational;
+import engine.ResultFormat;
 import exception.MixedFractionException;
+import profiling.PlaySoundEvent;
+import profiling.SetResultEvent;
 
 import javax.sound.sampled.*;
 import javax.swing.*;
@@ -9,17 +15,20 @@ import javax.swing.border.EmptyBorder;
 import javax.swing.border.LineBorder;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
-import javax.swing.plaf.basic.BasicButtonUI;
-import javax.swing.text.AttributeSet;
 import javax.swing.text.BadLocationException;
-import javax.swing.text.PlainDocument;
+import javax.swing.text.Document;
+import javax.swing.text.Segment;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Arrays;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * The View class represents the graphical user interface (GUI) for the Fraction Calculator application.
@@ -30,8 +39,86 @@ import java.util.Objects;
  */
 public class View extends JFrame {
 
+    private static volatile CompletableFuture<Font> calculatorFont;
+
     Controller controller;
     private ImageTextField inputField;
+    private PreviewUpdater previewUpdater;
+    private ImageIcon audioIcon;
+    private Icon noAudioIcon;
+    private CustomJOptionPane customJOptionPane;
+    private SessionRecorder recorder;
+    private PerformanceHud hud;
+
+    /**
+     * Constructs a View. Its frame is created by {@link #showUI()}, once a controller has been set.
+     */
+    public View() {
+    }
+
+    /**
+     * Starts loading what the UI needs in the background, so it is ready by the time the UI is created.
+     * The calculator font is parsed first, because the input field needs it, and the sound system is
+     * initialized afterwards, so the first click does not pay for it.
+     */
+    public static void preload() {
+        CompletableFuture<Font> font = new CompletableFuture<>();
+        calculatorFont = font;
+        Thread thread = new Thread(() -> {
+            try {
+                font.complete(readCalculatorFont());
+            } catch (IOException | FontFormatException | RuntimeException exception) {
+                font.completeExceptionally(exception);
+            }
+            try {
+                AudioSystem.getMixerInfo();
+                AudioSystem.getAudioFileFormat(Objects.requireNonNull(View.class.getResource("/assets/sounds/button-click.wav")));
+                StartupTimeline.mark("audio ready");
+            } catch (UnsupportedAudioFileException | IOException | RuntimeException exception) {
+                System.out.println("Error initializing sound: " + exception.getMessage());
+            }
+        }, "view-preload");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Reads the calculator font from the assets.
+     *
+     * @return The calculator font in the size of the input field.
+     * @throws IOException         If an I/O error occurs.
+     * @throws FontFormatException If the font file is not valid.
+     */
+    private static Font readCalculatorFont() throws IOException, FontFormatException {
+        try (InputStream is = View.class.getResourceAsStream("/assets/fonts/digital-7.ttf")) {
+            return Font.createFont(Font.TRUETYPE_FONT, Objects.requireNonNull(is)).deriveFont(40f);
+        }
+    }
+
+    /**
+     * Gets the calculator font, waiting for it if it is being preloaded and reading it otherwise.
+     *
+     * @return The calculator font in the size of the input field.
+     * @throws IOException         If an I/O error occurs.
+     * @throws FontFormatException If the font file is not valid.
+     */
+    private static Font calculatorFont() throws IOException, FontFormatException {
+        CompletableFuture<Font> preloaded = calculatorFont;
+        if (preloaded == null) {
+            return readCalculatorFont();
+        }
+        try {
+            return preloaded.join();
+        } catch (CompletionException exception) {
+            Throwable cause = exception.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            } else if (cause instanceof FontFormatException fontFormatException) {
+                throw fontFormatException;
+            }
+            throw exception;
+        }
+    }
 
     /**
      * Sets the controller instance for the View.
@@ -42,6 +129,25 @@ public class View extends JFrame {
         this.controller = controller;
     }
 
+    /**
+     * Sets the recorder that every pressed button is written to.
+     *
+     * @param recorder The session recorder, or null to stop recording.
+     */
+    public void setRecorder(SessionRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    /**
+     * Replaces the dialog boxes used to enter fractions, so a replayed session can answer them without
+     * showing anything.
+     *
+     * @param customJOptionPane The dialog boxes to be used.
+     */
+    void setCustomJOptionPane(CustomJOptionPane customJOptionPane) {
+        this.customJOptionPane = customJOptionPane;
+    }
+
     /**
      * Displays the Fraction Calculator UI.
      *
@@ -66,10 +172,19 @@ public class View extends JFrame {
         jFrame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         jFrame.setContentPane(contentPane());
         jFrame.pack();
-        jFrame.setMinimumSize(new Dimension(311, 431));
+        jFrame.setMinimumSize(new Dimension(311, 491));
         jFrame.setResizable(false);
-        jFrame.setSize(311, 431);
+        jFrame.setSize(311, 491);
         jFrame.setLocationRelativeTo(null);
+        if (StartupTimeline.isEnabled()) {
+            jFrame.addWindowListener(new WindowAdapter() {
+                @Override
+                public void windowOpened(WindowEvent e) {
+                    StartupTimeline.mark("first frame");
+                    SwingUtilities.invokeLater(() -> StartupTimeline.mark("interactive"));
+                }
+            });
+        }
         jFrame.setVisible(true);
     }
 
@@ -87,10 +202,36 @@ public class View extends JFrame {
         JPanel buttonPanel = buttonPanel();
         contentPane.add(inputField, BorderLayout.NORTH);
         contentPane.add(buttonPanel, BorderLayout.CENTER);
+        contentPane.getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW).put(KeyStroke.getKeyStroke("ctrl shift H"), "toggleHud");
+        contentPane.getActionMap().put("toggleHud", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                toggleHud(contentPane);
+            }
+        });
         setContentPane(contentPane);
         return contentPane;
     }
 
+    /**
+     * Shows or hides the performance overlay over the window of the specified component. The overlay is
+     * created the first time it is shown, and is toggled with Ctrl+Shift+H.
+     *
+     * @param component A component in the window the overlay is shown over.
+     */
+    private void toggleHud(JComponent component) {
+        JRootPane rootPane = SwingUtilities.getRootPane(component);
+        if (rootPane == null) {
+            return;
+        }
+        if (hud == null) {
+            hud = new PerformanceHud(controller.model);
+            hud.setLocation(8, 8);
+            rootPane.getLayeredPane().add(hud, JLayeredPane.PALETTE_LAYER);
+        }
+        hud.toggle();
+    }
+
     /**
      * Creates the input field for the Fraction Calculator UI.
      *
@@ -99,13 +240,14 @@ public class View extends JFrame {
      * @throws FontFormatException   If an error occurs during font formatting.
      */
     public JTextField inputField() throws IOException, FontFormatException {
-        ImageIcon javaImage = createScaledImageIcon("/assets/pics/audio.png");
-        inputField = new ImageTextField(javaImage);
+        audioIcon = createScaledImageIcon("/assets/pics/audio.png");
+        noAudioIcon = new LazyIcon(20, 20, () -> createScaledImageIcon("/assets/pics/no-audio.png"));
+        inputField = new ImageTextField(audioIcon);
         inputField.setEditable(false);
-        inputField.setDocument((new LengthRestrictedDocument(15)));
-        InputStream is = getClass().getResourceAsStream("/assets/fonts/digital-7.ttf");
-        Font calculatorFont = Font.createFont(Font.TRUETYPE_FONT, Objects.requireNonNull(is)).deriveFont(40f);
-        inputField.setFont(calculatorFont);
+        inputField.setDocument((new LengthRestrictedDocument(ResultFormat.MAX_LENGTH)));
+        previewUpdater = new PreviewUpdater(inputField);
+        inputField.getDocument().addDocumentListener(previewUpdater);
+        inputField.setFont(calculatorFont());
         inputField.setBackground(new Color(212, 226, 227));
         inputField.setBorder(new CompoundBorder(new LineBorder(Color.BLACK), new EmptyBorder(10, 10, 10, 10)));
         inputField.setHorizontalAlignment(JTextField.RIGHT);
@@ -118,8 +260,8 @@ public class View extends JFrame {
      * @return The JPanel representing the button panel.
      */
     public JPanel buttonPanel() {
-        JPanel buttonPanel = new JPanel(new GridLayout(5, 4, 5, 5));
-        buttonPanel.setPreferredSize(new Dimension(325, 300));
+        JPanel buttonPanel = new JPanel(new GridLayout(6, 4, 5, 5));
+        buttonPanel.setPreferredSize(new Dimension(325, 360));
         addButtonsToPanel(buttonPanel);
         return buttonPanel;
     }
@@ -131,9 +273,9 @@ public class View extends JFrame {
      */
     public void addButtonsToPanel(JPanel buttonPanel) {
         ImageIcon offImage = createScaledImageIcon("/assets/pics/switch-off.png");
-        ImageIcon onImage = createScaledImageIcon("/assets/pics/switch-on.png");
-        ImageIcon onVoice = createScaledImageIcon("/assets/pics/audio.png");
-        ImageIcon offVoice = createScaledImageIcon("/assets/pics/no-audio.png");
+        Icon onImage = new LazyIcon(20, 20, () -> createScaledImageIcon("/assets/pics/switch-on.png"));
+        Icon onVoice = audioIcon;
+        Icon offVoice = noAudioIcon;
         JToggleButton powerButton = new JToggleButton(offImage, false);
         JToggleButton voiceButton = new JToggleButton(onVoice, false);
         final Boolean[] checkSound = new Boolean[1];
@@ -146,13 +288,23 @@ public class View extends JFrame {
                 new JButton("1"), new JButton("2"), new JButton("3"), new JButton("-"),
                 new JButton("0"), new JButton("C"), new JButton("="), new JButton("+"),
                 powerButton, voiceButton, new JButton("←"),
-                new JButton("x" + diagonalFraction(1, 2))
+                new JButton("x" + diagonalFraction(1, 2)),
+                new JButton("^"), new JButton("√")
         )) {
             button.setFont(new Font("Arial Unicode MS", Font.BOLD, 20));
             button.setForeground(Color.white);
+            button.setName(button == powerButton ? "power" : button == voiceButton ? "sound" : button.getText());
+            if (!button.getName().equals("x" + diagonalFraction(1, 2))) {
+                button.addActionListener(e -> record(button.getName()));
+            }
+
+            if (button.getText().matches("[+\\-*÷^]")) {
+                MyDocumentListener myDocumentListener = new MyDocumentListener((JButton) button, inputField, "[+\\-*÷^]");
+                inputField.getDocument().addDocumentListener(myDocumentListener);
+            }
 
-            if (button.getText().matches("[+\\-*÷]")) {
-                MyDocumentListener myDocumentListener = new MyDocumentListener((JButton) button, inputField, "[+\\-*÷]");
+            if (button.getText().equals("√")) {
+                MyDocumentListener myDocumentListener = new MyDocumentListener((JButton) button, inputField, "√");
                 inputField.getDocument().addDocumentListener(myDocumentListener);
             }
 
@@ -193,11 +345,11 @@ public class View extends JFrame {
             if (!(button instanceof JToggleButton)) {
                 button.addActionListener(e -> {
                     String command = button.getText();
-                    if (command.matches("[0-9]+|[+\\-*÷]")) {
+                    if (command.matches("[0-9]+|[+\\-*÷^√]")) {
                         if (command.equals("÷")) {
                             command = "/";
                         }
-                        setResult(inputField.getText() + command);
+                        appendResult(command);
                         playSound("/assets/sounds/button-click.wav", checkSound[0]);
                     } else if (command.equals("=")) {
 
@@ -221,6 +373,7 @@ public class View extends JFrame {
                         }
 
                     } else if (command.equals("C")) {
+                        controller.clearResult();
                         setResult("");
                         playSound("/assets/sounds/clear-click.wav", checkSound[0]);
                     }
@@ -229,12 +382,8 @@ public class View extends JFrame {
 
             if (button.getText().equals("←")) {
                 button.addActionListener(e -> {
-                    String textFieldText = inputField.getText();
-                    char[] chars = textFieldText.toCharArray();
-                    if (chars.length > 0) {
-                        StringBuilder sb = new StringBuilder(textFieldText);
-                        sb.deleteCharAt(chars.length - 1);
-                        setResult(sb.toString());
+                    if (removeLastCharacter()) {
+                        controller.clearResult();
                         playSound("/assets/sounds/back-click.wav", checkSound[0]);
                     }
                 });
@@ -245,12 +394,12 @@ public class View extends JFrame {
                 button.addActionListener(e -> {
                     playSound("/assets/sounds/fraction-click.wav", checkSound[0]);
                     String[] options = {"OK", "Cancel"};
-                    CustomJOptionPane customJOptionPane = null;
+                    CustomJOptionPane customJOptionPane = customJOptionPane();
                     try {
-                        customJOptionPane = new CustomJOptionPane();
                         String numeratorStr = customJOptionPane.showInputDialog(null, "Enter the numerator:", "Fraction", options);
                         playSound("/assets/sounds/fraction-click.wav", checkSound[0]);
                         String denominatorStr = customJOptionPane.showInputDialog(null, "Enter the denominator:", "Fraction", options);
+                        record(SessionRecorder.FRACTION, numeratorStr, denominatorStr);
                         int numerator = Integer.parseInt(numeratorStr);
                         int denominator = Integer.parseInt(denominatorStr);
                         if (denominator == 0) {
@@ -259,7 +408,7 @@ public class View extends JFrame {
                         }
                         Font inputFieldFont = new Font("Arial Unicode MS", Font.PLAIN, 40);
                         inputField.setFont(inputFieldFont);
-                        setResult(inputField.getText() + diagonalFraction(numerator, denominator));
+                        appendResult(diagonalFraction(numerator, denominator));
                     } catch (NumberFormatException exception) {
                         playSound("/assets/sounds/error-click.wav", checkSound[0]);
                         Objects.requireNonNull(customJOptionPane).showMessageDialog(null, "Only digits are allowed!", "Error");
@@ -275,6 +424,7 @@ public class View extends JFrame {
                     if (powerButton.isSelected()) {
                         playSound("/assets/sounds/off-click.wav", checkSound[0]);
                         enableButtons(buttonPanel);
+                        controller.clearResult();
                         setResult("");
                     } else {
                         playSound("/assets/sounds/on-click.wav", checkSound[0]);
@@ -303,7 +453,8 @@ public class View extends JFrame {
 
             if (button.getText().equals("=") || button.getText().equals("C")) {
                 button.setBackground(new Color(0xE65100));
-            } else if (button.getText().equals("+") || button.getText().equals("-") || button.getText().equals("*") || button.getText().equals("÷")) {
+            } else if (button.getText().equals("+") || button.getText().equals("-") || button.getText().equals("*") || button.getText().equals("÷")
+                    || button.getText().equals("^") || button.getText().equals("√")) {
                 button.setBackground(new Color(243, 243, 241));
                 button.setForeground(Color.BLACK);
             } else if (button.getText().equals("+/-") || button.getText().equals(("x" + diagonalFraction(1, 2)))) {
@@ -327,12 +478,23 @@ public class View extends JFrame {
         }
     }
 
+    /**
+     * Writes a pressed button to the session recorder, if one is set.
+     *
+     * @param command The name of the button.
+     * @param inputs  The text typed into the dialog boxes the button opened.
+     */
+    private void record(String command, String... inputs) {
+        if (recorder != null) {
+            recorder.record(command, inputs);
+        }
+    }
+
     /**
      * Turns off the voice icon in the input field.
      */
     private void turnOffVoice() {
-        ImageIcon icon = createScaledImageIcon("/assets/pics/no-audio.png");
-        inputField.setImage(icon);
+        inputField.setImage(noAudioIcon);
         inputField.revalidate();
         inputField.repaint();
     }
@@ -341,8 +503,7 @@ public class View extends JFrame {
      * Turns on the voice icon in the input field.
      */
     private void turnOnVoice() {
-        ImageIcon icon = createScaledImageIcon("/assets/pics/audio.png");
-        inputField.setImage(icon);
+        inputField.setImage(audioIcon);
         inputField.revalidate();
         inputField.repaint();
     }
@@ -383,6 +544,8 @@ public class View extends JFrame {
      * @param checkSound    A boolean indicating whether sound is enabled.
      */
     private void playSound(String soundFilePath, Boolean checkSound) {
+        PlaySoundEvent playSoundEvent = new PlaySoundEvent();
+        playSoundEvent.begin();
         if (checkSound) {
             try {
                 InputStream inputStream = getClass().getResourceAsStream(soundFilePath);
@@ -394,6 +557,23 @@ public class View extends JFrame {
                 System.out.println("Error playing sound file: " + ex.getMessage());
             }
         }
+        if (playSoundEvent.shouldCommit()) {
+            playSoundEvent.soundFile = soundFilePath;
+            playSoundEvent.enabled = checkSound;
+            playSoundEvent.commit();
+        }
+    }
+
+    /**
+     * Gets the dialog boxes used to enter fractions, creating them the first time they are needed.
+     *
+     * @return The custom dialog boxes.
+     */
+    private CustomJOptionPane customJOptionPane() {
+        if (customJOptionPane == null) {
+            customJOptionPane = new CustomJOptionPane();
+        }
+        return customJOptionPane;
     }
 
     /**
@@ -404,32 +584,7 @@ public class View extends JFrame {
      * @return The formatted string representation of the diagonal fraction.
      */
     public String diagonalFraction(int numerator, int denominator) {
-        char[] numeratorDigits = new char[]{
-                '⁰', '¹', '²', '³', '⁴',
-                '⁵', '⁶', '⁷', '⁸', '⁹'};
-        char[] denominatorDigits = new char[]{
-                '₀', '₁', '₂', '₃', '₄',
-                '₅', '₆', '₇', '₈', '₉'};
-        char fractionSlash = '⁄';
-
-        if (denominator == 0) {
-            return "";
-        }
-
-        if (numerator == 0) {
-            return "0";
-        }
-        StringBuilder numeratorStr = new StringBuilder();
-        while (numerator > 0) {
-            numeratorStr.insert(0, numeratorDigits[numerator % 10]);
-            numerator = numerator / 10;
-        }
-        StringBuilder denominatorStr = new StringBuilder();
-        while (denominator > 0) {
-            denominatorStr.insert(0, denominatorDigits[denominator % 10]);
-            denominator = denominator / 10;
-        }
-        return " " + numeratorStr + fractionSlash + denominatorStr;
+        return DiagonalFraction.format(numerator, denominator);
     }
 
     /**
@@ -445,240 +600,82 @@ public class View extends JFrame {
     }
 
     /**
-     * Sets the result in the input field.
+     * Seeds the preview of the input field with the last answer, so the preview of a calculation continuing
+     * it is computed from its exact value.
      *
-     * @param res The result to be set in the input field.
+     * @param answer The text of the last answer, or null if there is none.
+     * @param value  The exact value of the last answer, or null if there is none.
      */
-    public void setResult(String res) {
-        this.inputField.setText(res);
-    }
-
-}
-
-/**
- * The ImageTextField class extends JTextField and includes an ImageIcon for displaying images within the text field.
- */
-class ImageTextField extends JTextField {
-    private ImageIcon imageIcon;
-
-    /**
-     * Creates an ImageTextField with the specified ImageIcon.
-     *
-     * @param icon The ImageIcon to be displayed in the text field.
-     */
-    public ImageTextField(ImageIcon icon) {
-        super();
-        this.imageIcon = icon;
-    }
-
-    /**
-     * Paints the component, including the ImageIcon.
-     *
-     * @param g The Graphics object.
-     */
-    @Override
-    protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
-        int imageX = 5;
-        int imageY = (getHeight() - imageIcon.getIconHeight()) / 2;
-        imageIcon.paintIcon(this, g, imageX, imageY);
-    }
-
-    /**
-     * Sets the ImageIcon for the ImageTextField.
-     *
-     * @param icon The ImageIcon to be set.
-     */
-    public void setImage(ImageIcon icon) {
-        this.imageIcon = icon;
-    }
-
-}
-
-/**
- * The StyledButtonUI class extends BasicButtonUI and provides a custom appearance for buttons.
- */
-class StyledButtonUI extends BasicButtonUI {
-
-    /**
-     * Installs the UI for the specified component.
-     *
-     * @param c The component for which to install the UI.
-     */
-    @Override
-    public void installUI(JComponent c) {
-        super.installUI(c);
-        AbstractButton button = (AbstractButton) c;
-        button.setOpaque(false);
-        button.setBorder(new EmptyBorder(5, 15, 5, 15));
-    }
-
-    /**
-     * Paints the button component with a custom background.
-     *
-     * @param g The Graphics object.
-     * @param c The component to be painted.
-     */
-    @Override
-    public void paint(Graphics g, JComponent c) {
-        AbstractButton b = (AbstractButton) c;
-        paintBackground(g, b, b.getModel().isPressed() ? 2 : 0);
-        super.paint(g, c);
-    }
-
-    /**
-     * Paints the background of the button with rounded corners.
-     *
-     * @param g        The Graphics2D object.
-     * @param c        The button component.
-     * @param yOffset  The y-offset for painting.
-     */
-    private void paintBackground(Graphics g, JComponent c, int yOffset) {
-        Dimension size = c.getSize();
-        Graphics2D g2 = (Graphics2D) g;
-        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-        if (c instanceof JToggleButton) {
-            yOffset += 2;
+    public void seedPreview(String answer, Rational value) {
+        if (previewUpdater != null) {
+            previewUpdater.seed(answer, value);
         }
-
-        g.setColor(c.getBackground().darker());
-        g.fillRoundRect(0, yOffset, size.width, size.height - yOffset, 10, 10);
-        g.setColor(c.getBackground());
-        g.fillRoundRect(0, yOffset, size.width, size.height + yOffset - 5, 10, 10);
-    }
-}
-
-/**
- * The LengthRestrictedDocument class extends PlainDocument and restricts the length of the document.
- */
-class LengthRestrictedDocument extends PlainDocument {
-
-    private final int limit;
-
-    /**
-     * Creates a LengthRestrictedDocument with the specified character limit.
-     *
-     * @param limit The character limit for the document.
-     */
-    public LengthRestrictedDocument(int limit) {
-        this.limit = limit;
     }
 
     /**
-     * Inserts the specified string into the document, respecting the character limit.
+     * Sets the result in the input field. The field rejects text longer than it holds, which would leave it
+     * empty, so such a result is shown as an overflow instead.
      *
-     * @param offs The offset at which to insert the string.
-     * @param str  The string to be inserted.
-     * @param a    The AttributeSet.
-     * @throws BadLocationException If the insertion location is invalid.
+     * @param res The result to be set in the input field.
      */
-    @Override
-    public void insertString(int offs, String str, AttributeSet a)
-            throws BadLocationException {
-        if (str == null)
-            return;
-
-        if ((getLength() + str.length()) <= limit) {
-            super.insertString(offs, str, a);
+    public void setResult(String res) {
+        SetResultEvent setResultEvent = new SetResultEvent();
+        setResultEvent.begin();
+        if (res.length() > ResultFormat.MAX_LENGTH) {
+            res = EvaluationResult.Failure.OVERFLOW.text();
+        }
+        this.inputField.setText(res);
+        if (setResultEvent.shouldCommit()) {
+            setResultEvent.textLength = res.length();
+            setResultEvent.commit();
         }
     }
-}
-
-/**
- * The CustomJOptionPane class provides custom input and message dialog boxes with specific styling and functionality.
- */
-class CustomJOptionPane {
 
     /**
-     * Creates a scaled ImageIcon from the specified image path.
+     * Appends text to the end of the input field. Only the appended text is inserted into the document, so
+     * the work and the events fired do not depend on the length of the expression. Text that would exceed
+     * the length limit of the input field is ignored.
      *
-     * @param path The path to the image file.
-     * @return The scaled ImageIcon.
+     * @param text The text to be appended.
      */
-    public ImageIcon createScaledImageIcon(String path) {
-        ImageIcon image = new ImageIcon(Objects.requireNonNull(getClass().getResource(path)));
-        Image scaledImg = image.getImage().getScaledInstance(20, 20, java.awt.Image.SCALE_SMOOTH);
-        return new ImageIcon(scaledImg);
-    }
-
-    /**
-     * Displays an input dialog box with a message, title, and custom options.
-     *
-     * @param parentComponent The parent component for the dialog box.
-     * @param message         The message to be displayed.
-     * @param title           The title of the dialog box.
-     * @param options         The array of custom options.
-     * @return The user's input from the dialog box.
-     */
-    public String showInputDialog(Component parentComponent, String message, String title, String[] options) {
-        JPanel panel = new JPanel();
-        JLabel label = new JLabel(message);
-        JTextField textField = new JTextField(10);
-        textField.setDocument((new LengthRestrictedDocument(4)));
-
-        ImageIcon icoImage = createScaledImageIcon("/assets/pics/icon.png");
-        JLabel iconLabel = new JLabel(icoImage);
-
-        panel.add(iconLabel);
-        panel.add(label);
-        panel.add(textField);
-
-        final Object[][] returnValue = new Object[1][1];
-
-        JButton[] buttons = new JButton[options.length];
-        for (int i = 0; i < options.length; i++) {
-            final int option = i;
-            buttons[i] = new JButton(options[i]);
-            if (i == 0) {
-                buttons[i].setBackground(new Color(78, 135, 82));
-            } else {
-                buttons[i].setBackground(new Color(227, 82, 82));
-            }
-            buttons[i].setUI(new StyledButtonUI());
-            buttons[i].addActionListener(e -> {
-                String text = textField.getText();
-                JOptionPane.getRootFrame().dispose();
-                returnValue[0] = new Object[]{option, text};
-            });
+    public void appendResult(String text) {
+        SetResultEvent setResultEvent = new SetResultEvent();
+        setResultEvent.begin();
+        Document document = inputField.getDocument();
+        try {
+            document.insertString(document.getLength(), text, null);
+        } catch (BadLocationException exception) {
+            throw new IllegalStateException(exception);
         }
-
-        JOptionPane.showOptionDialog(parentComponent, panel, title, JOptionPane.DEFAULT_OPTION, JOptionPane.PLAIN_MESSAGE, null, buttons, buttons[0]);
-
-        if (returnValue[0] == null) {
-            return null;
-        } else {
-            Object[] selectedValues = returnValue[0];
-            return (String) selectedValues[1];
+        if (setResultEvent.shouldCommit()) {
+            setResultEvent.textLength = document.getLength();
+            setResultEvent.commit();
         }
     }
 
     /**
-     * Displays a message dialog box with a message, title, and an "Okay" button.
+     * Removes the last character of the input field without replacing the rest of the document.
      *
-     * @param parentComponent The parent component for the dialog box.
-     * @param message         The message to be displayed.
-     * @param title           The title of the dialog box.
+     * @return true if a character was removed, false if the input field was empty.
      */
-    public void showMessageDialog(Component parentComponent, String message, String title) {
-        JPanel panel = new JPanel();
-        JLabel messageLabel = new JLabel(message);
-
-        ImageIcon icon = createScaledImageIcon("/assets/pics/icon.png");
-        JLabel iconLabel = new JLabel(icon);
-
-        panel.add(iconLabel);
-        panel.add(messageLabel);
-
-        JButton button = new JButton("Okay");
-        button.addActionListener(e -> JOptionPane.getRootFrame().dispose());
-        button.setUI(new StyledButtonUI());
-        button.setPreferredSize(new Dimension(75, 25));
-        button.setBackground(new Color(227, 82, 82));
-
-        JButton[] options = {button};
-        JOptionPane.showOptionDialog(parentComponent, panel, title, JOptionPane.DEFAULT_OPTION, JOptionPane.PLAIN_MESSAGE, null, options, -1);
-
+    public boolean removeLastCharacter() {
+        Document document = inputField.getDocument();
+        int length = document.getLength();
+        if (length == 0) {
+            return false;
+        }
+        SetResultEvent setResultEvent = new SetResultEvent();
+        setResultEvent.begin();
+        try {
+            document.remove(length - 1, 1);
+        } catch (BadLocationException exception) {
+            throw new IllegalStateException(exception);
+        }
+        if (setResultEvent.shouldCommit()) {
+            setResultEvent.textLength = length - 1;
+            setResultEvent.commit();
+        }
+        return true;
     }
 
 }
@@ -687,6 +684,8 @@ class CustomJOptionPane {
  * The MyDocumentListener class implements the DocumentListener interface to track changes in a document (e.g., JTextField).
  */
 class MyDocumentListener implements DocumentListener {
+    private static final String FRACTION_BUTTON = "x" + DiagonalFraction.format(1, 2);
+    private final Segment text = new Segment();
     private final JButton button;
     private final JTextField inputField;
     private final String buttonText;
@@ -735,28 +734,56 @@ class MyDocumentListener implements DocumentListener {
     }
 
     /**
-     * Checks the state of the associated button based on the content of the input field.
+     * Checks the state of the associated button based on the content of the input field. The content is
+     * read through a reused segment, which refers to the text of the document instead of copying it.
      */
     private void checkButtonEnabled() {
-        View view = new View();
-        String text = inputField.getText();
-        char lastChar = text.length() > 0 ? text.charAt(text.length() - 1) : 'F';
+        Document document = inputField.getDocument();
+        int length = document.getLength();
+        try {
+            document.getText(0, length, text);
+        } catch (BadLocationException exception) {
+            throw new IllegalStateException(exception);
+        }
+        char lastChar = text.count > 0 ? text.array[text.offset + text.count - 1] : 'F';
         if (buttonText.equals("C")) {
-            button.setEnabled(text.length() > 1 && lastChar != 'F');
+            button.setEnabled(length > 1 && lastChar != 'F');
         } else if (buttonText.equals("=")) {
-            button.setEnabled(text.contains("+") || text.contains("-") || text.contains("/") || text.contains("*"));
+            button.setEnabled(containsOperator());
+        } else if (buttonText.equals("√")) {
+            button.setEnabled(length == 0 || isOperator(lastChar));
         } else if (buttonText.equals("←")) {
-            button.setEnabled(text.length() > 0 && lastChar != 'F');
-        } else if (buttonText.equals("x" + view.diagonalFraction(1, 2))) {
-            String s = Character.toString(lastChar);
-            button.setEnabled(!s.matches("[₀-₉]"));
+            button.setEnabled(length > 0 && lastChar != 'F');
+        } else if (buttonText.equals(FRACTION_BUTTON)) {
+            button.setEnabled(lastChar < '₀' || lastChar > '₉');
+        } else if (button.getText().equals("-") && lastChar == '^') {
+            button.setEnabled(true);
         } else {
-            button.setEnabled(lastChar != '+' && lastChar != '-' && lastChar != '*' && lastChar != '/' && lastChar != 'F');
+            button.setEnabled(!isOperator(lastChar) && lastChar != 'F');
         }
     }
-}
-
-
-
 
+    /**
+     * Checks whether the text read into the segment contains an operator.
+     *
+     * @return true if the text contains +, -, /, *, ^ or √.
+     */
+    private boolean containsOperator() {
+        for (int i = text.offset; i < text.offset + text.count; i++) {
+            if (isOperator(text.array[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
 
+    /**
+     * Checks whether a character is an operator.
+     *
+     * @param c The character.
+     * @return true if the character is +, -, /, *, ^ or √.
+     */
+    private static boolean isOperator(char c) {
+        return c == '+' || c == '-' || c == '/' || c == '*' || c == '^' || c == '√';
+    }
+}
@@ -0,0 +1,14 @@
+package history;
+
+/**
+ * The HistoryEntry record represents one completed evaluation of the calculator.
+ *
+ * @param input        the expression as it was shown in the input field
+ * @param result       the result that was shown for the expression, or the error message
+ * @param timestamp    the time of the evaluation in milliseconds since the epoch
+ * @param latencyNanos the time the evaluation took in nanoseconds
+ * @author Junsel Fabe
+ * @version 1
+ */
+public record HistoryEntry(String input, String result, long timestamp, long latencyNanos) {
+}
@@ -0,0 +1,411 @@
+package history;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The HistoryLog class keeps every completed evaluation in a memory-mapped, append-only log file.
+ * <p>
+ * Each record is length-prefixed and holds the timestamp, the latency, the input and the result. Every
+ * {@value #CHECKPOINT_INTERVAL}th record has its offset written to a sidecar index file, so a record can be
+ * found by seeking to its checkpoint and skipping at most {@value #CHECKPOINT_INTERVAL} records. The most
+ * recent entries are also kept in memory and can be recalled without touching the file.
+ * <p>
+ * Appends are written by a single background thread, so callers on the event dispatch thread never wait
+ * for the disk. Once the log reaches its size cap it is rotated to a {@code .1} file and the newest blocks
+ * are compacted into a fresh log. An entry too large to fit even in a fresh log is reported and not written.
+ * Once the log is closed, further appends are ignored.
+ *
+ * @author Junsel Fabe
+ * @version 1
+ */
+public class HistoryLog implements Closeable {
+
+    /**
+     * The default size cap of the log file in bytes.
+     */
+    public static final int DEFAULT_SIZE_CAP = 4 << 20;
+
+    private static final int MAGIC = 0x46434831;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 24;
+    private static final int CHECKPOINT_INTERVAL = 64;
+    private static final int RECENT_CAPACITY = 256;
+    private static final int RETAINED_CHECKPOINTS = 4;
+
+    private final Path path;
+    private final Path indexPath;
+    private final int sizeCap;
+    private final ExecutorService writer;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private final HistoryEntry[] recent = new HistoryEntry[RECENT_CAPACITY];
+    private long recentCount;
+
+    private FileChannel channel;
+    private FileChannel indexChannel;
+    private MappedByteBuffer buffer;
+    private long[] checkpoints = new long[16];
+    private int checkpointCount;
+    private int writePosition;
+    private long entryCount;
+
+    /**
+     * Constructs a HistoryLog for the specified file.
+     *
+     * @param path    The log file, created if it does not exist.
+     * @param sizeCap The size in bytes after which the log is rotated and compacted.
+     * @throws IOException If the log file or its index cannot be opened.
+     */
+    public HistoryLog(Path path, int sizeCap) throws IOException {
+        if (sizeCap <= HEADER_SIZE) {
+            throw new IllegalArgumentException("Size cap is too small: " + sizeCap);
+        }
+        this.path = path;
+        this.indexPath = path.resolveSibling(path.getFileName() + ".idx");
+        this.sizeCap = sizeCap;
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "history-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        open();
+    }
+
+    /**
+     * Opens the log file with the default size cap.
+     *
+     * @param path The log file, created if it does not exist.
+     * @return The opened HistoryLog.
+     * @throws IOException If the log file or its index cannot be opened.
+     */
+    public static HistoryLog open(Path path) throws IOException {
+        return new HistoryLog(path, DEFAULT_SIZE_CAP);
+    }
+
+    /**
+     * Appends an entry to the log. The entry can be recalled immediately, while the file write happens
+     * on the background writer thread. It does nothing once the log is closed.
+     *
+     * @param entry The entry to be appended.
+     */
+    public void append(HistoryEntry entry) {
+        if (closed.get()) {
+            return;
+        }
+        synchronized (recent) {
+            recent[(int) (recentCount++ % RECENT_CAPACITY)] = entry;
+        }
+        try {
+            writer.execute(() -> write(entry));
+        } catch (RejectedExecutionException exception) {
+            // the log was closed while the entry was being appended
+        }
+    }
+
+    /**
+     * Recalls one of the most recent entries without reading the file.
+     *
+     * @param back How many entries to go back, 0 being the newest entry.
+     * @return The entry, or null if it is no longer kept in memory.
+     */
+    public HistoryEntry recent(int back) {
+        synchronized (recent) {
+            if (back < 0 || back >= Math.min(recentCount, RECENT_CAPACITY)) {
+                return null;
+            }
+            return recent[(int) ((recentCount - 1 - back) % RECENT_CAPACITY)];
+        }
+    }
+
+    /**
+     * Gets the number of entries written to the current log file.
+     *
+     * @return The number of entries in the log file.
+     */
+    public synchronized long size() {
+        return entryCount;
+    }
+
+    /**
+     * Reads an entry from the current log file.
+     *
+     * @param ordinal The position of the entry in the log file, 0 being the oldest entry.
+     * @return The entry at the specified position.
+     */
+    public synchronized HistoryEntry get(long ordinal) {
+        if (ordinal < 0 || ordinal >= entryCount) {
+            throw new IndexOutOfBoundsException("Entry " + ordinal + " of " + entryCount);
+        }
+        int position = (int) checkpoints[(int) (ordinal / CHECKPOINT_INTERVAL)];
+        for (long i = ordinal % CHECKPOINT_INTERVAL; i > 0; i--) {
+            position += Integer.BYTES + buffer.getInt(position);
+        }
+        return read(position);
+    }
+
+    /**
+     * Searches the current log file for entries whose input starts with the specified prefix. Records are
+     * compared in place in the mapped file, so only the matching entries are decoded.
+     *
+     * @param prefix The prefix the input must start with.
+     * @param limit  The maximum number of entries to be returned.
+     * @return The matching entries, newest first.
+     */
+    public synchronized List<HistoryEntry> search(String prefix, int limit) {
+        byte[] prefixBytes = prefix.getBytes(StandardCharsets.UTF_8);
+        List<HistoryEntry> matches = new ArrayList<>();
+        List<HistoryEntry> block = new ArrayList<>();
+        for (int checkpoint = checkpointCount - 1; checkpoint >= 0 && matches.size() < limit; checkpoint--) {
+            int position = (int) checkpoints[checkpoint];
+            int end = checkpoint + 1 < checkpointCount ? (int) checkpoints[checkpoint + 1] : writePosition;
+            block.clear();
+            while (position < end) {
+                if (startsWith(position, prefixBytes)) {
+                    block.add(read(position));
+                }
+                position += Integer.BYTES + buffer.getInt(position);
+            }
+            for (int i = block.size() - 1; i >= 0 && matches.size() < limit; i--) {
+                matches.add(block.get(i));
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Waits for the pending appends, then flushes and closes the log file. Closing a closed log does nothing.
+     *
+     * @throws IOException If the log file cannot be flushed or closed.
+     */
+    @Override
+    public void close() throws IOException {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        writer.shutdown();
+        try {
+            writer.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            buffer.force();
+            channel.close();
+            indexChannel.close();
+        }
+    }
+
+    /**
+     * Opens the log file and its index, rebuilding the index if it does not match the log.
+     *
+     * @throws IOException If the log file or its index cannot be opened.
+     */
+    private synchronized void open() throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(sizeCap, channel.size()));
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            writeHeader(HEADER_SIZE, 0);
+        }
+        writePosition = buffer.getInt(8);
+        entryCount = buffer.getLong(12);
+
+        indexChannel = FileChannel.open(indexPath, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        checkpointCount = 0;
+        ByteBuffer index = ByteBuffer.allocate((int) indexChannel.size());
+        indexChannel.read(index, 0);
+        index.flip();
+        while (index.remaining() >= Long.BYTES) {
+            addCheckpoint(index.getLong());
+        }
+        if (checkpointCount != (entryCount + CHECKPOINT_INTERVAL - 1) / CHECKPOINT_INTERVAL) {
+            rebuildIndex();
+        }
+    }
+
+    /**
+     * Rebuilds the index by scanning every record of the log file.
+     *
+     * @throws IOException If the index cannot be written.
+     */
+    private void rebuildIndex() throws IOException {
+        indexChannel.truncate(0);
+        checkpointCount = 0;
+        int position = HEADER_SIZE;
+        for (long i = 0; i < entryCount; i++) {
+            if (i % CHECKPOINT_INTERVAL == 0) {
+                writeCheckpoint(position);
+            }
+            position += Integer.BYTES + buffer.getInt(position);
+        }
+    }
+
+    /**
+     * Writes an entry at the end of the log file, rotating the log first if the entry does not fit. An entry
+     * larger than the size cap is reported and skipped.
+     *
+     * @param entry The entry to be written.
+     */
+    private synchronized void write(HistoryEntry entry) {
+        byte[] input = entry.input().getBytes(StandardCharsets.UTF_8);
+        byte[] result = entry.result().getBytes(StandardCharsets.UTF_8);
+        int length = Long.BYTES + Long.BYTES + Integer.BYTES + input.length + result.length;
+        if (HEADER_SIZE + Integer.BYTES + length > sizeCap) {
+            System.out.println("Error writing history: entry of " + (Integer.BYTES + length)
+                    + " bytes does not fit in the size cap of " + sizeCap + " bytes");
+            return;
+        }
+        try {
+            if (writePosition + Integer.BYTES + length > sizeCap) {
+                rotate(Integer.BYTES + length);
+            }
+            if (entryCount % CHECKPOINT_INTERVAL == 0) {
+                writeCheckpoint(writePosition);
+            }
+            int position = writePosition;
+            buffer.putInt(position, length);
+            buffer.putLong(position + 4, entry.timestamp());
+            buffer.putLong(position + 12, entry.latencyNanos());
+            buffer.putInt(position + 20, input.length);
+            buffer.put(position + 24, input);
+            buffer.put(position + 24 + input.length, result);
+            writeHeader(position + Integer.BYTES + length, entryCount + 1);
+        } catch (IOException exception) {
+            System.out.println("Error writing history: " + exception.getMessage());
+        }
+    }
+
+    /**
+     * Moves the full log file to the {@code .1} file and starts a new log holding only the newest blocks
+     * of the old one, as long as they leave room for the record about to be written.
+     *
+     * @param needed The size in bytes of the record about to be written.
+     * @throws IOException If the log file cannot be moved or the new log cannot be created.
+     */
+    private void rotate(int needed) throws IOException {
+        int first = Math.max(0, checkpointCount - RETAINED_CHECKPOINTS);
+        while (first < checkpointCount - 1 && writePosition - checkpoints[first] > sizeCap / 2) {
+            first++;
+        }
+        int start = checkpointCount == 0 ? writePosition : (int) checkpoints[first];
+        byte[] retained = new byte[writePosition - start];
+        buffer.get(start, retained);
+        long retainedCount = entryCount - (long) first * CHECKPOINT_INTERVAL;
+        if (retained.length > sizeCap / 2 || HEADER_SIZE + retained.length + needed > sizeCap) {
+            retained = new byte[0];
+            retainedCount = 0;
+        }
+
+        buffer.force();
+        channel.close();
+        indexChannel.close();
+        Files.move(path, path.resolveSibling(path.getFileName() + ".1"), StandardCopyOption.REPLACE_EXISTING);
+        Files.deleteIfExists(indexPath);
+
+        channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, sizeCap);
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.put(HEADER_SIZE, retained);
+        writeHeader(HEADER_SIZE + retained.length, retainedCount);
+        indexChannel = FileChannel.open(indexPath, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        rebuildIndex();
+        buffer.force();
+    }
+
+    /**
+     * Updates the write position and the entry count in the header of the log file.
+     *
+     * @param position The offset after the last record.
+     * @param count    The number of records.
+     */
+    private void writeHeader(int position, long count) {
+        buffer.putInt(8, position);
+        buffer.putLong(12, count);
+        writePosition = position;
+        entryCount = count;
+    }
+
+    /**
+     * Appends a checkpoint to the index file and flushes the records written since the previous one.
+     *
+     * @param position The offset of the record starting the new block.
+     * @throws IOException If the index cannot be written.
+     */
+    private void writeCheckpoint(long position) throws IOException {
+        ByteBuffer checkpoint = ByteBuffer.allocate(Long.BYTES).putLong(0, position);
+        indexChannel.write(checkpoint, (long) checkpointCount * Long.BYTES);
+        addCheckpoint(position);
+        buffer.force();
+    }
+
+    /**
+     * Adds a checkpoint to the in-memory index.
+     *
+     * @param position The offset of the record starting the block.
+     */
+    private void addCheckpoint(long position) {
+        if (checkpointCount == checkpoints.length) {
+            checkpoints = Arrays.copyOf(checkpoints, checkpointCount * 2);
+        }
+        checkpoints[checkpointCount++] = position;
+    }
+
+    /**
+     * Checks whether the input of the record at the specified offset starts with the specified bytes.
+     *
+     * @param position The offset of the record.
+     * @param prefix   The UTF-8 bytes of the prefix.
+     * @return true if the input starts with the prefix.
+     */
+    private boolean startsWith(int position, byte[] prefix) {
+        if (buffer.getInt(position + 20) < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (buffer.get(position + 24 + i) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Decodes the record at the specified offset.
+     *
+     * @param position The offset of the record.
+     * @return The decoded entry.
+     */
+    private HistoryEntry read(int position) {
+        int length = buffer.getInt(position);
+        int inputLength = buffer.getInt(position + 20);
+        byte[] input = new byte[inputLength];
+        byte[] result = new byte[length - 20 - inputLength];
+        buffer.get(position + 24, input);
+        buffer.get(position + 24 + inputLength, result);
+        return new HistoryEntry(new String(input, StandardCharsets.UTF_8), new String(result, StandardCharsets.UTF_8),
+                buffer.getLong(position + 4), buffer.getLong(position + 12));
+    }
+}
@@ -0,0 +1,102 @@
+#!/bin/sh
+# Builds the calculator as JPMS modules and links a trimmed runtime image with class data sharing (CDS).
+#
+# The sources keep their one-directory-per-package layout, which IDEs and the class-path build use. This
+# script assembles the module source tree under the output directory from the descriptors next to it:
+#
+#   calculator.core       reference, exception, history, profiling
+#   calculator.engine     engine
+#   calculator.worksheet  worksheet (not part of the image; the application does not use it)
+#   calculator.gui        gui and the assets
+#   calculator.app        app, the root module of the image
+#
+# The image holds the application modules and the JDK modules they require, and nothing else: no compiler,
+# no JShell. The default CDS archive of its JDK classes is dumped into the image, as jlink of JDK 17 cannot
+# generate it. When a display is available, a training run starts the application once with
+# -Dcalculator.startup.exit=true and records a dynamic archive of the application classes, which the
+# bin/calculator launcher then maps at startup.
+#
+# Usage:
+#   modules/build-runtime.sh [output directory]          build, default build/
+#   modules/build-runtime.sh measure [output directory]  compare startup time and peak RSS of the full-JDK
+#                                                        class-path launch with the image (needs a display
+#                                                        and GNU time)
+#
+# JAVA_HOME must point to a JDK 17 or later with its jmods directory, or javac must be on the PATH.
+set -eu
+
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+MODE=build
+if [ "${1:-}" = measure ]; then
+    MODE=measure
+    shift
+fi
+OUT=${1:-$ROOT/build}
+JAVA_HOME=${JAVA_HOME:-$(dirname "$(dirname "$(readlink -f "$(command -v javac)")")")}
+RUNS=${RUNS:-5}
+
+build() {
+    rm -rf "$OUT/src" "$OUT/mods" "$OUT/classes" "$OUT/runtime"
+    while read -r module packages; do
+        mkdir -p "$OUT/src/$module"
+        cp "$ROOT/modules/$module/module-info.java" "$OUT/src/$module/"
+        for package in $packages; do
+            cp -R "$ROOT/$package" "$OUT/src/$module/"
+        done
+    done <<EOF
+calculator.core reference exception history profiling
+calculator.engine engine
+calculator.worksheet worksheet
+calculator.gui gui
+calculator.app app
+EOF
+    "$JAVA_HOME/bin/javac" -encoding UTF-8 -d "$OUT/mods" --module-source-path "$OUT/src" \
+        --module calculator.app,calculator.worksheet
+    cp -R "$ROOT/assets" "$OUT/mods/calculator.gui/"
+
+    "$JAVA_HOME/bin/jlink" --module-path "$OUT/mods:$JAVA_HOME/jmods" --add-modules calculator.app \
+        --launcher calculator=calculator.app/app.CalculatorApp \
+        --strip-debug --no-header-files --no-man-pages --output "$OUT/runtime"
+    "$OUT/runtime/bin/java" -Xshare:dump >/dev/null
+
+    if [ -n "${DISPLAY:-}" ]; then
+        "$OUT/runtime/bin/java" -XX:ArchiveClassesAtExit="$OUT/runtime/lib/calculator.jsa" \
+            -Dcalculator.startup.exit=true -m calculator.app/app.CalculatorApp
+        cat > "$OUT/runtime/bin/calculator" <<'EOF'
+#!/bin/sh
+DIR=$(dirname "$0")
+exec "$DIR/java" -XX:SharedArchiveFile="$DIR/../lib/calculator.jsa" -Xshare:auto -m calculator.app/app.CalculatorApp "$@"
+EOF
+        chmod +x "$OUT/runtime/bin/calculator"
+    else
+        echo "No display: skipped the training run, so only the JDK classes of the image are archived."
+    fi
+    echo "Runtime image: $OUT/runtime ($(du -sh "$OUT/runtime" | cut -f1), full JDK $(du -sh "$JAVA_HOME/" | cut -f1))"
+}
+
+# Prints the mean wall-clock time and peak RSS of starting the calculator until it is interactive.
+run() {
+    label=$1
+    shift
+    total=0
+    rss=0
+    i=0
+    while [ "$i" -lt "$RUNS" ]; do
+        start=$(date +%s%N)
+        rss=$(JDK_JAVA_OPTIONS=-Dcalculator.startup.exit=true command time -f %M "$@" 2>&1 >/dev/null | tail -n 1)
+        total=$((total + $(date +%s%N) - start))
+        i=$((i + 1))
+    done
+    printf '%-22s %8d ms %10d KB peak RSS\n' "$label" $((total / RUNS / 1000000)) "$rss"
+}
+
+measure() {
+    [ -n "${DISPLAY:-}" ] || { echo "measure needs a display" >&2; exit 1; }
+    mkdir -p "$OUT/classes"
+    "$JAVA_HOME/bin/javac" -encoding UTF-8 -d "$OUT/classes" -sourcepath "$ROOT" \
+        $(find "$ROOT/app" "$ROOT/engine" "$ROOT/exception" "$ROOT/gui" "$ROOT/history" "$ROOT/profiling" -name '*.java')
+    run "full JDK, class path" "$JAVA_HOME/bin/java" -cp "$OUT/classes:$ROOT" app.CalculatorApp
+    run "runtime image" "$OUT/runtime/bin/calculator"
+}
+
+"$MODE"
@@ -0,0 +1,9 @@
+/**
+ * The calculator.app module starts the calculator. It is the root module of the runtime image.
+ *
+ * @author Junsel Fabe
+ * @version 1
+ */
+module calculator.app {
+    requires calculator.gui;
+}
@@ -0,0 +1,22 @@
+/**
+ * The calculator.core module holds what the other modules of the calculator build on: the reference fraction
+ * arithmetic and its bulk kernels, the exception shown for invalid problems, the history log and the
+ * profiling events. It needs nothing of the desktop. The management modules are only read where they are
+ * resolved, such as in the runtime image, which the user interface brings them into; without them no
+ * allocations are profiled. The Vector API is only read when the JVM is started with
+ * {@code --add-modules jdk.incubator.vector}; without it, the scalar kernels are used.
+ *
+ * @author Junsel Fabe
+ * @version 1
+ */
+module calculator.core {
+    requires transitive jdk.jfr;
+    requires static java.management;
+    requires static jdk.management;
+    requires static jdk.incubator.vector;
+
+    exports exception;
+    exports history;
+    exports profiling;
+    exports reference;
+}
@@ -0,0 +1,13 @@
+/**
+ * The calculator.engine module parses and evaluates problems with exact rational arithmetic. It needs
+ * nothing but the core module, {@code jdk.jfr} and the base of the JDK; in particular it does not require
+ * {@code jdk.jshell}, {@code jdk.compiler} or {@code java.desktop}.
+ *
+ * @author Junsel Fabe
+ * @version 1
+ */
+module calculator.engine {
+    requires transitive calculator.core;
+
+    exports engine;
+}
@@ -0,0 +1,17 @@
+/**
+ * The calculator.gui module is the Swing user interface of the calculator, with its fonts, pictures and
+ * sounds, and the tools that profile it: the startup timeline, which reads the uptime of the JVM, the
+ * watchdog of the event dispatch thread and the performance overlay, which shows the bytes an operation
+ * allocated.
+ *
+ * @author Junsel Fabe
+ * @version 1
+ */
+module calculator.gui {
+    requires transitive calculator.engine;
+    requires transitive java.desktop;
+    requires java.management;
+    requires jdk.management;
+
+    exports gui;
+}
@@ -0,0 +1,12 @@
+/**
+ * The calculator.worksheet module holds the worksheet compiler, which evaluates many problems at once with
+ * the engine and folds small constants with the reference fractions.
+ *
+ * @author Junsel Fabe
+ * @version 1
+ */
+module calculator.worksheet {
+    requires transitive calculator.engine;
+
+    exports worksheet;
+}
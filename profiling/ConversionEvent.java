@@ -0,0 +1,32 @@
+package profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The ConversionEvent class records the decimal to mixed fraction conversion stage.
+ *
+ * @author Junsel Fabe
+ * @version 1
+ */
+@Name("calculator.Conversion")
+@Label("Decimal To Fraction")
+@Category({"Calculator", "Pipeline"})
+@Description("Conversion of a decimal result to a mixed fraction or a repeating decimal")
+public class ConversionEvent extends jdk.jfr.Event {
+
+    @Label("Decimal")
+    public double decimal;
+
+    @Label("Repeating")
+    @Description("Whether the decimal was treated as a repeating decimal")
+    public boolean repeating;
+
+    /**
+     * Constructs a ConversionEvent, whose fields are set before it is committed.
+     */
+    public ConversionEvent() {
+    }
+}
@@ -0,0 +1,39 @@
+package profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The EvaluateEvent class records the evaluation stage, where a parsed expression is turned into a number.
+ *
+ * @author Junsel Fabe
+ * @version 1
+ */
+@Name("calculator.Evaluate")
+@Label("Evaluate")
+@Category({"Calculator", "Pipeline"})
+@Description("Evaluation of a parsed expression")
+public class EvaluateEvent extends jdk.jfr.Event {
+
+    @Label("Expression Length")
+    public int expressionLength;
+
+    @Label("Operand Count")
+    public int operandCount;
+
+    @Label("Valid")
+    @Description("Whether the expression evaluated to a number")
+    public boolean valid;
+
+    @Label("Cache Hit")
+    @Description("Whether the result was found in the result cache")
+    public boolean cacheHit;
+
+    /**
+     * Constructs a EvaluateEvent, whose fields are set before it is committed.
+     */
+    public EvaluateEvent() {
+    }
+}
@@ -0,0 +1,31 @@
+package profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The FormatEvent class records the formatting of a fraction into its diagonal form.
+ *
+ * @author Junsel Fabe
+ * @version 1
+ */
+@Name("calculator.Format")
+@Label("Diagonal Fraction Format")
+@Category({"Calculator", "Pipeline"})
+@Description("Formatting of a fraction with superscript and subscript digits")
+public class FormatEvent extends jdk.jfr.Event {
+
+    @Label("Numerator")
+    public int numerator;
+
+    @Label("Denominator")
+    public int denominator;
+
+    /**
+     * Constructs a FormatEvent, whose fields are set before it is committed.
+     */
+    public FormatEvent() {
+    }
+}
@@ -0,0 +1,32 @@
+package profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The NormalizeEvent class records the input normalization stage, where superscript and subscript digits
+ * are turned back into plain digits before the expression is parsed.
+ *
+ * @author Junsel Fabe
+ * @version 1
+ */
+@Name("calculator.Normalize")
+@Label("Input Normalization")
+@Category({"Calculator", "Pipeline"})
+@Description("Replacement of superscript and subscript characters with plain digits")
+public class NormalizeEvent extends jdk.jfr.Event {
+
+    @Label("Input Length")
+    public int inputLength;
+
+    @Label("Output Length")
+    public int outputLength;
+
+    /**
+     * Constructs a NormalizeEvent, whose fields are set before it is committed.
+     */
+    public NormalizeEvent() {
+    }
+}
@@ -0,0 +1,285 @@
+package profiling;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * The OperationProfile class breaks the latency of one user operation, such as pressing '=', down by the
+ * stage of the pipeline it was spent in, and counts the bytes the operation allocated.
+ * <p>
+ * Profiling is off until {@link #setEnabled(boolean)} turns it on, which the performance overlay does while
+ * it is shown. While it is off, {@link #begin(String)} returns null and the stage clocks called from the
+ * engine return 0 after reading one volatile field, so the pipeline pays nothing measurable for them. While
+ * it is on, the profile of an operation is bound to the thread that began it, so evaluations running on
+ * other threads are not counted, and the last finished profile is published for the overlay to read.
+ * Allocated bytes are read from the {@link com.sun.management.ThreadMXBean} of the JVM where it supports
+ * them, and are -1 otherwise, as they are when the management modules are not in the runtime image; the
+ * bean is only looked up once the first operation is profiled, so the management classes are not loaded
+ * at startup.
+ *
+ * @author Junsel Fabe
+ * @version 1
+ */
+public final class OperationProfile {
+
+    /**
+     * The Stage enum lists the stages of the pipeline an operation is timed in.
+     */
+    public enum Stage {
+
+        /**
+         * Rewriting diagonal fractions into plain arithmetic.
+         */
+        NORMALIZE("norm"),
+
+        /**
+         * Looking up the answer in the result caches.
+         */
+        CACHE("cache"),
+
+        /**
+         * Parsing and evaluating the problem.
+         */
+        EVALUATE("eval"),
+
+        /**
+         * Formatting the answer as a decimal or mixed fraction.
+         */
+        FORMAT("format"),
+
+        /**
+         * Showing the answer in the input field.
+         */
+        DISPLAY("display");
+
+        private final String label;
+
+        /**
+         * Constructs a stage.
+         *
+         * @param label The short name shown for the stage.
+         */
+        Stage(String label) {
+            this.label = label;
+        }
+
+        /**
+         * Gets the short name shown for the stage.
+         *
+         * @return The label of the stage.
+         */
+        public String label() {
+            return label;
+        }
+    }
+
+    private static final ThreadLocal<OperationProfile> CURRENT = new ThreadLocal<>();
+
+    private static volatile boolean enabled;
+    private static volatile OperationProfile last;
+
+    private final String operation;
+    private final long start;
+    private final long startBytes;
+    private final long[] stageNanos = new long[Stage.values().length];
+    private long totalNanos;
+    private long allocatedBytes = -1;
+    private Boolean cacheHit;
+
+    /**
+     * Constructs a profile that starts now.
+     *
+     * @param operation The input the operation was started with.
+     */
+    private OperationProfile(String operation) {
+        this.operation = operation;
+        this.startBytes = allocatedBytes();
+        this.start = System.nanoTime();
+    }
+
+    /**
+     * Turns profiling on or off.
+     *
+     * @param enabled true to profile the operations begun from now on.
+     */
+    public static void setEnabled(boolean enabled) {
+        OperationProfile.enabled = enabled;
+    }
+
+    /**
+     * Checks whether operations are profiled.
+     *
+     * @return true if profiling is on.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Begins profiling an operation on the current thread.
+     *
+     * @param operation The input the operation was started with.
+     * @return The profile of the operation, or null if profiling is off.
+     */
+    public static OperationProfile begin(String operation) {
+        if (!enabled) {
+            return null;
+        }
+        OperationProfile profile = new OperationProfile(operation);
+        CURRENT.set(profile);
+        return profile;
+    }
+
+    /**
+     * Ends profiling an operation and publishes its profile as the last one.
+     *
+     * @param profile The profile returned by {@link #begin(String)}, which may be null.
+     */
+    public static void end(OperationProfile profile) {
+        if (profile != null) {
+            profile.totalNanos = System.nanoTime() - profile.start;
+            if (profile.startBytes >= 0) {
+                profile.allocatedBytes = allocatedBytes() - profile.startBytes;
+            }
+            CURRENT.remove();
+            last = profile;
+        }
+    }
+
+    /**
+     * Gets the profile of the last operation that ended.
+     *
+     * @return The last profile, or null if no operation has been profiled.
+     */
+    public static OperationProfile last() {
+        return last;
+    }
+
+    /**
+     * Starts timing a stage of the operation profiled on the current thread.
+     *
+     * @return The current {@link System#nanoTime()}, or 0 if no operation is profiled on this thread.
+     */
+    public static long clock() {
+        return enabled && CURRENT.get() != null ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Adds the time since a clock reading to a stage of the operation profiled on the current thread.
+     *
+     * @param stage The stage the time was spent in.
+     * @param since The reading of {@link #clock()} or of a previous lap, 0 if nothing is profiled.
+     * @return The current {@link System#nanoTime()}, to time the next stage from, or 0 if nothing is profiled.
+     */
+    public static long lap(Stage stage, long since) {
+        if (since == 0) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        OperationProfile profile = CURRENT.get();
+        if (profile != null) {
+            profile.stageNanos[stage.ordinal()] += now - since;
+        }
+        return now;
+    }
+
+    /**
+     * Records whether the operation profiled on the current thread found its answer in a cache.
+     *
+     * @param hit true if the answer was cached.
+     */
+    public static void recordCacheHit(boolean hit) {
+        if (enabled) {
+            OperationProfile profile = CURRENT.get();
+            if (profile != null) {
+                profile.cacheHit = hit;
+            }
+        }
+    }
+
+    /**
+     * Gets the input the operation was started with.
+     *
+     * @return The input of the operation.
+     */
+    public String getOperation() {
+        return operation;
+    }
+
+    /**
+     * Gets the time spent in a stage.
+     *
+     * @param stage The stage.
+     * @return The time in nanoseconds.
+     */
+    public long getStageNanos(Stage stage) {
+        return stageNanos[stage.ordinal()];
+    }
+
+    /**
+     * Gets the time the whole operation took, including the time spent outside the timed stages.
+     *
+     * @return The time in nanoseconds.
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * Gets the number of bytes the operation allocated on its thread.
+     *
+     * @return The allocated bytes, or -1 if the JVM does not measure them.
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * Gets whether the operation found its answer in a cache.
+     *
+     * @return true for a hit, false for a miss, or null if no cache was looked at.
+     */
+    public Boolean getCacheHit() {
+        return cacheHit;
+    }
+
+    /**
+     * Reads the number of bytes allocated by the current thread so far.
+     *
+     * @return The allocated bytes, or -1 if the JVM does not measure them.
+     */
+    private static long allocatedBytes() {
+        return Allocations.BEAN == null ? -1 : Allocations.BEAN.getCurrentThreadAllocatedBytes();
+    }
+
+    /**
+     * The Allocations class holds the thread bean that measures allocated bytes. It is initialized the first
+     * time an operation is profiled.
+     */
+    private static final class Allocations {
+
+        private static final com.sun.management.ThreadMXBean BEAN = find();
+
+        /**
+         * Finds the thread bean that measures allocated bytes, turning the measurement on if needed. The
+         * management modules are optional dependencies, so they may be missing from a runtime image.
+         *
+         * @return The bean, or null if the JVM does not measure allocated bytes.
+         */
+        private static com.sun.management.ThreadMXBean find() {
+            try {
+                ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+                if (bean instanceof com.sun.management.ThreadMXBean allocations
+                        && allocations.isThreadAllocatedMemorySupported()) {
+                    if (!allocations.isThreadAllocatedMemoryEnabled()) {
+                        allocations.setThreadAllocatedMemoryEnabled(true);
+                    }
+                    return allocations;
+                }
+            } catch (LinkageError missing) {
+                System.out.println("Error measuring allocations: " + missing.getMessage());
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The PlaySoundEvent class records the decoding and start of a button sound.
+ *
+ * @author Junsel Fabe
+ * @version 1
+ */
+@Name("calculator.PlaySound")
+@Label("Play Sound")
+@Category({"Calculator", "View"})
+@Description("Decoding and playback start of a sound file")
+public class PlaySoundEvent extends jdk.jfr.Event {
+
+    @Label("Sound File")
+    public String soundFile;
+
+    @Label("Enabled")
+    @Description("Whether sound was enabled when the sound was requested")
+    public boolean enabled;
+
+    /**
+     * Constructs a PlaySoundEvent, whose fields are set before it is committed.
+     */
+    public PlaySoundEvent() {
+    }
+}
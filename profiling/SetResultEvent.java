@@ -0,0 +1,28 @@
+package profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The SetResultEvent class records the update of the input field with a new text.
+ *
+ * @author Junsel Fabe
+ * @version 1
+ */
+@Name("calculator.SetResult")
+@Label("Set Result")
+@Category({"Calculator", "View"})
+@Description("Replacement of the input field text")
+public class SetResultEvent extends jdk.jfr.Event {
+
+    @Label("Text Length")
+    public int textLength;
+
+    /**
+     * Constructs a SetResultEvent, whose fields are set before it is committed.
+     */
+    public SetResultEvent() {
+    }
+}
@@ -0,0 +1,207 @@
+package reference;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+
+/**
+ * The class BigFraction represents an immutable fraction of unbounded size, such as the exact sum of many
+ * fractions whose numerator and denominator no longer fit in an int.
+ * <p>
+ * The numerator and denominator are kept in lowest terms with a positive denominator.
+ *
+ * @author Junsel Fabe
+ * @version 1
+ */
+public final class BigFraction implements Comparable<BigFraction> {
+
+    /**
+     * The fraction zero.
+     */
+    public static final BigFraction ZERO = new BigFraction(BigInteger.ZERO, BigInteger.ONE);
+
+    private final BigInteger numerator;
+    private final BigInteger denominator;
+
+    /**
+     * BigFraction constructor for a numerator and denominator that are already in lowest terms.
+     *
+     * @param numerator   the numerator of the fraction
+     * @param denominator the positive denominator of the fraction
+     */
+    private BigFraction(BigInteger numerator, BigInteger denominator) {
+        this.numerator = numerator;
+        this.denominator = denominator;
+    }
+
+    /**
+     * Creates a fraction in lowest terms.
+     *
+     * @param numerator   the numerator of the fraction
+     * @param denominator the denominator of the fraction
+     * @return a fraction equal to numerator / denominator
+     * @throws ArithmeticException if the denominator is zero
+     */
+    public static BigFraction of(BigInteger numerator, BigInteger denominator) {
+        if (denominator.signum() == 0) {
+            throw new ArithmeticException("Denominator cannot be zero");
+        }
+        if (numerator.signum() == 0) {
+            return ZERO;
+        }
+        if (denominator.signum() < 0) {
+            numerator = numerator.negate();
+            denominator = denominator.negate();
+        }
+        BigInteger gcd = numerator.gcd(denominator);
+        if (!gcd.equals(BigInteger.ONE)) {
+            numerator = numerator.divide(gcd);
+            denominator = denominator.divide(gcd);
+        }
+        return new BigFraction(numerator, denominator);
+    }
+
+    /**
+     * Creates a fraction in lowest terms.
+     *
+     * @param numerator   the numerator of the fraction
+     * @param denominator the denominator of the fraction
+     * @return a fraction equal to numerator / denominator
+     * @throws ArithmeticException if the denominator is zero
+     */
+    public static BigFraction of(long numerator, long denominator) {
+        return of(BigInteger.valueOf(numerator), BigInteger.valueOf(denominator));
+    }
+
+    /**
+     * Creates a fraction with the value of a fraction or mixed fraction.
+     *
+     * @param fraction the fraction
+     * @return a fraction equal to the value of the fraction
+     * @throws ArithmeticException if the denominator of the fraction is zero
+     */
+    public static BigFraction valueOf(Fraction fraction) {
+        return of(fraction.exactNumerator(), fraction.getDenominator());
+    }
+
+    /**
+     * Gets the numerator of the fraction.
+     *
+     * @return this fraction's numerator
+     */
+    public BigInteger getNumerator() {
+        return numerator;
+    }
+
+    /**
+     * Gets the denominator of the fraction.
+     *
+     * @return this fraction's positive denominator
+     */
+    public BigInteger getDenominator() {
+        return denominator;
+    }
+
+    /**
+     * Addition of two fractions.
+     *
+     * @param other the other fraction that will be used for addition
+     * @return a new fraction
+     */
+    public BigFraction add(BigFraction other) {
+        if (this.denominator.equals(other.denominator)) {
+            return of(this.numerator.add(other.numerator), this.denominator);
+        }
+        return of(this.numerator.multiply(other.denominator).add(other.numerator.multiply(this.denominator)),
+                this.denominator.multiply(other.denominator));
+    }
+
+    /**
+     * Multiplication of two fractions.
+     *
+     * @param other the other fraction that will be used for multiplication
+     * @return a new fraction
+     */
+    public BigFraction multiply(BigFraction other) {
+        return of(this.numerator.multiply(other.numerator), this.denominator.multiply(other.denominator));
+    }
+
+    /**
+     * Division of a fraction by a whole number.
+     *
+     * @param divisor the whole number that will be used for division
+     * @return a new fraction
+     * @throws ArithmeticException if the divisor is zero
+     */
+    public BigFraction divide(long divisor) {
+        return of(numerator, denominator.multiply(BigInteger.valueOf(divisor)));
+    }
+
+    /**
+     * Converts the fraction to a fraction of ints.
+     *
+     * @return a new fraction with the same value
+     * @throws ArithmeticException if the numerator or denominator does not fit in an int
+     */
+    public Fraction toFraction() {
+        return new Fraction(numerator.intValueExact(), denominator.intValueExact());
+    }
+
+    /**
+     * Make the fraction a decimal number.
+     *
+     * @return the closest double to the fraction
+     */
+    public double toDecimal() {
+        if (numerator.bitLength() <= 53 && denominator.bitLength() <= 53) {
+            return numerator.doubleValue() / denominator.doubleValue();
+        }
+        return new BigDecimal(numerator).divide(new BigDecimal(denominator), MathContext.DECIMAL128).doubleValue();
+    }
+
+    /**
+     * Compares two fractions by their exact values.
+     *
+     * @param other the other fraction
+     * @return a negative number, zero or a positive number if this fraction is less than, equal to or greater than the other
+     */
+    @Override
+    public int compareTo(BigFraction other) {
+        return this.numerator.multiply(other.denominator).compareTo(other.numerator.multiply(this.denominator));
+    }
+
+    /**
+     * Checks whether two fractions have the same value.
+     *
+     * @param other the other object
+     * @return true if the other object is a BigFraction with the same value
+     */
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof BigFraction fraction
+                && numerator.equals(fraction.numerator) && denominator.equals(fraction.denominator);
+    }
+
+    /**
+     * Computes a hash code consistent with {@link #equals(Object)}.
+     *
+     * @return the hash code of the fraction
+     */
+    @Override
+    public int hashCode() {
+        return 31 * numerator.hashCode() + denominator.hashCode();
+    }
+
+    /**
+     * Converts the fraction to a readable format.
+     *
+     * @return the numerator and denominator separated by a slash, or only the numerator for a whole number
+     */
+    @Override
+    public String toString() {
+        if (denominator.equals(BigInteger.ONE)) {
+            return numerator.toString();
+        }
+        return numerator + "/" + denominator;
+    }
+}
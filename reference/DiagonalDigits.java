@@ -0,0 +1,117 @@
+package reference;
+
+import java.io.IOException;
+
+/**
+ * The DiagonalDigits class holds the characters that fractions are written with in their diagonal form: the
+ * superscript digits of the numerator, the fraction slash and the subscript digits of the denominator, e.g.
+ * ³⁄₄. It reads and writes them one character at a time, so nothing but the output is allocated.
+ *
+ * @author Junsel Fabe
+ * @version 1
+ */
+public final class DiagonalDigits {
+
+    /**
+     * The fraction slash between the numerator and the denominator.
+     */
+    public static final char FRACTION_SLASH = '⁄';
+
+    private static final char[] SUPERSCRIPT_DIGITS = {'⁰', '¹', '²', '³', '⁴', '⁵', '⁶', '⁷', '⁸', '⁹'};
+    private static final char[] SUBSCRIPT_DIGITS = {'₀', '₁', '₂', '₃', '₄', '₅', '₆', '₇', '₈', '₉'};
+
+    /**
+     * DiagonalDigits has only static methods.
+     */
+    private DiagonalDigits() {
+    }
+
+    /**
+     * Appends a diagonal fraction without a leading space.
+     *
+     * @param out         The destination of the fraction.
+     * @param numerator   The numerator of the fraction, at least 0.
+     * @param denominator The denominator of the fraction, at least 0.
+     * @param <A>         The type of the destination.
+     * @return The destination.
+     * @throws IOException If the destination cannot be written to.
+     */
+    public static <A extends Appendable> A append(A out, long numerator, long denominator) throws IOException {
+        appendSuperscript(out, numerator);
+        out.append(FRACTION_SLASH);
+        appendSubscript(out, denominator);
+        return out;
+    }
+
+    /**
+     * Appends a number in superscript digits.
+     *
+     * @param out   The destination of the digits.
+     * @param value The number, at least 0.
+     * @throws IOException If the destination cannot be written to.
+     */
+    public static void appendSuperscript(Appendable out, long value) throws IOException {
+        appendDigits(out, value, SUPERSCRIPT_DIGITS);
+    }
+
+    /**
+     * Appends a number in subscript digits.
+     *
+     * @param out   The destination of the digits.
+     * @param value The number, at least 0.
+     * @throws IOException If the destination cannot be written to.
+     */
+    public static void appendSubscript(Appendable out, long value) throws IOException {
+        appendDigits(out, value, SUBSCRIPT_DIGITS);
+    }
+
+    /**
+     * Appends the digits of a number, most significant first.
+     *
+     * @param out    The destination of the digits.
+     * @param value  The number, at least 0.
+     * @param digits The characters of the digits 0 to 9.
+     * @throws IOException If the destination cannot be written to.
+     */
+    private static void appendDigits(Appendable out, long value, char[] digits) throws IOException {
+        long divisor = 1;
+        while (divisor <= value / 10) {
+            divisor *= 10;
+        }
+        while (divisor > 0) {
+            out.append(digits[(int) (value / divisor % 10)]);
+            divisor /= 10;
+        }
+    }
+
+    /**
+     * Gets the value of a superscript digit.
+     *
+     * @param character The character.
+     * @return The digit value, or -1 if the character is not a superscript digit.
+     */
+    public static int superscriptValue(char character) {
+        switch (character) {
+            case '⁰':
+                return 0;
+            case '¹':
+                return 1;
+            case '²':
+                return 2;
+            case '³':
+                return 3;
+            default:
+                return character >= '⁴' && character <= '⁹' ? character - '⁰' : -1;
+        }
+    }
+
+    /**
+     * Gets the value of a subscript digit.
+     *
+     * @param character The character.
+     * @return The digit value, or -1 if the character is not a subscript digit.
+     */
+    public static int subscriptValue(char character) {
+        return character >= '₀' && character <= '₉' ? character - '₀' : -1;
+    }
+}
@@ -1,5 +1,9 @@
 package reference;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Objects;
+
 /**
  * The class Fraction represents a fraction.
  *
@@ -8,6 +12,10 @@ package reference;
  */
 
 public class Fraction{
+    private static final int ASCII = 0;
+    private static final int SUPERSCRIPT = 1;
+    private static final int SUBSCRIPT = 2;
+
     private int numerator;
     private int denominator;
 
@@ -105,6 +113,117 @@ public class Fraction{
         return new Fraction(newNumerator, newDenominator);
     }
 
+    /**
+     * Raises the fraction to a whole power by repeated squaring, with O(log exponent) multiplications.
+     * @param exponent the whole exponent, which may be negative
+     * @return a new fraction in lowest terms
+     * @throws ArithmeticException if the fraction is zero and the exponent is negative, if the denominator
+     * is zero, or if the result does not fit in an int
+     */
+    public Fraction pow(int exponent) {
+        long top = exactNumerator();
+        long bottom = denominator;
+        if (bottom == 0) {
+            throw new ArithmeticException("Denominator is zero");
+        }
+        long divisor = greatestCommonDivisor(Math.abs(top), Math.abs(bottom));
+        top /= divisor;
+        bottom /= divisor;
+        if (exponent < 0) {
+            if (top == 0) {
+                throw new ArithmeticException("Zero to a negative power");
+            }
+            long swap = top;
+            top = bottom;
+            bottom = swap;
+            exponent = Math.negateExact(exponent);
+        }
+        if (bottom < 0) {
+            top = -top;
+            bottom = -bottom;
+        }
+        return new Fraction(power(Math.toIntExact(top), exponent), power(Math.toIntExact(bottom), exponent));
+    }
+
+    /**
+     * Computes the exact square root of the fraction, which exists when its numerator and denominator in
+     * lowest terms are both perfect squares.
+     * @return a new fraction in lowest terms whose square is this fraction
+     * @throws ArithmeticException if the fraction is negative, its square root is irrational or the
+     * denominator is zero
+     */
+    public Fraction sqrt() {
+        long top = exactNumerator();
+        long bottom = denominator;
+        if (bottom == 0) {
+            throw new ArithmeticException("Denominator is zero");
+        } else if ((top < 0) != (bottom < 0) && top != 0) {
+            throw new ArithmeticException("Square root of a negative number");
+        }
+        top = Math.abs(top);
+        bottom = Math.abs(bottom);
+        long divisor = greatestCommonDivisor(top, bottom);
+        long topRoot = exactSqrt(top / divisor);
+        long bottomRoot = exactSqrt(bottom / divisor);
+        if (topRoot < 0 || bottomRoot < 0) {
+            throw new ArithmeticException("Square root is irrational");
+        }
+        return new Fraction(Math.toIntExact(topRoot), Math.toIntExact(bottomRoot));
+    }
+
+    /**
+     * Raises a whole number to a power by repeated squaring, squaring the base only while bits of the
+     * exponent are left.
+     * @param base the base
+     * @param exponent the exponent, at least 0
+     * @return base ^ exponent, one if the exponent is zero
+     * @throws ArithmeticException if the result does not fit in an int
+     */
+    private static int power(int base, int exponent) {
+        int result = 1;
+        while (true) {
+            if ((exponent & 1) != 0) {
+                result = Math.multiplyExact(result, base);
+            }
+            exponent >>>= 1;
+            if (exponent == 0) {
+                return result;
+            }
+            base = Math.multiplyExact(base, base);
+        }
+    }
+
+    /**
+     * Computes the square root of a perfect square with the integer square root.
+     * @param value the number, at least 0
+     * @return the whole square root, or -1 if the number is not a perfect square
+     */
+    private static long exactSqrt(long value) {
+        long root = (long) Math.sqrt(value);
+        while (root * root > value) {
+            root--;
+        }
+        while ((root + 1) * (root + 1) <= value) {
+            root++;
+        }
+        return root * root == value ? root : -1;
+    }
+
+    /**
+     * Finds the greatest common divisor of two numbers that are not both zero.
+     * @param first the first number, at least 0
+     * @param second the second number, at least 0
+     * @return the greatest common divisor
+     */
+    private static long greatestCommonDivisor(long first, long second) {
+        while (second != 0) {
+            long remainder = first % second;
+            first = second;
+            second = remainder;
+        }
+        return first;
+    }
+
     /**
      * Simplification of a fraction.
      * @return a new fraction
@@ -119,10 +238,294 @@ public class Fraction{
      * @return an easier way to read the object class
      */
     public String toString() {
-        if (denominator == 1){
-            return String.valueOf(numerator);
+        try {
+            return appendTo(new StringBuilder()).toString();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    /**
+     * Appends the fraction in the same format as {@link #toString()}, e.g. 7/2, without creating any object.
+     * @param out the destination of the fraction
+     * @param <A> the type of the destination
+     * @return the destination
+     * @throws IOException if the destination cannot be written to
+     */
+    public <A extends Appendable> A appendTo(A out) throws IOException {
+        appendNumber(out, numerator);
+        if (denominator != 1) {
+            out.append('/');
+            appendNumber(out, denominator);
+        }
+        return out;
+    }
+
+    /**
+     * Appends the value of the fraction as a mixed number, e.g. 3 1/2 or -1/2, without creating any object.
+     * @param out the destination of the mixed number
+     * @param <A> the type of the destination
+     * @return the destination
+     * @throws IOException if the destination cannot be written to
+     */
+    public <A extends Appendable> A appendMixedTo(A out) throws IOException {
+        return appendMixed(out, false);
+    }
+
+    /**
+     * Appends the value of the fraction as a mixed number with a diagonal fraction part, e.g. 3 ¹⁄₂,
+     * without creating any object.
+     * @param out the destination of the mixed number
+     * @param <A> the type of the destination
+     * @return the destination
+     * @throws IOException if the destination cannot be written to
+     */
+    public <A extends Appendable> A appendDiagonalTo(A out) throws IOException {
+        return appendMixed(out, true);
+    }
+
+    /**
+     * Appends the value of the fraction as a mixed number.
+     * @param out the destination of the mixed number
+     * @param diagonal whether the fraction part is written as a diagonal fraction
+     * @param <A> the type of the destination
+     * @return the destination
+     * @throws IOException if the destination cannot be written to
+     */
+    private <A extends Appendable> A appendMixed(A out, boolean diagonal) throws IOException {
+        long top = exactNumerator();
+        long bottom = denominator;
+        if (bottom == 0) {
+            return appendTo(out);
+        }
+        if (bottom < 0) {
+            top = -top;
+            bottom = -bottom;
+        }
+        long whole = Math.abs(top) / bottom;
+        long remainder = Math.abs(top) % bottom;
+        if (top < 0) {
+            out.append('-');
+        }
+        if (whole != 0 || remainder == 0) {
+            appendNumber(out, whole);
+        }
+        if (remainder != 0) {
+            if (whole != 0) {
+                out.append(' ');
+            }
+            if (diagonal) {
+                DiagonalDigits.append(out, remainder, bottom);
+            } else {
+                appendNumber(out, remainder);
+                out.append('/');
+                appendNumber(out, bottom);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Gets the numerator of the value of the fraction over its denominator.
+     * @return the numerator, which a mixed fraction combines with its whole number
+     */
+    long exactNumerator() {
+        return numerator;
+    }
+
+    /**
+     * Parses a whole fraction, e.g. 7/2, -5 or a mixed number such as 3 1/2, either of them with the fraction
+     * part written as a diagonal fraction, e.g. ³⁄₄ or 3 ¹⁄₂.
+     * @param text the text of the fraction
+     * @return the fraction, a {@link MixedFraction} if the text has a whole number and a fraction part
+     * @throws NumberFormatException if the text is not a fraction
+     */
+    public static Fraction parse(CharSequence text) {
+        return parse(text, 0, text.length());
+    }
+
+    /**
+     * Parses a fraction from a range of the text, without creating any object but the fraction. It accepts a
+     * whole number, e.g. -5, a fraction, e.g. 7/2, a mixed number, e.g. 3 1/2, and the diagonal form of the
+     * last two, e.g. ³⁄₄ or 3 ¹⁄₂. The fraction may have a leading minus sign and be surrounded by spaces.
+     * @param text the text containing the fraction
+     * @param from the index of the first character of the fraction
+     * @param to the index after the last character of the fraction
+     * @return the fraction, a {@link MixedFraction} if the text has a whole number and a fraction part
+     * @throws NumberFormatException if the range is not a fraction
+     * @throws IndexOutOfBoundsException if the range is outside the text
+     */
+    public static Fraction parse(CharSequence text, int from, int to) {
+        Objects.checkFromToIndex(from, to, text.length());
+        while (to > from && Character.isWhitespace(text.charAt(to - 1))) {
+            to--;
+        }
+        int position = skipSpaces(text, from, to);
+        int sign = 1;
+        if (position < to && text.charAt(position) == '-') {
+            sign = -1;
+            position++;
+        }
+
+        if (position < to && digitValue(text.charAt(position), ASCII) >= 0) {
+            int end = digitsEnd(text, position, to, ASCII);
+            int first = digitsValue(text, position, end, ASCII);
+            position = skipSpaces(text, end, to);
+            if (position == to) {
+                return new Fraction(sign * first, 1);
+            }
+            char next = text.charAt(position);
+            if (next == '/') {
+                return new Fraction(sign * first, denominator(text, from, position, to, '/', ASCII));
+            }
+            int kind;
+            char slash;
+            if (digitValue(next, SUPERSCRIPT) >= 0) {
+                kind = SUPERSCRIPT;
+                slash = DiagonalDigits.FRACTION_SLASH;
+            } else if (digitValue(next, ASCII) >= 0 && position > end) {
+                kind = ASCII;
+                slash = '/';
+            } else {
+                throw invalid(text, from, to, position);
+            }
+            int numeratorEnd = digitsEnd(text, position, to, kind);
+            int numerator = digitsValue(text, position, numeratorEnd, kind);
+            int denominator = denominator(text, from, numeratorEnd, to, slash, kind == SUPERSCRIPT ? SUBSCRIPT : ASCII);
+            if (first == 0) {
+                return new MixedFraction(0, sign * numerator, denominator);
+            }
+            return new MixedFraction(sign * first, numerator, denominator);
+        } else if (position < to && digitValue(text.charAt(position), SUPERSCRIPT) >= 0) {
+            int end = digitsEnd(text, position, to, SUPERSCRIPT);
+            int numerator = digitsValue(text, position, end, SUPERSCRIPT);
+            return new Fraction(sign * numerator, denominator(text, from, end, to, DiagonalDigits.FRACTION_SLASH, SUBSCRIPT));
+        }
+        throw invalid(text, from, to, position);
+    }
+
+    /**
+     * Parses the slash and the denominator that end a fraction.
+     * @param text the text containing the fraction
+     * @param from the index of the first character of the fraction
+     * @param position the index of the slash
+     * @param to the index after the last character of the fraction
+     * @param slash the expected slash
+     * @param kind the kind of digits of the denominator
+     * @return the denominator
+     * @throws NumberFormatException if the rest of the range is not a slash and a denominator other than 0
+     */
+    private static int denominator(CharSequence text, int from, int position, int to, char slash, int kind) {
+        if (position >= to || text.charAt(position) != slash) {
+            throw invalid(text, from, to, position);
+        }
+        int end = digitsEnd(text, position + 1, to, kind);
+        if (end == position + 1 || end != to) {
+            throw invalid(text, from, to, end);
+        }
+        int denominator = digitsValue(text, position + 1, end, kind);
+        if (denominator == 0) {
+            throw new NumberFormatException("Denominator cannot be zero");
+        }
+        return denominator;
+    }
+
+    /**
+     * Skips spaces.
+     * @param text the text
+     * @param position the index of the first character to check
+     * @param to the index after the last character to check
+     * @return the index of the first character that is not a space, or to
+     */
+    private static int skipSpaces(CharSequence text, int position, int to) {
+        while (position < to && Character.isWhitespace(text.charAt(position))) {
+            position++;
+        }
+        return position;
+    }
+
+    /**
+     * Finds the end of a run of digits.
+     * @param text the text
+     * @param position the index of the first digit
+     * @param to the index after the last character to check
+     * @param kind the kind of the digits
+     * @return the index after the last digit
+     */
+    private static int digitsEnd(CharSequence text, int position, int to, int kind) {
+        while (position < to && digitValue(text.charAt(position), kind) >= 0) {
+            position++;
+        }
+        return position;
+    }
+
+    /**
+     * Computes the value of a run of digits.
+     * @param text the text
+     * @param from the index of the first digit
+     * @param to the index after the last digit
+     * @param kind the kind of the digits
+     * @return the value of the digits
+     * @throws NumberFormatException if the value does not fit in an int
+     */
+    private static int digitsValue(CharSequence text, int from, int to, int kind) {
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            value = value * 10 + digitValue(text.charAt(i), kind);
+            if (value > Integer.MAX_VALUE) {
+                throw new NumberFormatException("Number too large at index " + from);
+            }
+        }
+        return (int) value;
+    }
+
+    /**
+     * Gets the value of a digit.
+     * @param character the character
+     * @param kind the kind of digit expected
+     * @return the value of the digit, or -1 if the character is not a digit of that kind
+     */
+    private static int digitValue(char character, int kind) {
+        if (kind == SUPERSCRIPT) {
+            return DiagonalDigits.superscriptValue(character);
+        } else if (kind == SUBSCRIPT) {
+            return DiagonalDigits.subscriptValue(character);
+        }
+        return character >= '0' && character <= '9' ? character - '0' : -1;
+    }
+
+    /**
+     * Creates the exception for a range that is not a fraction.
+     * @param text the text
+     * @param from the index of the first character of the fraction
+     * @param to the index after the last character of the fraction
+     * @param position the index of the first invalid character
+     * @return the exception to be thrown
+     */
+    private static NumberFormatException invalid(CharSequence text, int from, int to, int position) {
+        return new NumberFormatException("Not a fraction: \"" + text.subSequence(from, to) + "\" at index " + position);
+    }
+
+    /**
+     * Appends a whole number without creating any object.
+     * @param out the destination of the number
+     * @param value the number
+     * @throws IOException if the destination cannot be written to
+     */
+    static void appendNumber(Appendable out, long value) throws IOException {
+        if (value < 0) {
+            out.append('-');
+        } else {
+            value = -value;
+        }
+        long divisor = -1;
+        while (divisor >= value / 10) {
+            divisor *= 10;
+        }
+        while (divisor != 0) {
+            out.append((char) ('0' + value / divisor % 10));
+            divisor /= 10;
         }
-        return numerator + "/" + denominator;
     }
 
     /**
@@ -0,0 +1,517 @@
+package reference;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * The FractionDataset class reads a compact binary file of fractions and mixed fractions through a
+ * memory-mapped buffer, so large datasets are decoded straight from the page cache instead of being parsed
+ * from text.
+ * <p>
+ * A dataset starts with a {@value #HEADER_SIZE}-byte header holding the magic number, the schema version,
+ * the number of records, the block size, the number of blocks and the offset of the block index. Every
+ * record is the whole part, the numerator and the denominator, each zigzag-encoded and written as a
+ * little-endian base-128 varint, so small values take a single byte. A plain fraction has a whole part
+ * of 0. The block index at the end of the file holds the offset of the first record of every block, so a
+ * record is found by seeking to its block and skipping fewer than a block of records.
+ * <p>
+ * Datasets are written with a {@link Writer}. Records are read with a {@link Cursor}, which yields the
+ * parts of the current record, the record packed into a long, or a view filled into a reusable
+ * {@link MixedFraction}, without creating any object per record. A dataset can be read by any number of
+ * threads, each with its own cursor. Files of up to 2 GB are supported, and the writer refuses a record that
+ * would make the file larger.
+ *
+ * @author Junsel Fabe
+ * @version 1
+ */
+public class FractionDataset implements Closeable {
+
+    /**
+     * The default number of records per block of the index.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 1024;
+
+    private static final int MAGIC = 0x46524431;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final long MAX_FILE_SIZE = Integer.MAX_VALUE;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final long count;
+    private final int blockSize;
+    private final int blockCount;
+    private final int indexOffset;
+
+    /**
+     * Constructs a FractionDataset for an open file.
+     *
+     * @param channel The channel of the dataset file.
+     * @throws IOException If the file cannot be mapped or is not a dataset of a supported version.
+     */
+    private FractionDataset(FileChannel channel) throws IOException {
+        this.channel = channel;
+        long size = channel.size();
+        if (size < HEADER_SIZE || size > MAX_FILE_SIZE) {
+            throw new IOException("Not a fraction dataset of a supported size: " + size + " bytes");
+        }
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a fraction dataset");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported fraction dataset version: " + buffer.getInt(4));
+        }
+        count = buffer.getLong(8);
+        blockSize = buffer.getInt(16);
+        blockCount = buffer.getInt(20);
+        long index = buffer.getLong(24);
+        if (count < 0 || blockSize <= 0 || blockCount != (count + blockSize - 1) / blockSize
+                || index < HEADER_SIZE || index + (long) blockCount * Long.BYTES > size) {
+            throw new IOException("Corrupt fraction dataset header");
+        }
+        indexOffset = (int) index;
+    }
+
+    /**
+     * Opens a dataset file for reading.
+     *
+     * @param path The dataset file.
+     * @return The opened dataset.
+     * @throws IOException If the file cannot be opened or is not a dataset of a supported version.
+     */
+    public static FractionDataset open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new FractionDataset(channel);
+        } catch (IOException | RuntimeException exception) {
+            channel.close();
+            throw exception;
+        }
+    }
+
+    /**
+     * Creates a dataset file with the default block size, replacing any existing file.
+     *
+     * @param path The dataset file.
+     * @return The writer of the dataset.
+     * @throws IOException If the file cannot be created.
+     */
+    public static Writer create(Path path) throws IOException {
+        return new Writer(path, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Gets the number of records in the dataset.
+     *
+     * @return The number of records.
+     */
+    public long size() {
+        return count;
+    }
+
+    /**
+     * Gets the number of blocks in the dataset. Blocks can be read independently, for example by
+     * different threads.
+     *
+     * @return The number of blocks.
+     */
+    public int getBlockCount() {
+        return blockCount;
+    }
+
+    /**
+     * Gets the number of records per block.
+     *
+     * @return The number of records in every block but the last.
+     */
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    /**
+     * Creates a cursor positioned before the first record.
+     *
+     * @return The new cursor.
+     */
+    public Cursor cursor() {
+        Cursor cursor = new Cursor();
+        cursor.seek(0);
+        return cursor;
+    }
+
+    /**
+     * Reads a record into a mixed fraction.
+     *
+     * @param ordinal The position of the record, 0 being the first one.
+     * @param target  The mixed fraction the record is stored into.
+     * @return The target mixed fraction.
+     */
+    public MixedFraction get(long ordinal, MixedFraction target) {
+        Cursor cursor = new Cursor().seek(ordinal);
+        if (!cursor.next()) {
+            throw new IndexOutOfBoundsException("Record " + ordinal + " of " + count);
+        }
+        return cursor.view(target);
+    }
+
+    /**
+     * Closes the dataset file. The mapping is released once it is no longer reachable, so cursors must not
+     * be used after the dataset is closed.
+     *
+     * @throws IOException If the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Packs a fraction into a long, the numerator in the high 32 bits and the denominator in the low 32 bits.
+     *
+     * @param numerator   The numerator.
+     * @param denominator The denominator.
+     * @return The packed fraction.
+     */
+    public static long pack(int numerator, int denominator) {
+        return (long) numerator << 32 | denominator & 0xFFFFFFFFL;
+    }
+
+    /**
+     * Gets the numerator of a packed fraction.
+     *
+     * @param packed The packed fraction.
+     * @return The numerator.
+     */
+    public static int packedNumerator(long packed) {
+        return (int) (packed >> 32);
+    }
+
+    /**
+     * Gets the denominator of a packed fraction.
+     *
+     * @param packed The packed fraction.
+     * @return The denominator.
+     */
+    public static int packedDenominator(long packed) {
+        return (int) packed;
+    }
+
+    /**
+     * Zigzag-encodes an int, so values of small magnitude have small unsigned encodings.
+     *
+     * @param value The value.
+     * @return The encoded value, to be read as unsigned.
+     */
+    private static int zigzag(int value) {
+        return value << 1 ^ value >> 31;
+    }
+
+    /**
+     * Decodes a zigzag-encoded int.
+     *
+     * @param encoded The encoded value.
+     * @return The value.
+     */
+    private static int unzigzag(int encoded) {
+        return encoded >>> 1 ^ -(encoded & 1);
+    }
+
+    /**
+     * The Cursor class walks the records of a dataset. The parts of the current record are read directly
+     * from the mapped file, and no object is created per record.
+     * <p>
+     * A cursor is not thread-safe; every thread reading the dataset uses its own cursor.
+     */
+    public final class Cursor {
+
+        private long ordinal;
+        private int position;
+        private int whole;
+        private int numerator;
+        private int denominator;
+
+        /**
+         * Constructs a cursor, to be positioned with {@link #seek(long)}.
+         */
+        private Cursor() {
+        }
+
+        /**
+         * Positions the cursor before the specified record, using the block index.
+         *
+         * @param target The position of the record, between 0 and the number of records.
+         * @return This cursor.
+         */
+        public Cursor seek(long target) {
+            if (target < 0 || target > count) {
+                throw new IndexOutOfBoundsException("Record " + target + " of " + count);
+            }
+            int block = (int) Math.min(target / blockSize, blockCount - 1L);
+            if (block < 0) {
+                ordinal = 0;
+                position = HEADER_SIZE;
+                return this;
+            }
+            ordinal = (long) block * blockSize;
+            position = (int) buffer.getLong(indexOffset + block * Long.BYTES);
+            while (ordinal < target) {
+                next();
+            }
+            return this;
+        }
+
+        /**
+         * Positions the cursor before the first record of the specified block.
+         *
+         * @param block The block, between 0 and the number of blocks.
+         * @return This cursor.
+         */
+        public Cursor seekBlock(int block) {
+            return seek(Math.min((long) block * blockSize, count));
+        }
+
+        /**
+         * Moves to the next record.
+         *
+         * @return true if there was a next record, false if the cursor is after the last one.
+         */
+        public boolean next() {
+            if (ordinal >= count) {
+                return false;
+            }
+            whole = unzigzag(readVarint());
+            numerator = unzigzag(readVarint());
+            denominator = unzigzag(readVarint());
+            ordinal++;
+            return true;
+        }
+
+        /**
+         * Gets the position of the next record.
+         *
+         * @return The number of records read so far.
+         */
+        public long ordinal() {
+            return ordinal;
+        }
+
+        /**
+         * Gets the whole part of the current record.
+         *
+         * @return The whole part, 0 for a plain fraction.
+         */
+        public int whole() {
+            return whole;
+        }
+
+        /**
+         * Gets the numerator of the fraction part of the current record.
+         *
+         * @return The numerator.
+         */
+        public int numerator() {
+            return numerator;
+        }
+
+        /**
+         * Gets the denominator of the current record.
+         *
+         * @return The denominator.
+         */
+        public int denominator() {
+            return denominator;
+        }
+
+        /**
+         * Packs the current record into a long as an improper fraction.
+         *
+         * @return The packed fraction, see {@link FractionDataset#pack(int, int)}.
+         * @throws ArithmeticException If the improper numerator does not fit in an int.
+         */
+        public long packed() {
+            long magnitude = Math.abs((long) whole) * denominator + numerator;
+            return pack(Math.toIntExact(whole < 0 ? -magnitude : magnitude), denominator);
+        }
+
+        /**
+         * Stores the current record into a mixed fraction, which can be reused for every record.
+         *
+         * @param target The mixed fraction the record is stored into.
+         * @return The target mixed fraction.
+         */
+        public MixedFraction view(MixedFraction target) {
+            target.setWholeNumber(whole);
+            target.setNumerator(numerator);
+            target.setDenominator(denominator);
+            return target;
+        }
+
+        /**
+         * Reads an unsigned varint at the current position and moves past it.
+         *
+         * @return The value, as an unsigned int.
+         */
+        private int readVarint() {
+            int value = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = buffer.get(position++);
+                value |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+                if (shift == 28) {
+                    throw new IllegalStateException("Corrupt record before offset " + position);
+                }
+            }
+        }
+    }
+
+    /**
+     * The Writer class writes a dataset file record by record. The block index and the header are written
+     * when the writer is closed, so a dataset is only readable once it is complete.
+     * <p>
+     * A writer is not thread-safe.
+     */
+    public static final class Writer implements Closeable {
+
+        private static final int MAX_RECORD_SIZE = 15;
+
+        private final FileChannel channel;
+        private final int blockSize;
+        private final ByteBuffer output = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+        private long[] blocks = new long[16];
+        private int blockCount;
+        private long count;
+        private long offset = HEADER_SIZE;
+
+        /**
+         * Constructs a Writer, replacing any existing file.
+         *
+         * @param path      The dataset file.
+         * @param blockSize The number of records per block of the index.
+         * @throws IOException If the file cannot be created.
+         */
+        public Writer(Path path, int blockSize) throws IOException {
+            if (blockSize <= 0) {
+                throw new IllegalArgumentException("Block size must be positive: " + blockSize);
+            }
+            this.blockSize = blockSize;
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+        }
+
+        /**
+         * Writes a fraction, or a mixed fraction with its whole part.
+         *
+         * @param fraction The fraction to be written.
+         * @throws IOException If the file cannot be written or would exceed the size limit.
+         */
+        public void write(Fraction fraction) throws IOException {
+            int whole = fraction instanceof MixedFraction ? ((MixedFraction) fraction).getWholeNumber() : 0;
+            write(whole, fraction.getNumerator(), fraction.getDenominator());
+        }
+
+        /**
+         * Writes a record. A record that could make the file, with its block index, larger than a dataset can
+         * be read at is refused, and the records written before it still make a valid dataset.
+         *
+         * @param whole       The whole part, 0 for a plain fraction.
+         * @param numerator   The numerator of the fraction part.
+         * @param denominator The denominator.
+         * @throws IOException If the file cannot be written or would exceed the size limit.
+         */
+        public void write(int whole, int numerator, int denominator) throws IOException {
+            boolean newBlock = count % blockSize == 0;
+            long size = offset + output.position() + MAX_RECORD_SIZE + (long) (blockCount + (newBlock ? 1 : 0)) * Long.BYTES;
+            if (size > MAX_FILE_SIZE) {
+                throw new IOException("Fraction dataset would exceed " + MAX_FILE_SIZE + " bytes after " + count + " records");
+            }
+            if (output.remaining() < MAX_RECORD_SIZE) {
+                flush();
+            }
+            if (newBlock) {
+                if (blockCount == blocks.length) {
+                    blocks = Arrays.copyOf(blocks, blockCount * 2);
+                }
+                blocks[blockCount++] = offset + output.position();
+            }
+            writeVarint(zigzag(whole));
+            writeVarint(zigzag(numerator));
+            writeVarint(zigzag(denominator));
+            count++;
+        }
+
+        /**
+         * Writes the block index and the header, then closes the file.
+         *
+         * @throws IOException If the file cannot be written or closed.
+         */
+        @Override
+        public void close() throws IOException {
+            if (!channel.isOpen()) {
+                return;
+            }
+            try {
+                flush();
+                long indexOffset = offset;
+                ByteBuffer index = ByteBuffer.allocate(blockCount * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                index.asLongBuffer().put(blocks, 0, blockCount);
+                writeFully(index, indexOffset);
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+                header.putInt(MAGIC).putInt(VERSION).putLong(count).putInt(blockSize).putInt(blockCount)
+                        .putLong(indexOffset).flip();
+                writeFully(header, 0);
+            } finally {
+                channel.close();
+            }
+        }
+
+        /**
+         * Writes the buffered records to the file.
+         *
+         * @throws IOException If the file cannot be written.
+         */
+        private void flush() throws IOException {
+            output.flip();
+            int length = output.remaining();
+            writeFully(output, offset);
+            offset += length;
+            output.clear();
+        }
+
+        /**
+         * Writes a whole buffer at the specified offset of the file.
+         *
+         * @param source   The bytes to be written.
+         * @param position The offset in the file.
+         * @throws IOException If the file cannot be written.
+         */
+        private void writeFully(ByteBuffer source, long position) throws IOException {
+            while (source.hasRemaining()) {
+                position += channel.write(source, position);
+            }
+        }
+
+        /**
+         * Appends an unsigned varint to the buffer.
+         *
+         * @param value The value, read as an unsigned int.
+         */
+        private void writeVarint(int value) {
+            while ((value & ~0x7F) != 0) {
+                output.put((byte) (value & 0x7F | 0x80));
+                value >>>= 7;
+            }
+            output.put((byte) value);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package reference;
+
+/**
+ * The class FractionKernels runs bulk operations over fractions stored as two parallel arrays of numerators
+ * and denominators: conversion to decimals, exact comparison with a constant, and filtering by a threshold.
+ * <p>
+ * Two implementations exist. The vector one uses the incubating Vector API to work on as many fractions per
+ * instruction as the processor's widest SIMD registers hold; the scalar one is a plain loop. {@link #get()}
+ * picks the vector one when the {@code jdk.incubator.vector} module is in the boot layer, that is when the
+ * JVM was started with {@code --add-modules jdk.incubator.vector}, and falls back to the scalar one
+ * otherwise or when {@code -Dcalculator.vector=false} is set. Because the vector implementation is only
+ * loaded when it is picked, the module is needed to compile this package but not to run it.
+ * <p>
+ * Comparisons are exact: both sides are cross-multiplied in 64 bits, where the products of two ints cannot
+ * overflow, for every numerator and denominator other than {@link Integer#MIN_VALUE}. Every operation
+ * expects the arrays to have at least the same length as the first array, and every denominator to be
+ * non-zero; a zero denominator gives an infinite or NaN decimal, like {@link Fraction#toDecimal()}, and an
+ * unspecified comparison.
+ *
+ * @author Junsel Fabe
+ * @version 1
+ */
+public abstract class FractionKernels {
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    /**
+     * Constructs a kernel implementation.
+     */
+    FractionKernels() {
+    }
+
+    /**
+     * Gets the fastest implementation available in this JVM.
+     *
+     * @return the vector implementation if the Vector API is available and enabled, the scalar one otherwise
+     */
+    public static FractionKernels get() {
+        return Best.KERNELS;
+    }
+
+    /**
+     * Gets the scalar implementation, which runs anywhere.
+     *
+     * @return the scalar implementation
+     */
+    public static FractionKernels scalar() {
+        return ScalarFractionKernels.INSTANCE;
+    }
+
+    /**
+     * Gets the name of this implementation, with the vector width if it uses one.
+     *
+     * @return the name of the implementation
+     */
+    public abstract String name();
+
+    /**
+     * Converts fractions to decimals.
+     *
+     * @param numerators   the numerators
+     * @param denominators the denominators
+     * @param decimals     receives the quotient of every fraction
+     */
+    public abstract void toDecimal(int[] numerators, int[] denominators, double[] decimals);
+
+    /**
+     * Compares fractions with a constant fraction.
+     *
+     * @param numerators           the numerators
+     * @param denominators         the denominators
+     * @param constantNumerator    the numerator of the constant
+     * @param constantDenominator  the denominator of the constant
+     * @param signs                receives -1, 0 or 1 for every fraction less than, equal to or greater than the constant
+     * @throws ArithmeticException if the constant has a zero denominator
+     */
+    public abstract void compare(int[] numerators, int[] denominators, int constantNumerator, int constantDenominator,
+                                 int[] signs);
+
+    /**
+     * Finds the fractions greater than a threshold.
+     *
+     * @param numerators           the numerators
+     * @param denominators         the denominators
+     * @param thresholdNumerator   the numerator of the threshold
+     * @param thresholdDenominator the denominator of the threshold
+     * @param indices              receives the indices of the fractions greater than the threshold, in order;
+     *                             it must be as long as the fractions
+     * @return the number of indices written
+     * @throws ArithmeticException if the threshold has a zero denominator
+     */
+    public abstract int filterGreaterThan(int[] numerators, int[] denominators, int thresholdNumerator,
+                                          int thresholdDenominator, int[] indices);
+
+    /**
+     * Gets the sign of a threshold denominator, which every implementation multiplies the threshold by so its
+     * denominator is positive.
+     *
+     * @param denominator the denominator of the threshold
+     * @return 1 or -1
+     * @throws ArithmeticException if the denominator is zero
+     */
+    static long thresholdSign(int denominator) {
+        if (denominator == 0) {
+            throw new ArithmeticException("Denominator cannot be zero");
+        }
+        return denominator > 0 ? 1 : -1;
+    }
+
+    /**
+     * Holds the implementation picked when it is first used.
+     */
+    private static final class Best {
+
+        private static final FractionKernels KERNELS = pick();
+
+        /**
+         * Picks the vector implementation if it can be loaded and is enabled, the scalar one otherwise.
+         *
+         * @return the picked implementation
+         */
+        private static FractionKernels pick() {
+            if (!Boolean.parseBoolean(System.getProperty("calculator.vector", "true"))
+                    || ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+                return ScalarFractionKernels.INSTANCE;
+            }
+            try {
+                return (FractionKernels) Class.forName("reference.VectorFractionKernels")
+                        .getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError exception) {
+                return ScalarFractionKernels.INSTANCE;
+            }
+        }
+    }
+}
@@ -0,0 +1,430 @@
+package reference;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * The class FractionMatrix represents an immutable matrix of exact fractions with the determinant, inverse
+ * and solution of linear systems.
+ * <p>
+ * Computations use fraction-free Bareiss elimination. Every row is first multiplied by the least common
+ * multiple of its denominators, so elimination works on integers only, and every step divides exactly by
+ * the previous pivot, so entries grow no larger than the determinants of sub-matrices. Rows are kept in
+ * longs and only switch to {@link BigInteger}s when a long would overflow. For larger matrices, the rows
+ * of every elimination step are updated in parallel.
+ *
+ * @author Junsel Fabe
+ * @version 1
+ */
+public final class FractionMatrix {
+
+    private static final int PARALLEL_THRESHOLD = 64;
+
+    private final BigFraction[][] entries;
+
+    /**
+     * FractionMatrix constructor for entries that are not shared.
+     *
+     * @param entries the entries, by row
+     */
+    private FractionMatrix(BigFraction[][] entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * Creates a matrix of fractions or mixed fractions.
+     *
+     * @param rows the entries, by row
+     * @return a new matrix with the values of the entries
+     * @throws IllegalArgumentException if the matrix is empty or its rows have different lengths
+     * @throws ArithmeticException      if an entry has a zero denominator
+     */
+    public static FractionMatrix of(Fraction[][] rows) {
+        BigFraction[][] entries = new BigFraction[rows.length][];
+        for (int i = 0; i < rows.length; i++) {
+            entries[i] = new BigFraction[rows[i].length];
+            for (int j = 0; j < rows[i].length; j++) {
+                entries[i][j] = BigFraction.valueOf(rows[i][j]);
+            }
+        }
+        return of(entries);
+    }
+
+    /**
+     * Creates a matrix of fractions.
+     *
+     * @param rows the entries, by row
+     * @return a new matrix with the entries
+     * @throws IllegalArgumentException if the matrix is empty or its rows have different lengths
+     */
+    public static FractionMatrix of(BigFraction[][] rows) {
+        if (rows.length == 0 || rows[0].length == 0) {
+            throw new IllegalArgumentException("Matrix cannot be empty");
+        }
+        BigFraction[][] entries = new BigFraction[rows.length][];
+        for (int i = 0; i < rows.length; i++) {
+            if (rows[i].length != rows[0].length) {
+                throw new IllegalArgumentException("Row " + i + " has " + rows[i].length + " entries instead of " + rows[0].length);
+            }
+            entries[i] = rows[i].clone();
+        }
+        return new FractionMatrix(entries);
+    }
+
+    /**
+     * Gets the number of rows.
+     *
+     * @return the number of rows
+     */
+    public int getRows() {
+        return entries.length;
+    }
+
+    /**
+     * Gets the number of columns.
+     *
+     * @return the number of columns
+     */
+    public int getColumns() {
+        return entries[0].length;
+    }
+
+    /**
+     * Gets an entry of the matrix.
+     *
+     * @param row    the row of the entry
+     * @param column the column of the entry
+     * @return the entry
+     */
+    public BigFraction get(int row, int column) {
+        return entries[row][column];
+    }
+
+    /**
+     * Computes the determinant of a square matrix.
+     *
+     * @return the exact determinant
+     * @throws IllegalStateException if the matrix is not square
+     */
+    public BigFraction determinant() {
+        checkSquare();
+        Elimination elimination = new Elimination(this, null);
+        if (!elimination.run(false)) {
+            return BigFraction.ZERO;
+        }
+        BigInteger pivot = elimination.rows[entries.length - 1].get(entries.length - 1);
+        return BigFraction.of(elimination.negated ? pivot.negate() : pivot, elimination.scale);
+    }
+
+    /**
+     * Computes the inverse of a square matrix.
+     *
+     * @return the exact inverse
+     * @throws IllegalStateException if the matrix is not square
+     * @throws ArithmeticException   if the matrix is singular
+     */
+    public FractionMatrix inverse() {
+        checkSquare();
+        int n = entries.length;
+        BigFraction[][] identity = new BigFraction[n][n];
+        for (int i = 0; i < n; i++) {
+            Arrays.fill(identity[i], BigFraction.ZERO);
+            identity[i][i] = BigFraction.of(1, 1);
+        }
+        return new FractionMatrix(solve(identity));
+    }
+
+    /**
+     * Solves the linear system whose coefficients are this square matrix.
+     *
+     * @param right the right-hand side of the system
+     * @return the exact solution x of this * x = right
+     * @throws IllegalStateException    if the matrix is not square
+     * @throws IllegalArgumentException if the right-hand side does not have one entry per row
+     * @throws ArithmeticException      if the matrix is singular
+     */
+    public BigFraction[] solve(BigFraction[] right) {
+        BigFraction[][] columns = new BigFraction[right.length][1];
+        for (int i = 0; i < right.length; i++) {
+            columns[i][0] = right[i];
+        }
+        BigFraction[][] solution = solve(columns);
+        BigFraction[] result = new BigFraction[solution.length];
+        for (int i = 0; i < solution.length; i++) {
+            result[i] = solution[i][0];
+        }
+        return result;
+    }
+
+    /**
+     * Solves the linear system whose coefficients are this square matrix.
+     *
+     * @param right the right-hand side of the system, fractions or mixed fractions
+     * @return the exact solution x of this * x = right
+     * @throws IllegalStateException    if the matrix is not square
+     * @throws IllegalArgumentException if the right-hand side does not have one entry per row
+     * @throws ArithmeticException      if the matrix is singular or an entry has a zero denominator
+     */
+    public BigFraction[] solve(Fraction[] right) {
+        BigFraction[] values = new BigFraction[right.length];
+        for (int i = 0; i < right.length; i++) {
+            values[i] = BigFraction.valueOf(right[i]);
+        }
+        return solve(values);
+    }
+
+    /**
+     * Solves the linear systems for several right-hand sides at once with fraction-free Gauss-Jordan
+     * elimination. Afterwards every diagonal entry equals the last pivot, so every solution is an augmented
+     * entry divided by it.
+     *
+     * @param right the right-hand sides, by row
+     * @return the solutions, by row
+     */
+    private BigFraction[][] solve(BigFraction[][] right) {
+        checkSquare();
+        int n = entries.length;
+        if (right.length != n) {
+            throw new IllegalArgumentException("Expected " + n + " rows on the right-hand side, got " + right.length);
+        }
+        Elimination elimination = new Elimination(this, right);
+        if (!elimination.run(true)) {
+            throw new ArithmeticException("Matrix is singular");
+        }
+        BigInteger pivot = elimination.rows[n - 1].get(n - 1);
+        BigFraction[][] solution = new BigFraction[n][right[0].length];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < solution[i].length; j++) {
+                solution[i][j] = BigFraction.of(elimination.rows[i].get(n + j), pivot);
+            }
+        }
+        return solution;
+    }
+
+    /**
+     * Checks that the matrix is square.
+     *
+     * @throws IllegalStateException if the matrix is not square
+     */
+    private void checkSquare() {
+        if (getRows() != getColumns()) {
+            throw new IllegalStateException("Matrix is " + getRows() + "x" + getColumns() + ", not square");
+        }
+    }
+
+    /**
+     * Converts the matrix to a readable format.
+     *
+     * @return the rows of the matrix, one per line
+     */
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        for (BigFraction[] row : entries) {
+            text.append(Arrays.toString(row)).append('\n');
+        }
+        return text.toString();
+    }
+
+    /**
+     * The Elimination class runs Bareiss elimination on the integer rows of a matrix, optionally augmented
+     * with right-hand sides.
+     */
+    private static final class Elimination {
+
+        private final Row[] rows;
+        private final int size;
+        private BigInteger scale = BigInteger.ONE;
+        private boolean negated;
+
+        /**
+         * Creates the integer rows of a matrix, each multiplied by the least common multiple of its
+         * denominators.
+         *
+         * @param matrix the square matrix
+         * @param right  the right-hand sides appended to every row, or null
+         */
+        Elimination(FractionMatrix matrix, BigFraction[][] right) {
+            size = matrix.entries.length;
+            rows = new Row[size];
+            for (int i = 0; i < size; i++) {
+                BigFraction[] row = matrix.entries[i];
+                if (right != null) {
+                    row = Arrays.copyOf(row, size + right[i].length);
+                    System.arraycopy(right[i], 0, row, size, right[i].length);
+                }
+                BigInteger multiple = BigInteger.ONE;
+                for (BigFraction entry : row) {
+                    BigInteger denominator = entry.getDenominator();
+                    multiple = multiple.divide(multiple.gcd(denominator)).multiply(denominator);
+                }
+                BigInteger[] values = new BigInteger[row.length];
+                for (int j = 0; j < row.length; j++) {
+                    values[j] = row[j].getNumerator().multiply(multiple.divide(row[j].getDenominator()));
+                }
+                rows[i] = Row.of(values);
+                scale = scale.multiply(multiple);
+            }
+        }
+
+        /**
+         * Eliminates the matrix.
+         *
+         * @param gaussJordan whether the rows above the pivots are eliminated too, which solving needs
+         * @return false if the matrix is singular
+         */
+        boolean run(boolean gaussJordan) {
+            Row previous = null;
+            for (int k = 0; k < size; k++) {
+                if (rows[k].signum(k) == 0 && !swapPivot(k)) {
+                    return false;
+                }
+                Row pivotRow = rows[k];
+                BigInteger divisor = previous == null ? BigInteger.ONE : previous.get(k - 1);
+                int column = k;
+                IntStream targets = IntStream.range(gaussJordan ? 0 : k + 1, size).filter(i -> i != column);
+                if (size - k >= PARALLEL_THRESHOLD) {
+                    targets = targets.parallel();
+                }
+                targets.forEach(i -> rows[i] = rows[i].eliminate(pivotRow, column, divisor, i < column ? i : -1));
+                previous = pivotRow;
+            }
+            return true;
+        }
+
+        /**
+         * Swaps the row of a zero pivot with a later row that has a non-zero entry in the pivot column.
+         *
+         * @param k the pivot column
+         * @return false if there is no such row
+         */
+        private boolean swapPivot(int k) {
+            for (int i = k + 1; i < size; i++) {
+                if (rows[i].signum(k) != 0) {
+                    Row row = rows[i];
+                    rows[i] = rows[k];
+                    rows[k] = row;
+                    negated = !negated;
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * The Row class holds one integer row of an elimination, in longs while its entries fit and in
+     * BigIntegers after that. Rows are immutable, so rows can be updated in parallel.
+     */
+    private static final class Row {
+
+        private final long[] small;
+        private final BigInteger[] big;
+
+        /**
+         * Row constructor.
+         *
+         * @param small the entries in longs, or null
+         * @param big   the entries in BigIntegers, or null
+         */
+        private Row(long[] small, BigInteger[] big) {
+            this.small = small;
+            this.big = big;
+        }
+
+        /**
+         * Creates a row in longs if all entries fit.
+         *
+         * @param values the entries
+         * @return the row
+         */
+        static Row of(BigInteger[] values) {
+            long[] small = new long[values.length];
+            for (int j = 0; j < values.length; j++) {
+                if (values[j].bitLength() > 63) {
+                    return new Row(null, values);
+                }
+                small[j] = values[j].longValue();
+            }
+            return new Row(small, null);
+        }
+
+        /**
+         * Gets an entry.
+         *
+         * @param j the column
+         * @return the entry
+         */
+        BigInteger get(int j) {
+            return small != null ? BigInteger.valueOf(small[j]) : big[j];
+        }
+
+        /**
+         * Gets the sign of an entry.
+         *
+         * @param j the column
+         * @return -1, 0 or 1
+         */
+        int signum(int j) {
+            return small != null ? Long.signum(small[j]) : big[j].signum();
+        }
+
+        /**
+         * Computes this row after one Bareiss step, where every entry from the pivot column on becomes
+         * (pivot * entry - this[k] * pivotRow[entry]) / divisor, which is an exact division.
+         *
+         * @param pivotRow the row of the pivot
+         * @param k        the pivot column
+         * @param divisor  the previous pivot
+         * @param diagonal the column of this row's own pivot if it was eliminated before, or -1
+         * @return the new row
+         */
+        Row eliminate(Row pivotRow, int k, BigInteger divisor, int diagonal) {
+            if (small != null && pivotRow.small != null && divisor.bitLength() <= 63) {
+                try {
+                    return eliminateSmall(pivotRow.small, k, divisor.longValue(), diagonal);
+                } catch (ArithmeticException exception) {
+                    // continue in BigIntegers
+                }
+            }
+            int length = small != null ? small.length : big.length;
+            BigInteger[] values = new BigInteger[length];
+            for (int j = 0; j < k; j++) {
+                values[j] = get(j);
+            }
+            BigInteger pivot = pivotRow.get(k);
+            BigInteger factor = get(k);
+            for (int j = k; j < length; j++) {
+                values[j] = pivot.multiply(get(j)).subtract(factor.multiply(pivotRow.get(j))).divide(divisor);
+            }
+            if (diagonal >= 0) {
+                values[diagonal] = pivot;
+            }
+            return of(values);
+        }
+
+        /**
+         * Computes this row after one Bareiss step in longs.
+         *
+         * @param pivotRow the row of the pivot
+         * @param k        the pivot column
+         * @param divisor  the previous pivot
+         * @param diagonal the column of this row's own pivot if it was eliminated before, or -1
+         * @return the new row
+         * @throws ArithmeticException if an intermediate result does not fit in a long
+         */
+        private Row eliminateSmall(long[] pivotRow, int k, long divisor, int diagonal) {
+            long[] values = small.clone();
+            long pivot = pivotRow[k];
+            long factor = small[k];
+            for (int j = k; j < values.length; j++) {
+                values[j] = Math.subtractExact(Math.multiplyExact(pivot, small[j]), Math.multiplyExact(factor, pivotRow[j])) / divisor;
+            }
+            if (diagonal >= 0) {
+                values[diagonal] = pivot;
+            }
+            return new Row(values, null);
+        }
+    }
+}
@@ -0,0 +1,367 @@
+package reference;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Collector;
+
+/**
+ * The class Fractions computes exact aggregates of many fractions: their sum, mean, minimum, maximum and median.
+ * <p>
+ * Sums are accumulated over the least common multiple of the denominators seen so far, in longs until they
+ * would overflow and in {@link BigInteger}s after that, so adding many fractions with the same few
+ * denominators stays cheap. Large collections are split in halves on the common fork/join pool and the
+ * partial sums are combined pairwise. The same accumulation is available as {@link Collector}s, so parallel
+ * streams of fractions get exact results. Mixed fractions are aggregated by their value.
+ *
+ * @author Junsel Fabe
+ * @version 1
+ */
+public final class Fractions {
+
+    /**
+     * Orders fractions and mixed fractions by their exact values.
+     */
+    public static final Comparator<Fraction> ORDER = Fractions::compare;
+
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
+    private static final int LEAF_SIZE = 64;
+
+    /**
+     * Fractions has only static methods.
+     */
+    private Fractions() {
+    }
+
+    /**
+     * Sums fractions exactly.
+     *
+     * @param fractions the fractions to be added
+     * @return the exact sum, zero if there are no fractions
+     * @throws ArithmeticException if a fraction has a zero denominator
+     */
+    public static BigFraction sum(Collection<? extends Fraction> fractions) {
+        return accumulate(fractions.toArray(new Fraction[0])).toBigFraction();
+    }
+
+    /**
+     * Computes the exact arithmetic mean of fractions.
+     *
+     * @param fractions the fractions to be averaged
+     * @return the exact mean
+     * @throws NoSuchElementException if there are no fractions
+     * @throws ArithmeticException    if a fraction has a zero denominator
+     */
+    public static BigFraction mean(Collection<? extends Fraction> fractions) {
+        return accumulate(fractions.toArray(new Fraction[0])).toMean()
+                .orElseThrow(() -> new NoSuchElementException("No fractions to average"));
+    }
+
+    /**
+     * Finds the smallest fraction.
+     *
+     * @param fractions the fractions to be compared
+     * @param <F>       the type of the fractions
+     * @return the smallest fraction, the first one if several have the same value
+     * @throws NoSuchElementException if there are no fractions
+     */
+    public static <F extends Fraction> F min(Collection<F> fractions) {
+        return fractions.stream().min(ORDER).orElseThrow(() -> new NoSuchElementException("No fractions to compare"));
+    }
+
+    /**
+     * Finds the largest fraction.
+     *
+     * @param fractions the fractions to be compared
+     * @param <F>       the type of the fractions
+     * @return the largest fraction, the first one if several have the same value
+     * @throws NoSuchElementException if there are no fractions
+     */
+    public static <F extends Fraction> F max(Collection<F> fractions) {
+        return fractions.stream().max(ORDER).orElseThrow(() -> new NoSuchElementException("No fractions to compare"));
+    }
+
+    /**
+     * Computes the exact median of fractions, the mean of the two middle values if there is an even number
+     * of them. Large collections are sorted in parallel.
+     *
+     * @param fractions the fractions
+     * @return the exact median
+     * @throws NoSuchElementException if there are no fractions
+     */
+    public static BigFraction median(Collection<? extends Fraction> fractions) {
+        Fraction[] sorted = fractions.toArray(new Fraction[0]);
+        if (sorted.length == 0) {
+            throw new NoSuchElementException("No fractions to compare");
+        }
+        if (sorted.length >= PARALLEL_THRESHOLD) {
+            Arrays.parallelSort(sorted, ORDER);
+        } else {
+            Arrays.sort(sorted, ORDER);
+        }
+        BigFraction middle = BigFraction.valueOf(sorted[sorted.length / 2]);
+        if (sorted.length % 2 == 1) {
+            return middle;
+        }
+        return middle.add(BigFraction.valueOf(sorted[sorted.length / 2 - 1])).divide(2);
+    }
+
+    /**
+     * Creates a collector that sums fractions exactly, also in parallel streams.
+     *
+     * @return a collector producing the exact sum, zero if there are no fractions
+     */
+    public static Collector<Fraction, ?, BigFraction> summing() {
+        return Collector.of(Sum::new, Sum::add, Sum::combine, Sum::toBigFraction, Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Creates a collector that computes the exact arithmetic mean of fractions, also in parallel streams.
+     *
+     * @return a collector producing the exact mean, or an empty optional if there are no fractions
+     */
+    public static Collector<Fraction, ?, Optional<BigFraction>> averaging() {
+        return Collector.of(Sum::new, Sum::add, Sum::combine, Sum::toMean, Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Compares two fractions or mixed fractions by their exact values.
+     *
+     * @param first  the first fraction
+     * @param second the second fraction
+     * @return a negative number, zero or a positive number if the first fraction is less than, equal to or greater than the second
+     * @throws ArithmeticException if a fraction has a zero denominator
+     */
+    public static int compare(Fraction first, Fraction second) {
+        long firstNumerator = first.exactNumerator();
+        long firstDenominator = checkedDenominator(first);
+        long secondNumerator = second.exactNumerator();
+        long secondDenominator = checkedDenominator(second);
+        if (firstDenominator < 0) {
+            firstNumerator = -firstNumerator;
+            firstDenominator = -firstDenominator;
+        }
+        if (secondDenominator < 0) {
+            secondNumerator = -secondNumerator;
+            secondDenominator = -secondDenominator;
+        }
+        long high = Math.multiplyHigh(firstNumerator, secondDenominator);
+        long otherHigh = Math.multiplyHigh(secondNumerator, firstDenominator);
+        if (high != otherHigh) {
+            return Long.compare(high, otherHigh);
+        }
+        return Long.compareUnsigned(firstNumerator * secondDenominator, secondNumerator * firstDenominator);
+    }
+
+    /**
+     * Sums an array of fractions, splitting it on the fork/join pool if it is large.
+     *
+     * @param fractions the fractions to be added
+     * @return the accumulated sum
+     */
+    private static Sum accumulate(Fraction[] fractions) {
+        SumTask task = new SumTask(fractions, 0, fractions.length);
+        return fractions.length >= PARALLEL_THRESHOLD ? task.invoke() : task.compute();
+    }
+
+    /**
+     * Gets the denominator of a fraction, checking that it can be used in arithmetic.
+     *
+     * @param fraction the fraction
+     * @return the denominator of the fraction
+     * @throws ArithmeticException if the denominator is zero
+     */
+    private static long checkedDenominator(Fraction fraction) {
+        int denominator = fraction.getDenominator();
+        if (denominator == 0) {
+            throw new ArithmeticException("Denominator cannot be zero");
+        }
+        return denominator;
+    }
+
+    /**
+     * Finds the greatest common divisor of two non-negative numbers.
+     *
+     * @param first  the first number
+     * @param second the second number
+     * @return the greatest common divisor
+     */
+    private static long gcd(long first, long second) {
+        while (second != 0) {
+            long remainder = first % second;
+            first = second;
+            second = remainder;
+        }
+        return first;
+    }
+
+    /**
+     * The SumTask class adds a range of an array of fractions by adding its two halves and combining their
+     * sums, until the range is small enough to be added in a loop. Combining sums of equal size keeps
+     * BigInteger sums of fractions with many different denominators from growing one fraction at a time.
+     * Large halves are added in parallel.
+     */
+    private static final class SumTask extends RecursiveTask<Sum> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Fraction[] fractions;
+        private final int from;
+        private final int to;
+
+        /**
+         * Creates a task adding a range of fractions.
+         *
+         * @param fractions the fractions
+         * @param from      the index of the first fraction to be added
+         * @param to        the index after the last fraction to be added
+         */
+        SumTask(Fraction[] fractions, int from, int to) {
+            this.fractions = fractions;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Adds the range of fractions.
+         *
+         * @return the sum of the range
+         */
+        @Override
+        protected Sum compute() {
+            if (to - from <= LEAF_SIZE) {
+                Sum sum = new Sum();
+                for (int i = from; i < to; i++) {
+                    sum.add(fractions[i]);
+                }
+                return sum;
+            }
+            int middle = (from + to) >>> 1;
+            SumTask left = new SumTask(fractions, from, middle);
+            SumTask right = new SumTask(fractions, middle, to);
+            if (to - from < PARALLEL_THRESHOLD) {
+                return left.compute().combine(right.compute());
+            }
+            left.fork();
+            Sum rightSum = right.compute();
+            return left.join().combine(rightSum);
+        }
+    }
+
+    /**
+     * The Sum class accumulates an exact sum and a count of fractions. The sum is kept over the least common
+     * multiple of the denominators added so far, in longs until they would overflow and in BigIntegers after
+     * that. A Sum is confined to one thread until it is combined with another.
+     */
+    private static final class Sum {
+
+        private long numerator;
+        private long denominator = 1;
+        private BigInteger bigNumerator;
+        private BigInteger bigDenominator;
+        private long count;
+
+        /**
+         * Adds a fraction or mixed fraction to the sum.
+         *
+         * @param fraction the fraction
+         * @throws ArithmeticException if the fraction has a zero denominator
+         */
+        void add(Fraction fraction) {
+            long addedNumerator = fraction.exactNumerator();
+            long addedDenominator = checkedDenominator(fraction);
+            if (addedDenominator < 0) {
+                addedNumerator = -addedNumerator;
+                addedDenominator = -addedDenominator;
+            }
+            add(addedNumerator, addedDenominator);
+            count++;
+        }
+
+        /**
+         * Adds another sum to this one.
+         *
+         * @param other the other sum
+         * @return this sum
+         */
+        Sum combine(Sum other) {
+            if (other.bigNumerator == null) {
+                add(other.numerator, other.denominator);
+            } else {
+                addBig(other.bigNumerator, other.bigDenominator);
+            }
+            count += other.count;
+            return this;
+        }
+
+        /**
+         * Adds a fraction with a positive denominator, spilling to BigIntegers if the sum overflows.
+         *
+         * @param addedNumerator   the numerator of the fraction
+         * @param addedDenominator the positive denominator of the fraction
+         */
+        private void add(long addedNumerator, long addedDenominator) {
+            if (bigNumerator == null) {
+                try {
+                    long gcd = gcd(denominator, addedDenominator);
+                    long lcm = Math.multiplyExact(denominator / gcd, addedDenominator);
+                    numerator = Math.addExact(Math.multiplyExact(numerator, lcm / denominator),
+                            Math.multiplyExact(addedNumerator, lcm / addedDenominator));
+                    denominator = lcm;
+                    return;
+                } catch (ArithmeticException exception) {
+                    bigNumerator = BigInteger.valueOf(numerator);
+                    bigDenominator = BigInteger.valueOf(denominator);
+                }
+            }
+            addBig(BigInteger.valueOf(addedNumerator), BigInteger.valueOf(addedDenominator));
+        }
+
+        /**
+         * Adds a fraction with a positive denominator to the sum kept in BigIntegers.
+         *
+         * @param addedNumerator   the numerator of the fraction
+         * @param addedDenominator the positive denominator of the fraction
+         */
+        private void addBig(BigInteger addedNumerator, BigInteger addedDenominator) {
+            if (bigNumerator == null) {
+                bigNumerator = BigInteger.valueOf(numerator);
+                bigDenominator = BigInteger.valueOf(denominator);
+            }
+            BigInteger gcd = bigDenominator.gcd(addedDenominator);
+            if (gcd.equals(BigInteger.ONE)) {
+                bigNumerator = bigNumerator.multiply(addedDenominator).add(addedNumerator.multiply(bigDenominator));
+                bigDenominator = bigDenominator.multiply(addedDenominator);
+            } else {
+                BigInteger factor = addedDenominator.divide(gcd);
+                bigNumerator = bigNumerator.multiply(factor).add(addedNumerator.multiply(bigDenominator.divide(gcd)));
+                bigDenominator = bigDenominator.multiply(factor);
+            }
+        }
+
+        /**
+         * Gets the exact sum.
+         *
+         * @return the sum in lowest terms
+         */
+        BigFraction toBigFraction() {
+            if (bigNumerator == null) {
+                return BigFraction.of(numerator, denominator);
+            }
+            return BigFraction.of(bigNumerator, bigDenominator);
+        }
+
+        /**
+         * Gets the exact mean.
+         *
+         * @return the mean in lowest terms, or an empty optional if nothing was added
+         */
+        Optional<BigFraction> toMean() {
+            return count == 0 ? Optional.empty() : Optional.of(toBigFraction().divide(count));
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package reference;
 
+import java.io.IOException;
+
 /**
  * The class Mixed Fraction represents a mixed fraction.
  *
@@ -82,11 +84,35 @@ public class MixedFraction extends Fraction {
      * @return this fraction's numerator and denominator
      */
     public Fraction toFraction() {
+        return new Fraction(improperNumerator(), getDenominator());
+    }
+
+    /**
+     * Gets the numerator of the mixed fraction as an improper fraction, without creating a fraction.
+     *
+     * @return the numerator of {@link #toFraction()}
+     */
+    private int improperNumerator() {
         int numerator = Math.abs(wholeNumber) * getDenominator() + getNumerator();
         if (wholeNumber < 0) {
             numerator = -numerator;
         }
-        return new Fraction(numerator, getDenominator());
+        return numerator;
+    }
+
+    /**
+     * Sets all fields of the mixed fraction at once.
+     *
+     * @param wholeNumber the whole number of the mixed fraction
+     * @param numerator   the numerator of the mixed fraction
+     * @param denominator the denominator of the mixed fraction
+     * @return this mixed fraction
+     */
+    private MixedFraction set(int wholeNumber, int numerator, int denominator) {
+        this.wholeNumber = wholeNumber;
+        setNumerator(numerator);
+        setDenominator(denominator);
+        return this;
     }
 
     /**
@@ -128,17 +154,37 @@ public class MixedFraction extends Fraction {
     }
 
     /**
-     * {@inheritDoc}
+     * Appends the mixed fraction in the same format as {@link #toString()}, e.g. 3 1/2, without creating any
+     * object.
+     *
+     * @param out the destination of the mixed fraction
+     * @param <A> the type of the destination
+     * @return the destination
+     * @throws IOException if the destination cannot be written to
      */
     @Override
-    public String toString() {
+    public <A extends Appendable> A appendTo(A out) throws IOException {
         if (this.getNumerator() == 0) {
-            return Integer.toString(wholeNumber);
+            appendNumber(out, wholeNumber);
         } else if (this.wholeNumber == 0) {
-            return super.toString();
+            super.appendTo(out);
         } else {
-            return this.wholeNumber + " " + Math.abs(getNumerator()) + "/" + getDenominator();
+            appendNumber(out, wholeNumber);
+            out.append(' ');
+            appendNumber(out, Math.abs((long) getNumerator()));
+            out.append('/');
+            appendNumber(out, getDenominator());
         }
+        return out;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    long exactNumerator() {
+        long numerator = Math.abs((long) wholeNumber) * getDenominator() + getNumerator();
+        return wholeNumber < 0 ? -numerator : numerator;
     }
 
     /**
@@ -148,10 +194,23 @@ public class MixedFraction extends Fraction {
      * @return a new mixed fraction
      */
     public MixedFraction add(MixedFraction other) {
-        Fraction thisFraction = this.toFraction();
-        Fraction otherFraction = other.toFraction();
-        Fraction resultFraction = thisFraction.add(otherFraction);
-        return new MixedFraction(resultFraction);
+        return add(other, new MixedFraction());
+    }
+
+    /**
+     * Addition of two mixed fractions into an existing mixed fraction, without creating any object.
+     * The result may be this or the other mixed fraction.
+     *
+     * @param other  the other mixed fraction that will be used for addition
+     * @param result the mixed fraction that will hold the sum as an improper fraction
+     * @return the result mixed fraction
+     */
+    public MixedFraction add(MixedFraction other, MixedFraction result) {
+        int thisNumerator = this.improperNumerator();
+        int otherNumerator = other.improperNumerator();
+        int thisDenominator = this.getDenominator();
+        int otherDenominator = other.getDenominator();
+        return result.set(0, thisNumerator * otherDenominator + thisDenominator * otherNumerator, thisDenominator * otherDenominator);
     }
 
     /**
@@ -161,10 +220,23 @@ public class MixedFraction extends Fraction {
      * @return a new mixed fraction
      */
     public MixedFraction subtract(MixedFraction other) {
-        Fraction thisFraction = this.toFraction();
-        Fraction otherFraction = other.toFraction();
-        Fraction resultFraction = thisFraction.subtract(otherFraction);
-        return new MixedFraction(resultFraction);
+        return subtract(other, new MixedFraction());
+    }
+
+    /**
+     * Subtraction of two mixed fractions into an existing mixed fraction, without creating any object.
+     * The result may be this or the other mixed fraction.
+     *
+     * @param other  the other mixed fraction that will be used for subtraction
+     * @param result the mixed fraction that will hold the difference as an improper fraction
+     * @return the result mixed fraction
+     */
+    public MixedFraction subtract(MixedFraction other, MixedFraction result) {
+        int thisNumerator = this.improperNumerator();
+        int otherNumerator = other.improperNumerator();
+        int thisDenominator = this.getDenominator();
+        int otherDenominator = other.getDenominator();
+        return result.set(0, thisNumerator * otherDenominator - thisDenominator * otherNumerator, thisDenominator * otherDenominator);
     }
 
     /**
@@ -174,10 +246,21 @@ public class MixedFraction extends Fraction {
      * @return a new mixed fraction
      */
     public MixedFraction multiplyBy(MixedFraction other) {
-        Fraction thisFraction = this.toFraction();
-        Fraction otherFraction = other.toFraction();
-        Fraction resultFraction = thisFraction.multiply(otherFraction);
-        return new MixedFraction(resultFraction);
+        return multiplyBy(other, new MixedFraction());
+    }
+
+    /**
+     * Multiplication of two mixed fractions into an existing mixed fraction, without creating any object.
+     * The result may be this or the other mixed fraction.
+     *
+     * @param other  the other mixed fraction that will be used for multiplication
+     * @param result the mixed fraction that will hold the product as an improper fraction
+     * @return the result mixed fraction
+     */
+    public MixedFraction multiplyBy(MixedFraction other, MixedFraction result) {
+        int newNumerator = this.improperNumerator() * other.improperNumerator();
+        int newDenominator = this.getDenominator() * other.getDenominator();
+        return result.set(0, newNumerator, newDenominator);
     }
 
     /**
@@ -187,10 +270,21 @@ public class MixedFraction extends Fraction {
      * @return a new mixed fraction
      */
     public MixedFraction divideBy(MixedFraction other) {
-        Fraction thisFraction = this.toFraction();
-        Fraction otherFraction = other.toFraction();
-        Fraction resultFraction = thisFraction.divide(otherFraction).simplify();
-        return new MixedFraction(resultFraction);
+        return divideBy(other, new MixedFraction());
     }
-}
 
+    /**
+     * Division of two mixed fractions into an existing mixed fraction, without creating any object.
+     * The result may be this or the other mixed fraction.
+     *
+     * @param other  the other mixed fraction that will be used for division
+     * @param result the mixed fraction that will hold the simplified quotient as an improper fraction
+     * @return the result mixed fraction
+     */
+    public MixedFraction divideBy(MixedFraction other, MixedFraction result) {
+        int newNumerator = this.improperNumerator() * other.getDenominator();
+        int newDenominator = this.getDenominator() * other.improperNumerator();
+        int gcd = gcd(newNumerator, newDenominator);
+        return result.set(0, newNumerator / gcd, newDenominator / gcd);
+    }
+}
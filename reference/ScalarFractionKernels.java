@@ -0,0 +1,84 @@
+package reference;
+
+/**
+ * The class ScalarFractionKernels runs the bulk fraction operations with plain loops, one fraction at a time.
+ * It is the fallback when the Vector API is not available, and the reference the vector implementation is
+ * checked against.
+ *
+ * @author Junsel Fabe
+ * @version 1
+ */
+final class ScalarFractionKernels extends FractionKernels {
+
+    static final ScalarFractionKernels INSTANCE = new ScalarFractionKernels();
+
+    /**
+     * ScalarFractionKernels has a single instance.
+     */
+    private ScalarFractionKernels() {
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String name() {
+        return "scalar";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void toDecimal(int[] numerators, int[] denominators, double[] decimals) {
+        for (int i = 0; i < numerators.length; i++) {
+            decimals[i] = (double) numerators[i] / denominators[i];
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void compare(int[] numerators, int[] denominators, int constantNumerator, int constantDenominator,
+                        int[] signs) {
+        long sign = thresholdSign(constantDenominator);
+        long numerator = sign * constantNumerator;
+        long denominator = sign * constantDenominator;
+        for (int i = 0; i < numerators.length; i++) {
+            signs[i] = compare(numerators[i], denominators[i], numerator, denominator);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int filterGreaterThan(int[] numerators, int[] denominators, int thresholdNumerator,
+                                 int thresholdDenominator, int[] indices) {
+        long sign = thresholdSign(thresholdDenominator);
+        long numerator = sign * thresholdNumerator;
+        long denominator = sign * thresholdDenominator;
+        int count = 0;
+        for (int i = 0; i < numerators.length; i++) {
+            if (compare(numerators[i], denominators[i], numerator, denominator) > 0) {
+                indices[count++] = i;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Compares a fraction with a threshold whose denominator is positive.
+     *
+     * @param numerator            the numerator of the fraction
+     * @param denominator          the denominator of the fraction
+     * @param thresholdNumerator   the numerator of the threshold
+     * @param thresholdDenominator the positive denominator of the threshold
+     * @return -1, 0 or 1 if the fraction is less than, equal to or greater than the threshold
+     */
+    static int compare(int numerator, int denominator, long thresholdNumerator, long thresholdDenominator) {
+        int sign = Long.signum(numerator * thresholdDenominator - thresholdNumerator * denominator);
+        return denominator < 0 ? -sign : sign;
+    }
+}
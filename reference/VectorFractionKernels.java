@@ -0,0 +1,133 @@
+package reference;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The class VectorFractionKernels runs the bulk fraction operations with the incubating Vector API.
+ * <p>
+ * Every step loads as many ints as fit in half of the processor's preferred vector, and widens them into a
+ * full vector of doubles or longs, so no lane is wasted. Comparisons cross-multiply in long lanes and turn
+ * the signs into lane masks; filtering walks the set bits of each mask, as the Vector API of this JDK has
+ * no compress operation. The elements left after the last full vector are handled by the scalar
+ * implementation.
+ * <p>
+ * The class is only loaded by {@link FractionKernels#get()} once it has checked that the
+ * {@code jdk.incubator.vector} module is present.
+ *
+ * @author Junsel Fabe
+ * @version 1
+ */
+final class VectorFractionKernels extends FractionKernels {
+
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INTS =
+            VectorSpecies.of(int.class, VectorShape.forBitSize(DOUBLES.vectorBitSize() / 2));
+
+    /**
+     * Constructs the vector implementation. It is called reflectively by {@link FractionKernels#get()}.
+     */
+    VectorFractionKernels() {
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String name() {
+        return "vector (" + DOUBLES.vectorBitSize() + "-bit)";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void toDecimal(int[] numerators, int[] denominators, double[] decimals) {
+        int i = 0;
+        for (int bound = INTS.loopBound(numerators.length); i < bound; i += INTS.length()) {
+            DoubleVector numerator = (DoubleVector) IntVector.fromArray(INTS, numerators, i)
+                    .convertShape(VectorOperators.I2D, DOUBLES, 0);
+            DoubleVector denominator = (DoubleVector) IntVector.fromArray(INTS, denominators, i)
+                    .convertShape(VectorOperators.I2D, DOUBLES, 0);
+            numerator.div(denominator).intoArray(decimals, i);
+        }
+        for (; i < numerators.length; i++) {
+            decimals[i] = (double) numerators[i] / denominators[i];
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void compare(int[] numerators, int[] denominators, int constantNumerator, int constantDenominator,
+                        int[] signs) {
+        long sign = thresholdSign(constantDenominator);
+        long numerator = sign * constantNumerator;
+        long denominator = sign * constantDenominator;
+        LongVector zero = LongVector.zero(LONGS);
+        int i = 0;
+        for (int bound = INTS.loopBound(numerators.length); i < bound; i += INTS.length()) {
+            LongVector difference = difference(numerators, denominators, i, numerator, denominator);
+            LongVector result = zero.blend(1, difference.compare(VectorOperators.GT, 0))
+                    .blend(-1, difference.compare(VectorOperators.LT, 0));
+            result.convertShape(VectorOperators.L2I, INTS, 0).reinterpretAsInts().intoArray(signs, i);
+        }
+        for (; i < numerators.length; i++) {
+            signs[i] = ScalarFractionKernels.compare(numerators[i], denominators[i], numerator, denominator);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int filterGreaterThan(int[] numerators, int[] denominators, int thresholdNumerator,
+                                 int thresholdDenominator, int[] indices) {
+        long sign = thresholdSign(thresholdDenominator);
+        long numerator = sign * thresholdNumerator;
+        long denominator = sign * thresholdDenominator;
+        int count = 0;
+        int i = 0;
+        for (int bound = INTS.loopBound(numerators.length); i < bound; i += INTS.length()) {
+            VectorMask<Long> greater = difference(numerators, denominators, i, numerator, denominator)
+                    .compare(VectorOperators.GT, 0);
+            for (long bits = greater.toLong(); bits != 0; bits &= bits - 1) {
+                indices[count++] = i + Long.numberOfTrailingZeros(bits);
+            }
+        }
+        for (; i < numerators.length; i++) {
+            if (ScalarFractionKernels.compare(numerators[i], denominators[i], numerator, denominator) > 0) {
+                indices[count++] = i;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Cross-multiplies one vector of fractions with a threshold. Each lane has the sign of the fraction minus
+     * the threshold.
+     *
+     * @param numerators           the numerators
+     * @param denominators         the denominators
+     * @param offset               the index of the first fraction of the vector
+     * @param thresholdNumerator   the numerator of the threshold
+     * @param thresholdDenominator the positive denominator of the threshold
+     * @return the cross-multiplied differences, negated where the fraction's denominator is negative
+     */
+    private static LongVector difference(int[] numerators, int[] denominators, int offset, long thresholdNumerator,
+                                         long thresholdDenominator) {
+        LongVector numerator = (LongVector) IntVector.fromArray(INTS, numerators, offset)
+                .convertShape(VectorOperators.I2L, LONGS, 0);
+        LongVector denominator = (LongVector) IntVector.fromArray(INTS, denominators, offset)
+                .convertShape(VectorOperators.I2L, LONGS, 0);
+        LongVector difference = numerator.mul(thresholdDenominator).sub(denominator.mul(thresholdNumerator));
+        return difference.blend(difference.neg(), denominator.compare(VectorOperators.LT, 0));
+    }
+}
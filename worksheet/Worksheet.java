@@ -0,0 +1,703 @@
+package worksheet;
+
+import engine.EvaluationBudget;
+import engine.EvaluationResult;
+import engine.ExpressionBuilder;
+import engine.ExpressionParser;
+import engine.Rational;
+import engine.ResultFormat;
+import reference.Fraction;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * The class Worksheet compiles many problems into one graph of shared subexpressions and evaluates every
+ * distinct subexpression once.
+ * <p>
+ * Every problem is parsed with the syntax of the input field into nodes that are hash-consed: a node with
+ * the same operator and the same operands as an existing one is that node, so a subterm written in
+ * thousands of rows exists once. The operands of sums and products are ordered, so {@code a+b} and
+ * {@code b+a} share a node as well. While the graph is built, operations on two small constants are folded
+ * exactly with {@link Fraction} arithmetic, and the identities {@code x*1}, {@code x+0}, {@code x-0},
+ * {@code x/1} and {@code --x} are applied. {@code x/x} becomes a node that is 1 wherever x is not 0, so the
+ * division is saved without hiding a division by zero.
+ * <p>
+ * The nodes that are left are evaluated in topological order, one level of the graph at a time, with the
+ * nodes of large levels spread over the common fork/join pool. Every node keeps an exact value while it
+ * fits a {@link Rational} and falls back to double arithmetic when it does not, or when a power or square
+ * root is irrational or a division is by zero. The answers are formatted like those of the calculator.
+ * <p>
+ * Every problem is held to an {@link EvaluationBudget} like a problem typed into the calculator: its parse
+ * counts the steps and nesting depth of the row, and every node checks the size of its value. A row that
+ * exceeds the budget, or uses a node that does, ends with {@link EvaluationResult.Failure#OVERFLOW} or
+ * {@link EvaluationResult.Failure#TOO_COMPLEX} as it would in the calculator.
+ * <p>
+ * A worksheet is compiled by one thread. Its evaluation may use many.
+ *
+ * @author Junsel Fabe
+ * @version 1
+ */
+public final class Worksheet {
+
+    private static final int FOLD_LIMIT = 1 << 15;
+    private static final int PARALLEL_THRESHOLD = 1 << 10;
+
+    private final List<Node> roots;
+    private final List<EvaluationResult.Failure> rejected;
+    private final List<List<Node>> levels;
+    private final EvaluationBudget budget;
+    private final long operations;
+    private final int folded;
+    private final int identities;
+    private boolean evaluated;
+
+    /**
+     * The Statistics record holds how much work sharing saved.
+     *
+     * @param rows       the number of problems
+     * @param operations the number of operations the problems have when evaluated one by one
+     * @param folded     the number of distinct operations folded while the worksheet was compiled
+     * @param identities the number of operations removed by an identity
+     * @param evaluated  the number of distinct operations left to evaluate
+     */
+    public record Statistics(int rows, long operations, int folded, int identities, int evaluated) {
+
+        /**
+         * Gets the number of operations that were not evaluated because they were shared or removed.
+         *
+         * @return the operations of the problems minus the operations actually folded or evaluated
+         */
+        public long saved() {
+            return operations - folded - evaluated;
+        }
+    }
+
+    /**
+     * Constructs a Worksheet for a compiled graph.
+     *
+     * @param roots      the node of every problem, null for a problem that is not valid
+     * @param rejected   the error of every problem that is not valid, null for the others
+     * @param levels     the nodes left to evaluate, by level
+     * @param budget     the budget every problem is held to
+     * @param operations the number of operations the problems have when evaluated one by one
+     * @param folded     the number of folded operations
+     * @param identities the number of operations removed by an identity
+     */
+    private Worksheet(List<Node> roots, List<EvaluationResult.Failure> rejected, List<List<Node>> levels,
+                      EvaluationBudget budget, long operations, int folded, int identities) {
+        this.roots = roots;
+        this.rejected = rejected;
+        this.levels = levels;
+        this.budget = budget;
+        this.operations = operations;
+        this.folded = folded;
+        this.identities = identities;
+    }
+
+    /**
+     * Compiles problems into a worksheet with the {@link EvaluationBudget#DEFAULT budget of the calculator}.
+     *
+     * @param problems the problems, in the syntax of the input field
+     * @return the compiled worksheet
+     */
+    public static Worksheet compile(List<String> problems) {
+        return compile(problems, EvaluationBudget.DEFAULT);
+    }
+
+    /**
+     * Compiles problems into a worksheet.
+     *
+     * @param problems the problems, in the syntax of the input field
+     * @param budget   the budget every problem is held to
+     * @return the compiled worksheet
+     */
+    public static Worksheet compile(List<String> problems, EvaluationBudget budget) {
+        Compiler compiler = new Compiler();
+        List<Node> roots = new ArrayList<>(problems.size());
+        List<EvaluationResult.Failure> rejected = new ArrayList<>(problems.size());
+        for (String problem : problems) {
+            Node root = null;
+            EvaluationResult.Failure failure = null;
+            try {
+                root = new ExpressionParser<>(problem, compiler, budget.start()).parse();
+            } catch (EvaluationBudget.Exceeded exceeded) {
+                failure = exceeded.failure();
+            } catch (IllegalArgumentException | ArithmeticException exception) {
+                failure = EvaluationResult.Failure.MATH_ERROR;
+            }
+            roots.add(root);
+            rejected.add(failure);
+        }
+        List<List<Node>> levels = new ArrayList<>();
+        for (Node node : compiler.operators) {
+            while (levels.size() < node.level) {
+                levels.add(new ArrayList<>());
+            }
+            levels.get(node.level - 1).add(node);
+        }
+        return new Worksheet(roots, rejected, levels, budget, compiler.operations, compiler.folded, compiler.identities);
+    }
+
+    /**
+     * Evaluates the worksheet, computing every remaining node the first time it is called. The nodes of a
+     * large level are split into chunks, and every chunk is measured by a meter of its own, as a meter is
+     * used by one thread.
+     *
+     * @param character the character representing the type of calculation ('x' for multiplication, 'y' for other operations)
+     * @return the answer or error of every problem, in order
+     */
+    public synchronized List<EvaluationResult> evaluate(char character) {
+        if (!evaluated) {
+            for (List<Node> level : levels) {
+                if (level.size() >= PARALLEL_THRESHOLD) {
+                    int chunks = (level.size() + PARALLEL_THRESHOLD - 1) / PARALLEL_THRESHOLD;
+                    IntStream.range(0, chunks).parallel().forEach(chunk -> evaluate(level.subList(chunk * PARALLEL_THRESHOLD,
+                            Math.min(level.size(), (chunk + 1) * PARALLEL_THRESHOLD)), budget.start()));
+                } else {
+                    evaluate(level, budget.start());
+                }
+            }
+            evaluated = true;
+        }
+        List<EvaluationResult> results = new ArrayList<>(roots.size());
+        for (int i = 0; i < roots.size(); i++) {
+            Node root = roots.get(i);
+            if (root == null) {
+                results.add(rejected.get(i));
+            } else if (root.failure != null) {
+                results.add(root.failure);
+            } else if (Double.isNaN(root.decimal) || Double.isInfinite(root.decimal)) {
+                results.add(EvaluationResult.Failure.UNDEFINED);
+            } else {
+                String answer = root.exact != null ? ResultFormat.formatAnswer(root.exact, character)
+                        : ResultFormat.formatAnswer(root.decimal, character);
+                results.add(new EvaluationResult.Success(answer, root.exact));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Evaluates nodes whose operands have been evaluated.
+     *
+     * @param nodes the nodes
+     * @param meter the meter that checks the size of their values
+     */
+    private static void evaluate(List<Node> nodes, EvaluationBudget.Meter meter) {
+        for (Node node : nodes) {
+            node.evaluate(meter);
+        }
+    }
+
+    /**
+     * Gets how much work sharing saved.
+     *
+     * @return the statistics of the worksheet
+     */
+    public Statistics getStatistics() {
+        int evaluatedNodes = 0;
+        for (List<Node> level : levels) {
+            evaluatedNodes += level.size();
+        }
+        return new Statistics(roots.size(), operations, folded, identities, evaluatedNodes);
+    }
+
+    /**
+     * The Operator enum lists the kinds of nodes.
+     */
+    private enum Operator {
+        CONSTANT, NEGATE, ADD, SUBTRACT, MULTIPLY, DIVIDE, POWER, SQRT, UNIT
+    }
+
+    /**
+     * The Node class is one distinct subexpression. Operands are compared by identity, as equal operands
+     * are the same node.
+     */
+    private static final class Node {
+
+        private final Operator operator;
+        private final Node left;
+        private final Node right;
+        private final int id;
+        private final int level;
+        private Rational exact;
+        private double decimal;
+        private EvaluationResult.Failure failure;
+
+        /**
+         * Constructs an operator node.
+         *
+         * @param operator the operator
+         * @param left     the first operand
+         * @param right    the second operand, null for an operator with one operand
+         * @param id       the number of nodes created before this one
+         */
+        private Node(Operator operator, Node left, Node right, int id) {
+            this.operator = operator;
+            this.left = left;
+            this.right = right;
+            this.id = id;
+            this.level = 1 + Math.max(left.level, right == null ? 0 : right.level);
+        }
+
+        /**
+         * Constructs a constant node.
+         *
+         * @param exact   the exact value, or null if it has none
+         * @param decimal the value as a double
+         * @param id      the number of nodes created before this one
+         */
+        private Node(Rational exact, double decimal, int id) {
+            this.operator = Operator.CONSTANT;
+            this.left = null;
+            this.right = null;
+            this.id = id;
+            this.level = 0;
+            this.exact = exact;
+            this.decimal = decimal;
+        }
+
+        /**
+         * Checks whether the node is a constant with the specified exact value.
+         *
+         * @param value the value
+         * @return true if the node is that constant
+         */
+        private boolean is(Rational value) {
+            return operator == Operator.CONSTANT && value.equals(exact);
+        }
+
+        /**
+         * Gets the size of the value of the node, measured like the values of the calculator.
+         *
+         * @return the number of bits of the whole part of the value, {@link Integer#MAX_VALUE} if it is infinite
+         */
+        private int bitLength() {
+            return exact != null ? ExpressionBuilder.EXACT.bitLength(exact) : ExpressionBuilder.DECIMAL.bitLength(decimal);
+        }
+
+        /**
+         * Computes the value of the node from the values of its operands, exactly if it can. A node whose
+         * operand exceeded the budget, or whose value does, keeps that failure instead of a value.
+         *
+         * @param meter the meter that checks the size of the value
+         */
+        private void evaluate(EvaluationBudget.Meter meter) {
+            failure = left.failure != null || right == null ? left.failure : right.failure;
+            if (failure != null) {
+                return;
+            }
+            if (left.exact != null && (right == null || right.exact != null)) {
+                try {
+                    exact = apply(left.exact, right == null ? null : right.exact);
+                    decimal = exact.toDecimal();
+                } catch (ArithmeticException exception) {
+                    exact = null;
+                }
+            }
+            if (exact == null) {
+                decimal = apply(left.decimal, right == null ? 0 : right.decimal);
+            }
+            try {
+                meter.checkBits(bitLength());
+            } catch (EvaluationBudget.Exceeded exceeded) {
+                failure = exceeded.failure();
+            }
+        }
+
+        /**
+         * Applies the operator to exact values.
+         *
+         * @param first  the first operand
+         * @param second the second operand, null for an operator with one operand
+         * @return the exact result
+         * @throws ArithmeticException if the result is not a rational number or does not fit
+         */
+        private Rational apply(Rational first, Rational second) {
+            return switch (operator) {
+                case NEGATE -> first.negate();
+                case ADD -> first.add(second);
+                case SUBTRACT -> first.subtract(second);
+                case MULTIPLY -> first.multiply(second);
+                case DIVIDE -> first.divide(second);
+                case POWER -> ExpressionBuilder.EXACT.power(first, second);
+                case SQRT -> first.sqrt();
+                case UNIT -> {
+                    if (first.signum() == 0) {
+                        throw new ArithmeticException("Division by zero");
+                    }
+                    yield Rational.ONE;
+                }
+                case CONSTANT -> exact;
+            };
+        }
+
+        /**
+         * Applies the operator to doubles, with a division by zero and zero to a negative power being NaN
+         * like in {@link ExpressionBuilder#DECIMAL}.
+         *
+         * @param first  the first operand
+         * @param second the second operand, ignored by an operator with one operand
+         * @return the result
+         */
+        private double apply(double first, double second) {
+            return switch (operator) {
+                case NEGATE -> -first;
+                case ADD -> first + second;
+                case SUBTRACT -> first - second;
+                case MULTIPLY -> first * second;
+                case DIVIDE -> second == 0 ? Double.NaN : first / second;
+                case POWER -> first == 0 && second < 0 ? Double.NaN : Math.pow(first, second);
+                case SQRT -> Math.sqrt(first);
+                case UNIT -> first / first;
+                case CONSTANT -> decimal;
+            };
+        }
+    }
+
+    /**
+     * The Compiler class receives the parts of every problem from the parser and turns them into shared,
+     * simplified nodes.
+     */
+    private static final class Compiler implements ExpressionBuilder<Node> {
+
+        private static final int ID_BITS = 29;
+        private static final int OPERATOR_SHIFT = 2 * ID_BITS;
+        private static final long CONSTANT_TAG = 1L << 63;
+
+        private final NodeTable table = new NodeTable();
+        private final Map<Object, Node> largeConstants = new HashMap<>();
+        private final List<Node> operators = new ArrayList<>();
+        private int nodeCount;
+        private long operations;
+        private int folded;
+        private int identities;
+
+        /**
+         * {@inheritDoc}
+         * <p>
+         * Only constants have a value while the worksheet is compiled. Operator nodes check their values
+         * when they are evaluated.
+         */
+        @Override
+        public int bitLength(Node value) {
+            return value.operator == Operator.CONSTANT ? value.bitLength() : 0;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Node number(long unscaled, int scale) {
+            try {
+                return constant(ExpressionBuilder.EXACT.number(unscaled, scale));
+            } catch (ArithmeticException exception) {
+                return constant(ExpressionBuilder.DECIMAL.number(unscaled, scale));
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Node approximate(double value) {
+            return constant(value);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Node fraction(long whole, long numerator, long denominator) {
+            try {
+                return constant(ExpressionBuilder.EXACT.fraction(whole, numerator, denominator));
+            } catch (ArithmeticException exception) {
+                return constant(ExpressionBuilder.DECIMAL.fraction(whole, numerator, denominator));
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Node negate(Node operand) {
+            operations++;
+            if (operand.operator == Operator.NEGATE) {
+                identities++;
+                return operand.left;
+            }
+            return node(Operator.NEGATE, operand, null);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Node add(Node left, Node right) {
+            operations++;
+            if (right.is(Rational.ZERO) || left.is(Rational.ZERO)) {
+                identities++;
+                return right.is(Rational.ZERO) ? left : right;
+            }
+            return left.id <= right.id ? node(Operator.ADD, left, right) : node(Operator.ADD, right, left);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Node subtract(Node left, Node right) {
+            operations++;
+            if (right.is(Rational.ZERO)) {
+                identities++;
+                return left;
+            }
+            return node(Operator.SUBTRACT, left, right);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Node multiply(Node left, Node right) {
+            operations++;
+            if (right.is(Rational.ONE) || left.is(Rational.ONE)) {
+                identities++;
+                return right.is(Rational.ONE) ? left : right;
+            }
+            return left.id <= right.id ? node(Operator.MULTIPLY, left, right) : node(Operator.MULTIPLY, right, left);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Node divide(Node left, Node right) {
+            operations++;
+            if (right.is(Rational.ONE)) {
+                identities++;
+                return left;
+            } else if (left == right && left.operator != Operator.CONSTANT) {
+                identities++;
+                return node(Operator.UNIT, left, null);
+            }
+            return node(Operator.DIVIDE, left, right);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Node power(Node base, Node exponent) {
+            operations++;
+            return node(Operator.POWER, base, exponent);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Node sqrt(Node operand) {
+            operations++;
+            return node(Operator.SQRT, operand, null);
+        }
+
+        /**
+         * Finds or creates a constant node. Constants whose numerator and denominator fit in an int are
+         * found by their packed parts, the others by their value.
+         *
+         * @param value the exact value of the constant
+         * @return the shared node of the constant
+         */
+        private Node constant(Rational value) {
+            long numerator = value.getNumerator();
+            long denominator = value.getDenominator();
+            if (numerator != (int) numerator || denominator > Integer.MAX_VALUE) {
+                return largeConstants.computeIfAbsent(value, key -> new Node(value, value.toDecimal(), nextId()));
+            }
+            long key = CONSTANT_TAG | (numerator & 0xFFFFFFFFL) << 31 | denominator;
+            Node node = table.get(key);
+            if (node == null) {
+                node = new Node(value, value.toDecimal(), nextId());
+                table.put(key, node);
+            }
+            return node;
+        }
+
+        /**
+         * Finds or creates a constant node for a value without an exact form.
+         *
+         * @param value the value of the constant
+         * @return the shared node of the constant
+         */
+        private Node constant(double value) {
+            return largeConstants.computeIfAbsent(value, key -> new Node(null, value, nextId()));
+        }
+
+        /**
+         * Finds or creates an operator node, folding it into a constant if its operands are small constants.
+         * Operator nodes are found by their operator and the ids of their operands, packed into a long.
+         *
+         * @param operator the operator
+         * @param left     the first operand
+         * @param right    the second operand, null for an operator with one operand
+         * @return the shared node of the operation
+         */
+        private Node node(Operator operator, Node left, Node right) {
+            long key = (long) operator.ordinal() << OPERATOR_SHIFT | (long) left.id << ID_BITS
+                    | (right == null ? 0 : right.id + 1);
+            Node node = table.get(key);
+            if (node != null) {
+                return node;
+            }
+            Rational value = fold(operator, left, right);
+            if (value != null) {
+                folded++;
+                node = constant(value);
+            } else {
+                node = new Node(operator, left, right, nextId());
+                operators.add(node);
+            }
+            table.put(key, node);
+            return node;
+        }
+
+        /**
+         * Gets the id of a new node.
+         *
+         * @return the number of nodes created before it
+         * @throws IllegalStateException if the worksheet has more nodes than ids can be packed for
+         */
+        private int nextId() {
+            if (nodeCount == (1 << ID_BITS) - 2) {
+                throw new IllegalStateException("Too many distinct subexpressions in the worksheet");
+            }
+            return nodeCount++;
+        }
+
+        /**
+         * Folds an operation on constants that fit in a {@link Fraction} with {@link Fraction} arithmetic,
+         * which is exact as long as every numerator and denominator is below {@value #FOLD_LIMIT}.
+         *
+         * @param operator the operator
+         * @param left     the first operand
+         * @param right    the second operand, null for an operator with one operand
+         * @return the exact result, or null if the operation cannot be folded
+         */
+        private static Rational fold(Operator operator, Node left, Node right) {
+            Fraction first = smallFraction(left);
+            Fraction second = right == null ? null : smallFraction(right);
+            if (first == null || (right != null && second == null)) {
+                return null;
+            }
+            Fraction result = switch (operator) {
+                case NEGATE -> new Fraction(-first.getNumerator(), first.getDenominator());
+                case ADD -> first.add(second);
+                case SUBTRACT -> first.subtract(second);
+                case MULTIPLY -> first.multiply(second);
+                case DIVIDE -> first.divide(second);
+                default -> null;
+            };
+            if (result == null || result.getDenominator() == 0) {
+                return null;
+            }
+            return Rational.of(result.getNumerator(), result.getDenominator());
+        }
+
+        /**
+         * Converts a constant node to a fraction if it is small enough to be folded.
+         *
+         * @param node the node
+         * @return the fraction, or null if the node is not a small exact constant
+         */
+        private static Fraction smallFraction(Node node) {
+            if (node.operator != Operator.CONSTANT || node.exact == null
+                    || Math.abs(node.exact.getNumerator()) >= FOLD_LIMIT || node.exact.getDenominator() >= FOLD_LIMIT) {
+                return null;
+            }
+            return new Fraction((int) node.exact.getNumerator(), (int) node.exact.getDenominator());
+        }
+    }
+
+    /**
+     * The NodeTable class maps packed keys to nodes with open addressing and linear probing. The key 0
+     * marks an empty slot, which no packed key is.
+     */
+    private static final class NodeTable {
+
+        private long[] keys = new long[1 << 10];
+        private Node[] values = new Node[1 << 10];
+        private int size;
+
+        /**
+         * Finds the node of a key.
+         *
+         * @param key the packed key
+         * @return the node, or null if the key has none
+         */
+        private Node get(long key) {
+            int mask = keys.length - 1;
+            for (int i = slot(key, mask); ; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return values[i];
+                } else if (keys[i] == 0) {
+                    return null;
+                }
+            }
+        }
+
+        /**
+         * Adds the node of a key that has none yet, growing the table to keep it at most half full.
+         *
+         * @param key   the packed key
+         * @param value the node
+         */
+        private void put(long key, Node value) {
+            if (2 * (size + 1) > keys.length) {
+                long[] oldKeys = keys;
+                Node[] oldValues = values;
+                keys = new long[oldKeys.length * 2];
+                values = new Node[oldKeys.length * 2];
+                for (int i = 0; i < oldKeys.length; i++) {
+                    if (oldKeys[i] != 0) {
+                        insert(oldKeys[i], oldValues[i]);
+                    }
+                }
+            }
+            insert(key, value);
+            size++;
+        }
+
+        /**
+         * Stores a key in the first free slot of its probe sequence.
+         *
+         * @param key   the packed key
+         * @param value the node
+         */
+        private void insert(long key, Node value) {
+            int mask = keys.length - 1;
+            int i = slot(key, mask);
+            while (keys[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            values[i] = value;
+        }
+
+        /**
+         * Computes the home slot of a key.
+         *
+         * @param key  the packed key
+         * @param mask the table size minus one
+         * @return the home slot
+         */
+        private static int slot(long key, int mask) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash >>> 32 ^ hash) & mask;
+        }
+    }
+}